@@ -6,9 +6,10 @@ import models.User;
 import models.Comment;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.ValueSource;
 import utils.BaseTest;
+import utils.ParameterSweepExecutor;
+import utils.SweepReport;
+import utils.TestDataProvider;
 import utils.TestTag;
 import utils.SchemaValidator;
 
@@ -280,44 +281,48 @@ public class ExtendedApiTest extends BaseTest {
 
     // ==================== ПАРАМЕТРИЗОВАННЫЕ ТЕСТЫ ====================
 
-    @ParameterizedTest
-    @ValueSource(ints = {1, 2, 3, 4, 5})
-    @TestTag(id = "API_PARAM_001", description = "Параметризованный тест постов", category = "API", priority = 2)
+    @Test
+    @TestTag(id = "API_PARAM_001", description = "Параллельный прогон постов", category = "API", priority = 2)
     @Story("Parameterized Tests")
-    @DisplayName("Получить пост по ID (параметризованный)")
-    @Description("Проверяем получение постов с разными ID")
-    public void testGetPostById(int postId) {
-        step("Отправляем GET запрос для получения поста с ID = " + postId, () -> {
-            given()
-                .when()
-                    .get("/posts/" + postId)
-                .then()
-                    .statusCode(200)
-                    .body("id", equalTo(postId))
-                    .body("userId", notNullValue())
-                    .body("title", notNullValue())
-                    .body("body", notNullValue());
-        });
+    @DisplayName("Получить посты по ID (параллельный прогон)")
+    @Description("Проверяем получение постов 1..5 одним параллельным прогоном")
+    public void testGetPostById() {
+        SweepReport report = step("Отправляем GET запросы для постов 1..5", () ->
+            new ParameterSweepExecutor().run("posts", TestDataProvider.getIdRange(1, 5), row -> {
+                int postId = (int) row[0];
+                given()
+                    .when()
+                        .get("/posts/" + postId)
+                    .then()
+                        .statusCode(200)
+                        .body("id", equalTo(postId))
+                        .body("userId", notNullValue())
+                        .body("title", notNullValue())
+                        .body("body", notNullValue());
+            }));
+        report.attachToAllure().assertAllPassed();
     }
 
-    @ParameterizedTest
-    @ValueSource(ints = {1, 2, 3, 4, 5})
-    @TestTag(id = "API_PARAM_002", description = "Параметризованный тест пользователей", category = "API", priority = 2)
+    @Test
+    @TestTag(id = "API_PARAM_002", description = "Параллельный прогон пользователей", category = "API", priority = 2)
     @Story("Parameterized Tests")
-    @DisplayName("Получить пользователя по ID (параметризованный)")
-    @Description("Проверяем получение пользователей с разными ID")
-    public void testGetUserById(int userId) {
-        step("Отправляем GET запрос для получения пользователя с ID = " + userId, () -> {
-            given()
-                .when()
-                    .get("/users/" + userId)
-                .then()
-                    .statusCode(200)
-                    .body("id", equalTo(userId))
-                    .body("name", notNullValue())
-                    .body("username", notNullValue())
-                    .body("email", notNullValue());
-        });
+    @DisplayName("Получить пользователей по ID (параллельный прогон)")
+    @Description("Проверяем получение пользователей 1..5 одним параллельным прогоном")
+    public void testGetUserById() {
+        SweepReport report = step("Отправляем GET запросы для пользователей 1..5", () ->
+            new ParameterSweepExecutor().run("users", TestDataProvider.getIdRange(1, 5), row -> {
+                int userId = (int) row[0];
+                given()
+                    .when()
+                        .get("/users/" + userId)
+                    .then()
+                        .statusCode(200)
+                        .body("id", equalTo(userId))
+                        .body("name", notNullValue())
+                        .body("username", notNullValue())
+                        .body("email", notNullValue());
+            }));
+        report.attachToAllure().assertAllPassed();
     }
 
     // ==================== ТЕСТЫ ПРОИЗВОДИТЕЛЬНОСТИ ====================
@@ -2,7 +2,6 @@ package api;
 
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -278,13 +277,10 @@ public class ImprovedApiTest extends BaseApiTest {
     @Test
     @TestTag(id = "IMPROVED_API_006", description = "Тест с retry механизмом", category = "API", priority = 4)
     @Story("Retry Test")
-    @DisplayName("Тест с возможностью повторных попыток")
-    @Description("Демонстрирует использование RetryExtension для нестабильных тестов")
-    @ExtendWith(RetryExtension.class)
-    @RetryExtension.RetryOnFailure(maxAttempts = 3, delayMs = 1000)
+    @DisplayName("Тест с повторными попытками на уровне запроса")
+    @Description("Сбой сети повторяет ResilientHttpClient (бюджет повторов, circuit breaker), тест целиком не перезапускается")
     public void testWithRetryMechanism() {
         step("Отправляем GET запрос для получения поста", () -> {
-            // Этот тест может иногда падать, но будет повторяться до 3 раз
             var response = given()
                     .when()
                     .get("https://jsonplaceholder.typicode.com/posts/1")
@@ -293,13 +289,6 @@ public class ImprovedApiTest extends BaseApiTest {
             
             AssertUtils.assertStatusCode(200, response.getStatusCode(), "Статус-код должен быть 200");
         });
-        
-        step("Имитируем нестабильное поведение", () -> {
-            // Имитируем нестабильное поведение (10% шанс падения)
-            if (Math.random() < 0.1) {
-                throw new RuntimeException("Случайная ошибка для демонстрации retry");
-            }
-        });
     }
 
     @Test
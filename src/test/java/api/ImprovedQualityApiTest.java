@@ -2,7 +2,6 @@ package api;
 
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import utils.*;
@@ -19,7 +18,6 @@ import static io.qameta.allure.Allure.step;
  */
 @Epic("API Testing")
 @Feature("Improved Quality API Tests")
-@ExtendWith(RetryExtension.class)
 public class ImprovedQualityApiTest extends BaseApiTest {
 
     @Test
@@ -27,7 +25,6 @@ public class ImprovedQualityApiTest extends BaseApiTest {
     @Story("Quality API Testing")
     @DisplayName("Проверить API с валидацией данных")
     @Description("Этот тест демонстрирует использование новой системы валидации и логирования для API")
-    @RetryExtension.RetryOnFailure(maxAttempts = 3, delayMs = 1000, exponentialBackoff = true)
     public void testQualityApiWithValidation() {
         step("Выполняем API тест с валидацией данных", () -> {
             LoggerUtils.logTestStart(null, "testQualityApiWithValidation", "API тест с валидацией");
@@ -2,7 +2,6 @@ package api;
 
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import utils.*;
@@ -18,7 +17,6 @@ import static io.qameta.allure.Allure.step;
  */
 @Epic("API Testing")
 @Feature("Improved Stable API Tests")
-@ExtendWith(RetryExtension.class)
 public class ImprovedStableApiTest extends BaseApiTest {
 
     @Test
@@ -26,7 +24,6 @@ public class ImprovedStableApiTest extends BaseApiTest {
     @Story("Stable Get Post")
     @DisplayName("Получить пост с улучшенной обработкой ошибок")
     @Description("Демонстрирует использование новой системы обработки ошибок")
-    @RetryExtension.RetryOnFailure(maxAttempts = 3, delayMs = 1000, exponentialBackoff = true)
     public void testGetPostStable() {
         try {
             step("Отправляем GET запрос для получения поста с ID = 1", () -> {
@@ -97,7 +94,6 @@ public class ImprovedStableApiTest extends BaseApiTest {
     @Story("Stable Parameterized Posts")
     @DisplayName("Проверить посты с различными ID (стабильная версия)")
     @Description("Тестирует получение постов с разными ID с улучшенной обработкой ошибок")
-    @RetryExtension.RetryOnFailure(maxAttempts = 2, delayMs = 500, exponentialBackoff = false)
     public void testGetPostsParameterizedStable(int postId) {
         try {
             step("Отправляем GET запрос для получения поста с ID = " + postId, () -> {
@@ -156,7 +152,6 @@ public class ImprovedStableApiTest extends BaseApiTest {
     @Story("Stable Create Post")
     @DisplayName("Создать новый пост (стабильная версия)")
     @Description("Демонстрирует создание поста с валидацией и улучшенной обработкой ошибок")
-    @RetryExtension.RetryOnFailure(maxAttempts = 3, delayMs = 1000, exponentialBackoff = true)
     public void testCreatePostStable() {
         try {
             step("Создаем тестовый пост с использованием фабрики", () -> {
@@ -221,7 +216,6 @@ public class ImprovedStableApiTest extends BaseApiTest {
     @Story("Stable Get All Users")
     @DisplayName("Получить всех пользователей (стабильная версия)")
     @Description("Проверяет получение списка всех пользователей с улучшенной обработкой ошибок")
-    @RetryExtension.RetryOnFailure(maxAttempts = 3, delayMs = 1000, exponentialBackoff = true)
     public void testGetAllUsersStable() {
         try {
             step("Отправляем GET запрос для получения всех пользователей", () -> {
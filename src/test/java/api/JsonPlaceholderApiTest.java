@@ -1,9 +1,12 @@
 package api;
 
+import com.fasterxml.jackson.databind.node.JsonNodeType;
 import io.qameta.allure.*;
+import io.restassured.response.Response;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import utils.BaseTest;
+import utils.StreamingJsonAssert;
 import utils.TestTag;
 
 import static io.restassured.RestAssured.given;
@@ -143,16 +146,22 @@ public class JsonPlaceholderApiTest extends BaseTest {
     @DisplayName("Получить комментарии")
     @Description("Проверяем получение списка комментариев")
     public void testGetComments() {
-        given()
+        Response response = given()
             .when()
                 .get("/comments")
             .then()
                 .statusCode(200)
-                .body("size()", greaterThan(0))
-                .body("[0].id", notNullValue())
-                .body("[0].name", notNullValue())
-                .body("[0].email", notNullValue())
-                .body("[0].body", notNullValue());
+                .extract().response();
+
+        // Потоковая проверка: все 500 комментариев без построения JsonPath дерева
+        StreamingJsonAssert.forArray(response)
+            .hasSizeAtLeast(1)
+            .requireFields("id", "postId", "name", "email", "body")
+            .fieldType("id", JsonNodeType.NUMBER)
+            .fieldType("postId", JsonNodeType.NUMBER)
+            .strictlyIncreasing("id")
+            .each("email содержит @", comment -> comment.path("email").asText().contains("@"))
+            .verify();
     }
 
     @Test
@@ -196,16 +205,21 @@ public class JsonPlaceholderApiTest extends BaseTest {
     @DisplayName("Получить фотографии")
     @Description("Проверяем получение списка фотографий")
     public void testGetPhotos() {
-        given()
+        Response response = given()
             .when()
                 .get("/photos")
             .then()
                 .statusCode(200)
-                .body("size()", greaterThan(0))
-                .body("[0].id", notNullValue())
-                .body("[0].title", notNullValue())
-                .body("[0].url", notNullValue())
-                .body("[0].thumbnailUrl", notNullValue());
+                .extract().response();
+
+        // 5000 фотографий проверяются потоково, в памяти только текущий элемент
+        StreamingJsonAssert.forArray(response)
+            .hasSizeAtLeast(1)
+            .requireFields("id", "albumId", "title", "url", "thumbnailUrl")
+            .fieldType("id", JsonNodeType.NUMBER)
+            .fieldType("title", JsonNodeType.STRING)
+            .each("url начинается с http", photo -> photo.path("url").asText().startsWith("http"))
+            .verify();
     }
 
     @Test
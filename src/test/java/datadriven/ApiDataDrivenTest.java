@@ -7,6 +7,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import utils.BaseApiTest;
+import utils.ParameterSweepExecutor;
+import utils.SweepReport;
+import utils.TestDataProvider;
 import utils.TestTag;
 import utils.AssertUtils;
 
@@ -16,107 +19,12 @@ import static org.hamcrest.Matchers.*;
 
 /**
  * Data-driven тесты для API
- * Демонстрирует использование @ParameterizedTest с API данными
+ * Проверки по списку id идут параллельным прогоном ({@link ParameterSweepExecutor}), остальные - через @ParameterizedTest
  */
 @Epic("Data-driven Testing")
 @Feature("API Data-driven Tests")
 public class ApiDataDrivenTest extends BaseApiTest {
 
-    @ParameterizedTest
-    @ValueSource(ints = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10})
-    @TestTag(id = "API_DATA_001", description = "ValueSource тест пользователей API", category = "Data-driven", priority = 1)
-    @Story("API Data-driven")
-    @DisplayName("Проверка пользователей API (ValueSource)")
-    @Description("Тестируем различных пользователей API с ValueSource")
-    public void testApiUsersWithValueSource(int userId) {
-        var response = given()
-                .when()
-                    .get("/users/" + userId)
-                .then()
-                    .statusCode(200)
-                    .extract()
-                    .response();
-        
-        // Проверяем, что API вернул данные пользователя
-        AssertUtils.assertStatusCode(200, response.getStatusCode(), "Статус-код должен быть 200");
-        AssertUtils.assertNotEmpty(response.asString(), "API должен вернуть данные пользователя");
-        
-        // Проверяем ID пользователя
-        int actualId = response.jsonPath().getInt("id");
-        AssertUtils.assertEquals(userId, actualId, "API должен вернуть правильный id");
-        
-        // Проверяем наличие полей
-        AssertUtils.assertTrue(response.jsonPath().get("name") != null, "API должен содержать поле name");
-        AssertUtils.assertTrue(response.jsonPath().get("email") != null, "API должен содержать поле email");
-    }
-
-    @ParameterizedTest
-    @CsvSource({
-        "1, Leanne Graham, Bret, Sincere@april.biz",
-        "2, Ervin Howell, Antonette, Shanna@melissa.tv",
-        "3, Clementine Bauch, Samantha, Nathan@yesenia.net",
-        "4, Patricia Lebsack, Karianne, Julianne.OConner@kory.org",
-        "5, Chelsey Dietrich, Kamren, Lucio_Hettinger@annie.ca"
-    })
-    @TestTag(id = "API_DATA_002", description = "CSV тест пользователей API", category = "Data-driven", priority = 1)
-    @Story("API Data-driven")
-    @DisplayName("Проверка пользователей API (CSV Source)")
-    @Description("Тестируем пользователей API с CSV данными")
-    public void testApiUsersWithCsvSource(int userId, String expectedName, String expectedUsername, String expectedEmail) {
-        var response = given()
-                .when()
-                    .get("https://jsonplaceholder.typicode.com/users/" + userId)
-                .then()
-                    .statusCode(200)
-                    .extract()
-                    .response();
-        
-        // Проверяем, что API вернул данные пользователя
-        AssertUtils.assertStatusCode(200, response.getStatusCode(), "Статус-код должен быть 200");
-        AssertUtils.assertNotEmpty(response.asString(), "API должен вернуть данные пользователя");
-        
-        // Проверяем ID пользователя
-        int actualId = response.jsonPath().getInt("id");
-        AssertUtils.assertEquals(userId, actualId, "API должен вернуть правильный id");
-        
-        // Проверяем имя пользователя
-        String actualName = response.jsonPath().getString("name");
-        AssertUtils.assertEquals(expectedName, actualName, "API должен вернуть правильное имя");
-        
-        // Проверяем email
-        String actualEmail = response.jsonPath().getString("email");
-        AssertUtils.assertEquals(expectedEmail, actualEmail, "API должен вернуть правильный email");
-    }
-
-    @ParameterizedTest
-    @ValueSource(ints = {1, 2, 3, 4, 5})
-    @TestTag(id = "API_DATA_003", description = "ValueSource тест постов API", category = "Data-driven", priority = 1)
-    @Story("API Data-driven")
-    @DisplayName("Проверка постов API (ValueSource)")
-    @Description("Тестируем посты API с ValueSource")
-    public void testApiPostsWithValueSource(int postId) {
-        var response = given()
-                .when()
-                    .get("https://jsonplaceholder.typicode.com/posts/" + postId)
-                .then()
-                    .statusCode(200)
-                    .extract()
-                    .response();
-        
-        // Проверяем, что API вернул данные поста
-        AssertUtils.assertStatusCode(200, response.getStatusCode(), "Статус-код должен быть 200");
-        AssertUtils.assertNotEmpty(response.asString(), "API должен вернуть данные поста");
-        
-        // Проверяем ID поста
-        int actualId = response.jsonPath().getInt("id");
-        AssertUtils.assertEquals(postId, actualId, "API должен вернуть правильный id");
-        
-        // Проверяем наличие полей
-        AssertUtils.assertTrue(response.jsonPath().get("title") != null, "API должен содержать поле title");
-        AssertUtils.assertTrue(response.jsonPath().get("body") != null, "API должен содержать поле body");
-        AssertUtils.assertTrue(response.jsonPath().get("userId") != null, "API должен содержать поле userId");
-    }
-
     @ParameterizedTest
     @CsvSource({
         "1, sunt aut facere repellat provident occaecati excepturi optio reprehenderit",
@@ -267,4 +175,51 @@ public class ApiDataDrivenTest extends BaseApiTest {
         assertThat("API должен содержать поле " + field1, response, containsString(field1));
         assertThat("API должен содержать поле " + field2, response, containsString(field2));
     }
+
+    @Test
+    @TestTag(id = "API_DATA_009", description = "Параллельный прогон всех постов API", category = "Data-driven", priority = 2)
+    @Story("API Data-driven Sweep")
+    @DisplayName("Проверка всех постов API (параллельный прогон)")
+    @Description("Проверяем посты 1..100 (id, title, body, userId) одним тестом с ограниченным параллелизмом и сводным отчетом")
+    public void testApiPostsSweep() {
+        SweepReport report = new ParameterSweepExecutor().run("posts", TestDataProvider.getIdRange(1, 100), row -> {
+            int postId = (int) row[0];
+            given()
+                .when()
+                    .get("/posts/" + postId)
+                .then()
+                    .statusCode(200)
+                    .body("id", equalTo(postId))
+                    .body("title", not(emptyOrNullString()))
+                    .body("body", not(emptyOrNullString()))
+                    .body("userId", notNullValue());
+        });
+
+        report.attachToAllure().assertAllPassed();
+    }
+
+    @Test
+    @TestTag(id = "API_DATA_010", description = "Параллельный прогон пользователей по CSV файлу", category = "Data-driven", priority = 1)
+    @Story("API Data-driven Sweep")
+    @DisplayName("Проверка пользователей API (параллельный прогон CSV)")
+    @Description("Проверяем имя, email и адрес пользователей из data/api_users.csv одним параллельным прогоном")
+    public void testApiUsersSweep() {
+        SweepReport report = new ParameterSweepExecutor().run("users", TestDataProvider.fromCsvResource("data/api_users.csv"), row -> {
+            int userId = Integer.parseInt((String) row[0]);
+            String[] address = ((String) row[3]).split(", ");
+            given()
+                .when()
+                    .get("/users/" + userId)
+                .then()
+                    .statusCode(200)
+                    .body("id", equalTo(userId))
+                    .body("name", equalTo(row[1]))
+                    .body("email", equalTo(row[2]))
+                    .body("address.street", equalTo(address[0]))
+                    .body("address.city", equalTo(address[1]));
+        });
+
+        report.attachToAllure().assertAllPassed();
+        AssertUtils.assertSize(5, report.getTotal(), "Должны быть проверены все строки CSV");
+    }
 }
@@ -120,10 +120,8 @@ public class CsvDataDrivenTest extends BaseUiTest {
     @DisplayName("Проверка товаров и их цен (CSV Source)")
     @Description("Тестируем отображение товаров и их цен")
     public void testProductPricesCsvSource(String productName, String expectedPrice) {
-        // Логинимся
-        navigateTo(Config.getSauceDemoUrl());
-        waitForPageLoad();
-        loginPage.login("standard_user", "secret_sauce");
+        // Логинимся через сохраненную сессию
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что мы на странице продуктов
         WebDriverUtils.waitForElementVisible(driver, org.openqa.selenium.By.className("inventory_container"), 10);
@@ -181,10 +179,8 @@ public class CsvDataDrivenTest extends BaseUiTest {
     @DisplayName("Проверка добавления множественных товаров (CSV Source)")
     @Description("Тестируем добавление разного количества товаров")
     public void testMultipleProductsCsvSource(int productIndex, int expectedCount, int testRun) {
-        // Логинимся
-        navigateTo(Config.getSauceDemoUrl());
-        waitForPageLoad();
-        loginPage.login("standard_user", "secret_sauce");
+        // Логинимся через сохраненную сессию
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что мы на странице продуктов
         WebDriverUtils.waitForElementVisible(driver, org.openqa.selenium.By.className("inventory_container"), 10);
@@ -78,7 +78,7 @@ public class JsonDataDrivenTest extends BaseUiTest {
         SauceDemoProductsPage productsPage = new SauceDemoProductsPage(driver);
         
         // Логинимся
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что мы на странице продуктов
         assertThat("URL должен содержать inventory", 
@@ -125,13 +125,18 @@ public class JsonDataDrivenTest extends BaseUiTest {
     @TestTag(id = "JSON_004", description = "JSON тест конфигураций", category = "Data-driven", priority = 2)
     @Story("JSON Data-driven")
     @DisplayName("Проверка различных конфигураций из JSON")
-    @Description("Тестируем различные конфигурации из JSON файла")
-    public void testConfigurationsWithJsonData(String configName, String browserMode, String testType, boolean shouldPass) {
+    @Description("Тестируем различные конфигурации из JSON файла под их профилями эмуляции")
+    public void testConfigurationsWithJsonData(String configName, String browserMode, String emulationProfile,
+                                               String testType, boolean shouldPass) {
         SauceDemoLoginPage loginPage = new SauceDemoLoginPage(driver);
         SauceDemoProductsPage productsPage = new SauceDemoProductsPage(driver);
         
-        // Логинимся
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        // Сеть, CPU и экран устройства из конфигурации; метрики загрузки копятся по профилю
+        applyEmulation(emulationProfile);
+        
+        // Логинимся и открываем каталог через navigateTo, чтобы снять Web Vitals под профилем
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
+        navigateTo(Config.getSauceDemoUrl() + "/inventory.html");
         
         // Проверяем, что мы на странице продуктов
         assertThat("URL должен содержать inventory", 
@@ -261,24 +266,23 @@ public class JsonDataDrivenTest extends BaseUiTest {
             JsonNode rootNode = mapper.readTree(inputStream);
             JsonNode configurations = rootNode.get("configurations");
             
-            return Stream.of(
-                Arguments.of(
-                    configurations.get(0).get("configName").asText(),
-                    configurations.get(0).get("browserMode").asText(),
-                    configurations.get(0).get("testType").asText(),
-                    configurations.get(0).get("shouldPass").asBoolean()
-                ),
-                Arguments.of(
-                    configurations.get(1).get("configName").asText(),
-                    configurations.get(1).get("browserMode").asText(),
-                    configurations.get(1).get("testType").asText(),
-                    configurations.get(1).get("shouldPass").asBoolean()
-                )
-            );
+            Stream.Builder<Arguments> arguments = Stream.builder();
+            for (JsonNode configuration : configurations) {
+                arguments.add(Arguments.of(
+                    configuration.get("configName").asText(),
+                    configuration.get("browserMode").asText(),
+                    configuration.has("emulationProfile")
+                        ? configuration.get("emulationProfile").asText()
+                        : configuration.get("browserMode").asText(),
+                    configuration.get("testType").asText(),
+                    configuration.get("shouldPass").asBoolean()
+                ));
+            }
+            return arguments.build();
         } catch (Exception e) {
             return Stream.of(
-                Arguments.of("Headless Mode", "headless", "smoke", true),
-                Arguments.of("Visible Mode", "visible", "regression", true)
+                Arguments.of("Headless Mode", "headless", "desktop", "smoke", true),
+                Arguments.of("Visible Mode", "visible", "desktop", "regression", true)
             );
         }
     }
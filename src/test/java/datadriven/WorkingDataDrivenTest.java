@@ -4,9 +4,9 @@ import io.qameta.allure.*;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvSource;
-import org.junit.jupiter.params.provider.ValueSource;
+import utils.ParameterSweepExecutor;
+import utils.SweepReport;
+import utils.TestDataProvider;
 
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.Matchers.*;
@@ -23,124 +23,85 @@ public class WorkingDataDrivenTest {
         RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
     }
 
-    @ParameterizedTest
-    @ValueSource(ints = {1, 2, 3, 4, 5})
-    @DisplayName("Получить посты по ID (ValueSource)")
-    @Description("Тест получения постов с разными ID используя ValueSource")
+    @Test
+    @DisplayName("Получить посты по ID (параллельный прогон)")
+    @Description("Тест получения постов 1..5 одним параллельным прогоном со сводным отчетом")
     @Severity(SeverityLevel.NORMAL)
-    void testGetPostsById(int postId) {
-        Response response = given()
-                .when()
-                .get("/posts/" + postId)
-                .then()
-                .statusCode(200)
-                .body("id", equalTo(postId))
-                .body("title", notNullValue())
-                .body("body", notNullValue())
-                .body("userId", notNullValue())
-                .extract().response();
-
-        String title = response.jsonPath().getString("title");
-        String body = response.jsonPath().getString("body");
-        
-        Allure.addAttachment("Post " + postId + " Response", "application/json", response.asString());
-        
-        // Валидация данных
-        assertNotNull(title, "Title should not be null for post " + postId);
-        assertNotNull(body, "Body should not be null for post " + postId);
-        assertTrue(title.length() > 0, "Title should not be empty for post " + postId);
-        assertTrue(body.length() > 0, "Body should not be empty for post " + postId);
+    void testGetPostsById() {
+        SweepReport report = new ParameterSweepExecutor().run("posts", TestDataProvider.getIdRange(1, 5), row -> {
+            int postId = (int) row[0];
+            given()
+                    .when()
+                    .get("/posts/" + postId)
+                    .then()
+                    .statusCode(200)
+                    .body("id", equalTo(postId))
+                    .body("title", not(emptyOrNullString()))
+                    .body("body", not(emptyOrNullString()))
+                    .body("userId", notNullValue());
+        });
+
+        report.attachToAllure().assertAllPassed();
     }
 
-    @ParameterizedTest
-    @ValueSource(ints = {1, 2, 3, 4, 5})
-    @DisplayName("Получить пользователей по ID (ValueSource)")
-    @Description("Тест получения пользователей с разными ID используя ValueSource")
+    @Test
+    @DisplayName("Получить пользователей по ID (параллельный прогон)")
+    @Description("Тест получения пользователей 1..5 одним параллельным прогоном со сводным отчетом")
     @Severity(SeverityLevel.NORMAL)
-    void testGetUsersById(int userId) {
-        Response response = given()
-                .when()
-                .get("/users/" + userId)
-                .then()
-                .statusCode(200)
-                .body("id", equalTo(userId))
-                .body("name", notNullValue())
-                .body("email", notNullValue())
-                .body("address", notNullValue())
-                .extract().response();
-
-        String name = response.jsonPath().getString("name");
-        String email = response.jsonPath().getString("email");
-        
-        Allure.addAttachment("User " + userId + " Response", "application/json", response.asString());
-        
-        // Валидация данных
-        assertNotNull(name, "Name should not be null for user " + userId);
-        assertNotNull(email, "Email should not be null for user " + userId);
-        assertTrue(name.length() > 0, "Name should not be empty for user " + userId);
-        assertTrue(email.contains("@"), "Email should contain @ for user " + userId);
+    void testGetUsersById() {
+        SweepReport report = new ParameterSweepExecutor().run("users", TestDataProvider.getIdRange(1, 5), row -> {
+            int userId = (int) row[0];
+            given()
+                    .when()
+                    .get("/users/" + userId)
+                    .then()
+                    .statusCode(200)
+                    .body("id", equalTo(userId))
+                    .body("name", not(emptyOrNullString()))
+                    .body("email", containsString("@"))
+                    .body("address", notNullValue());
+        });
+
+        report.attachToAllure().assertAllPassed();
     }
 
-    @ParameterizedTest
-    @CsvSource({
-        "1, sunt aut facere repellat provident occaecati excepturi optio reprehenderit",
-        "2, qui est esse",
-        "3, ea molestias quasi exercitationem repellat qui ipsa sit aut",
-        "4, eum et est occaecati",
-        "5, nesciunt quas odio"
-    })
-    @DisplayName("Проверить посты с ожидаемыми заголовками (CsvSource)")
-    @Description("Тест проверки постов с ожидаемыми заголовками используя CsvSource")
+    @Test
+    @DisplayName("Проверить посты с ожидаемыми заголовками (параллельный прогон)")
+    @Description("Тест проверки заголовков постов из TestDataProvider.getPostTitles")
     @Severity(SeverityLevel.NORMAL)
-    void testPostsWithExpectedTitles(int postId, String expectedTitle) {
-        Response response = given()
-                .when()
-                .get("/posts/" + postId)
-                .then()
-                .statusCode(200)
-                .body("id", equalTo(postId))
-                .body("title", equalTo(expectedTitle))
-                .extract().response();
-
-        String actualTitle = response.jsonPath().getString("title");
-        
-        Allure.addAttachment("Post " + postId + " Title Check", "text/plain", 
-            "Expected: " + expectedTitle + "\nActual: " + actualTitle);
-        
-        assertEquals(expectedTitle, actualTitle, "Title should match expected value for post " + postId);
+    void testPostsWithExpectedTitles() {
+        SweepReport report = new ParameterSweepExecutor().run("post-titles", TestDataProvider.getPostTitles(), row -> {
+            int postId = (int) row[0];
+            given()
+                    .when()
+                    .get("/posts/" + postId)
+                    .then()
+                    .statusCode(200)
+                    .body("id", equalTo(postId))
+                    .body("title", equalTo(row[1]));
+        });
+
+        report.attachToAllure().assertAllPassed();
     }
 
-    @ParameterizedTest
-    @CsvSource({
-        "1, Leanne Graham, Sincere@april.biz",
-        "2, Ervin Howell, Shanna@melissa.tv",
-        "3, Clementine Bauch, Nathan@yesenia.net",
-        "4, Patricia Lebsack, Julianne.OConner@kory.org",
-        "5, Chelsey Dietrich, Lucio_Hettinger@annie.ca"
-    })
-    @DisplayName("Проверить пользователей с ожидаемыми данными (CsvSource)")
-    @Description("Тест проверки пользователей с ожидаемыми именами и email используя CsvSource")
+    @Test
+    @DisplayName("Проверить пользователей с ожидаемыми данными (параллельный прогон)")
+    @Description("Тест проверки имен и email пользователей из TestDataProvider.getUserProfiles")
     @Severity(SeverityLevel.NORMAL)
-    void testUsersWithExpectedData(int userId, String expectedName, String expectedEmail) {
-        Response response = given()
-                .when()
-                .get("/users/" + userId)
-                .then()
-                .statusCode(200)
-                .body("id", equalTo(userId))
-                .body("name", equalTo(expectedName))
-                .body("email", equalTo(expectedEmail))
-                .extract().response();
-
-        String actualName = response.jsonPath().getString("name");
-        String actualEmail = response.jsonPath().getString("email");
-        
-        Allure.addAttachment("User " + userId + " Data Check", "text/plain", 
-            "Expected Name: " + expectedName + "\nActual Name: " + actualName + 
-            "\nExpected Email: " + expectedEmail + "\nActual Email: " + actualEmail);
-        
-        assertEquals(expectedName, actualName, "Name should match expected value for user " + userId);
-        assertEquals(expectedEmail, actualEmail, "Email should match expected value for user " + userId);
+    void testUsersWithExpectedData() {
+        SweepReport report = new ParameterSweepExecutor().run("user-profiles", TestDataProvider.getUserProfiles(), row -> {
+            int userId = (int) row[0];
+            given()
+                    .when()
+                    .get("/users/" + userId)
+                    .then()
+                    .statusCode(200)
+                    .body("id", equalTo(userId))
+                    .body("name", equalTo(row[1]))
+                    .body("email", equalTo(row[2]));
+        });
+
+        report.attachToAllure().assertAllPassed();
     }
 
     @Test
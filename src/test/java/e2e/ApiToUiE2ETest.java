@@ -106,7 +106,7 @@ public class ApiToUiE2ETest {
         SauceDemoProductsPage productsPage = new SauceDemoProductsPage(driver);
         
         // Логинимся в UI
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что мы на странице продуктов
         assertThat("URL должен содержать inventory", 
@@ -146,7 +146,7 @@ public class ApiToUiE2ETest {
         SauceDemoProductsPage productsPage = new SauceDemoProductsPage(driver);
         
         // Логинимся в UI
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что мы на странице продуктов
         assertThat("URL должен содержать inventory", 
@@ -197,7 +197,7 @@ public class ApiToUiE2ETest {
         SauceDemoProductsPage productsPage = new SauceDemoProductsPage(driver);
         
         // Логинимся в UI
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что UI функционал работает
         assertThat("URL должен содержать inventory", 
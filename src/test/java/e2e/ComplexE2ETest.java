@@ -6,8 +6,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import pages.*;
+import utils.DriverRegistry;
 import utils.TestTag;
-import utils.WebDriverUtils;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -27,17 +27,15 @@ public class ComplexE2ETest {
     @BeforeEach
     @Step("Настройка браузера для комплексных E2E тестов")
     public void setUp() {
-        // Используем headless режим для стабильности
-        driver = WebDriverUtils.createWebDriver(true);
-        wait = WebDriverUtils.createWebDriverWait(driver);
+        // Используем headless режим для стабильности; драйвер привязан к потоку JUnit
+        driver = DriverRegistry.start(true);
+        wait = DriverRegistry.getWait();
     }
 
     @AfterEach
     @Step("Закрытие браузера")
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
+        DriverRegistry.stop();
     }
 
     @Test
@@ -65,7 +63,7 @@ public class ComplexE2ETest {
         SauceDemoCartPage cartPage = new SauceDemoCartPage(driver);
         
         // Логинимся в UI
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что мы на странице продуктов
         assertThat("URL должен содержать inventory", 
@@ -127,7 +125,7 @@ public class ComplexE2ETest {
         SauceDemoProductsPage productsPage = new SauceDemoProductsPage(driver);
         
         // Логинимся в UI
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что UI функционал работает
         assertThat("URL должен содержать inventory", 
@@ -180,7 +178,7 @@ public class ComplexE2ETest {
         SauceDemoProductsPage productsPage = new SauceDemoProductsPage(driver);
         
         // Логинимся в UI
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что UI логин успешен
         assertThat("URL должен содержать inventory", 
@@ -294,7 +292,7 @@ public class ComplexE2ETest {
         SauceDemoProductsPage productsPage = new SauceDemoProductsPage(driver);
         
         // Логинимся в UI
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         long uiTime = System.currentTimeMillis() - uiStartTime;
         
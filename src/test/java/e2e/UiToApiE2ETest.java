@@ -92,7 +92,7 @@ public class UiToApiE2ETest {
         SauceDemoProductsPage productsPage = new SauceDemoProductsPage(driver);
         
         // Логинимся в UI
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что мы на странице продуктов
         assertThat("URL должен содержать inventory", 
@@ -134,7 +134,7 @@ public class UiToApiE2ETest {
         SauceDemoCheckoutPage checkoutPage = new SauceDemoCheckoutPage(driver);
         
         // Логинимся в UI
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что мы на странице продуктов
         assertThat("URL должен содержать inventory", 
@@ -184,7 +184,7 @@ public class UiToApiE2ETest {
         SauceDemoProductsPage productsPage = new SauceDemoProductsPage(driver);
         
         // Логинимся в UI
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что UI функционал работает
         assertThat("URL должен содержать inventory", 
@@ -235,7 +235,7 @@ public class UiToApiE2ETest {
         SauceDemoCartPage cartPage = new SauceDemoCartPage(driver);
         
         // Логинимся в UI
-        loginPage.openLoginPage().login("standard_user", "secret_sauce");
+        loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         
         // Проверяем, что мы на странице продуктов
         assertThat("URL должен содержать inventory", 
@@ -0,0 +1,35 @@
+package exceptions;
+
+/**
+ * Превышение бюджета производительности UI сценария
+ * Наследуется от AssertionError, чтобы Allure помечал тест как failed, а не broken;
+ * сообщение начинается с [PERFORMANCE BUDGET] - по нему тест попадает в отдельную категорию
+ */
+public class PerformanceBudgetException extends AssertionError {
+
+    public static final String MARKER = "[PERFORMANCE BUDGET]";
+
+    private final String budget;
+    private final double actualMs;
+    private final double limitMs;
+
+    public PerformanceBudgetException(String budget, double actualMs, double limitMs, String context) {
+        super(String.format("%s %s: %.0f ms > %.0f ms%s", MARKER, budget, actualMs, limitMs,
+            context == null || context.isEmpty() ? "" : " (" + context + ")"));
+        this.budget = budget;
+        this.actualMs = actualMs;
+        this.limitMs = limitMs;
+    }
+
+    public String getBudget() {
+        return budget;
+    }
+
+    public double getActualMs() {
+        return actualMs;
+    }
+
+    public double getLimitMs() {
+        return limitMs;
+    }
+}
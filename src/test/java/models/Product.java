@@ -0,0 +1,37 @@
+package models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Модель товара SauceDemo, прочитанная со страницы (каталог или корзина)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Product {
+
+    private String name;
+
+    private String description;
+
+    /**
+     * Цена без символа валюты
+     */
+    private BigDecimal price;
+
+    /**
+     * Количество в корзине (только для строк корзины)
+     */
+    private Integer quantity;
+
+    /**
+     * Товар уже в корзине (кнопка Remove вместо Add to cart)
+     */
+    private boolean inCart;
+}
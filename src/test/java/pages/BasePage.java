@@ -3,14 +3,23 @@ package pages;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.CachingFieldDecorator;
+import utils.Config;
+import utils.DomSnapshot;
+import utils.FormFill;
+import utils.LocatorProfiler;
+import utils.PerformanceBudgets;
+import utils.WaitEngine;
 import utils.WebDriverUtils;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Базовый класс для всех Page Object классов
@@ -24,7 +33,12 @@ public abstract class BasePage {
     public BasePage(WebDriver driver) {
         this.driver = driver;
         this.wait = WebDriverUtils.createWebDriverWait(driver);
-        PageFactory.initElements(driver, this);
+        // Поля @FindBy ищутся один раз на экземпляр страницы и переискиваются только после устаревания
+        if (Config.isElementCacheEnabled()) {
+            PageFactory.initElements(new CachingFieldDecorator(driver), this);
+        } else {
+            PageFactory.initElements(driver, this);
+        }
     }
     
     /**
@@ -101,8 +115,8 @@ public abstract class BasePage {
     @Step("Проверить отображение элемента")
     protected boolean isElementDisplayed(WebElement element) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
-            return element.isDisplayed();
+            // visibilityOf возвращает элемент только после isDisplayed() == true, повторный запрос не нужен
+            return wait.until(ExpectedConditions.visibilityOf(element)) != null;
         } catch (Exception e) {
             return false;
         }
@@ -114,14 +128,33 @@ public abstract class BasePage {
     @Step("Ждать загрузки страницы")
     protected void waitForPageLoad() {
         try {
-            wait.until(ExpectedConditions.jsReturnsValue("return document.readyState == 'complete'"));
+            WaitEngine.waitForPageLoad(driver, Duration.ofSeconds(Config.getPageLoadTimeout()));
         } catch (Exception e) {
-            // Если JavaScript не работает, ждем немного
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-            }
+            // JavaScript недоступен или страница не дошла до complete: дальше ждут проверки элементов
+        }
+    }
+    
+    /**
+     * Ждать видимости элемента по локатору; завершается по MutationObserver, без опроса
+     */
+    @Step("Ждать появления элемента")
+    protected WebElement waitForElement(By locator) {
+        return LocatorProfiler.time(locator,
+            () -> WaitEngine.waitForElement(driver, locator, Duration.ofSeconds(Config.getTimeout())));
+    }
+    
+    /**
+     * Ждать завершения фоновых запросов и перерисовки DOM после действия, меняющего страницу
+     */
+    @Step("Ждать стабилизации страницы")
+    protected void waitForPageSettled() {
+        Duration timeout = Duration.ofSeconds(Config.getTimeout());
+        try {
+            WaitEngine.waitForNetworkIdle(driver, Duration.ofMillis(Config.getWaitNetworkIdleMs()), timeout);
+            WaitEngine.waitForDomQuiet(driver, Duration.ofMillis(Config.getWaitDomQuietMs()), timeout);
+        } catch (WebDriverException e) {
+            // Документ сменился во время ожидания: достаточно загрузки нового
+            waitForPageLoad();
         }
     }
     
@@ -135,11 +168,11 @@ public abstract class BasePage {
     }
 
     /**
-     * Найти элемент по локатору
+     * Найти элемент по локатору; время поиска попадает в профиль локаторов
      */
     @Step("Найти элемент по локатору")
     protected WebElement findElement(By locator) {
-        return driver.findElement(locator);
+        return LocatorProfiler.find(driver, locator);
     }
 
     /**
@@ -147,7 +180,7 @@ public abstract class BasePage {
      */
     @Step("Найти элементы по локатору")
     protected List<WebElement> findElements(By locator) {
-        return driver.findElements(locator);
+        return LocatorProfiler.findAll(driver, locator);
     }
 
     /**
@@ -155,7 +188,7 @@ public abstract class BasePage {
      */
     @Step("Ждать видимости элемента по локатору")
     protected void waitForElementVisible(By locator) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        LocatorProfiler.time(locator, () -> wait.until(ExpectedConditions.visibilityOfElementLocated(locator)));
     }
 
     /**
@@ -163,7 +196,7 @@ public abstract class BasePage {
      */
     @Step("Ждать кликабельности элемента по локатору")
     protected void waitForClickable(By locator) {
-        wait.until(ExpectedConditions.elementToBeClickable(locator));
+        LocatorProfiler.time(locator, () -> wait.until(ExpectedConditions.elementToBeClickable(locator)));
     }
 
     /**
@@ -171,8 +204,8 @@ public abstract class BasePage {
      */
     @Step("Кликнуть по элементу по локатору")
     protected void clickElement(By locator) {
-        waitForClickable(locator);
-        findElement(locator).click();
+        // Ожидание уже вернуло найденный элемент, повторный findElement не нужен
+        LocatorProfiler.time(locator, () -> wait.until(ExpectedConditions.elementToBeClickable(locator))).click();
     }
 
     /**
@@ -181,10 +214,44 @@ public abstract class BasePage {
     @Step("Проверить отображение элемента по локатору")
     protected boolean isElementDisplayed(By locator) {
         try {
-            wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            return findElement(locator).isDisplayed();
+            return LocatorProfiler.time(locator, () -> wait.until(ExpectedConditions.visibilityOfElementLocated(locator))) != null;
         } catch (Exception e) {
             return false;
         }
     }
+
+    /**
+     * Снимок DOM: строки по локатору и поля внутри них читаются одним executeScript
+     */
+    protected DomSnapshot snapshot(By rowLocator) {
+        return DomSnapshot.of(driver, rowLocator);
+    }
+
+    /**
+     * Заполнить несколько полей формы одним вызовом скрипта с событиями input и change;
+     * режим задается ui.form.fill.strict
+     */
+    @Step("Заполнить форму")
+    protected void fillForm(Map<By, String> fields) {
+        fillForm(fields, Config.isFormFillStrict());
+    }
+
+    /**
+     * Заполнить форму; strict - обычный ввод clear + sendKeys по каждому полю
+     */
+    protected void fillForm(Map<By, String> fields, boolean strict) {
+        if (fields.isEmpty()) {
+            return;
+        }
+        waitForElement(fields.keySet().iterator().next());
+        FormFill.of(driver).setAll(fields).strict(strict).apply();
+    }
+
+    /**
+     * Выполнить действие в рамках бюджета производительности (ui.performance.budgets, @PerformanceBudget)
+     * @param readyCss CSS селектор элемента, появление которого означает завершение действия
+     */
+    protected void withinBudget(String budget, String readyCss, Runnable action) {
+        PerformanceBudgets.current().measure(driver, budget, readyCss, action);
+    }
 }
@@ -46,7 +46,6 @@ public class GoogleSearchPage extends BasePage {
      */
     @Step("Ввести поисковый запрос: {query}")
     public GoogleSearchPage enterSearchQuery(String query) {
-        waitForElement(searchInput);
         enterText(searchInput, query);
         return this;
     }
@@ -56,7 +55,6 @@ public class GoogleSearchPage extends BasePage {
      */
     @Step("Нажать кнопку поиска")
     public GoogleSearchPage clickSearchButton() {
-        waitForClickable(searchButton);
         clickElement(searchButton);
         waitForPageLoad();
         return this;
@@ -75,7 +73,6 @@ public class GoogleSearchPage extends BasePage {
      */
     @Step("Получить текст первого результата")
     public String getFirstResultText() {
-        waitForElement(firstResult);
         return getElementText(firstResult);
     }
     
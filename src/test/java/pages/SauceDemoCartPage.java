@@ -1,9 +1,15 @@
 package pages;
 
 import io.qameta.allure.Step;
+import models.Product;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import utils.DomSnapshot;
+import utils.LocatorProfiler;
+import utils.Locators;
 
 import java.util.List;
 
@@ -19,12 +25,6 @@ public class SauceDemoCartPage extends BasePage {
     @FindBy(className = "cart_item")
     private List<WebElement> cartItems;
     
-    @FindBy(css = ".inventory_item_name")
-    private List<WebElement> itemNames;
-    
-    @FindBy(css = ".inventory_item_price")
-    private List<WebElement> itemPrices;
-    
     @FindBy(css = ".cart_quantity")
     private List<WebElement> itemQuantities;
     
@@ -37,6 +37,12 @@ public class SauceDemoCartPage extends BasePage {
     @FindBy(id = "checkout")
     private WebElement checkoutButton;
     
+    // Локаторы строк корзины для снимка DOM
+    private static final By CART_ITEMS = By.className("cart_item");
+    private static final By ITEM_NAME = By.className("inventory_item_name");
+    private static final By ITEM_PRICE = By.className("inventory_item_price");
+    private static final By ITEM_QUANTITY = By.className("cart_quantity");
+    
     public SauceDemoCartPage(WebDriver driver) {
         super(driver);
     }
@@ -46,7 +52,6 @@ public class SauceDemoCartPage extends BasePage {
      */
     @Step("Получить заголовок страницы")
     public String getPageTitle() {
-        waitForElement(pageTitle);
         return getElementText(pageTitle);
     }
     
@@ -63,11 +68,8 @@ public class SauceDemoCartPage extends BasePage {
      */
     @Step("Получить название первого товара")
     public String getFirstItemName() {
-        if (cartItems.size() > 0) {
-            waitForElement(itemNames.get(0));
-            return getElementText(itemNames.get(0));
-        }
-        return "";
+        List<Product> items = getCartItems();
+        return items.isEmpty() ? "" : items.get(0).getName();
     }
     
     /**
@@ -75,11 +77,25 @@ public class SauceDemoCartPage extends BasePage {
      */
     @Step("Получить цену первого товара")
     public String getFirstItemPrice() {
-        if (cartItems.size() > 0) {
-            waitForElement(itemPrices.get(0));
-            return getElementText(itemPrices.get(0));
-        }
-        return "";
+        List<DomSnapshot.Row> rows = snapshot(CART_ITEMS).text("price", ITEM_PRICE).read();
+        return rows.isEmpty() ? "" : rows.get(0).getString("price");
+    }
+    
+    /**
+     * Прочитать все строки корзины (название, цена, количество) за один запрос к браузеру
+     */
+    @Step("Прочитать содержимое корзины")
+    public List<Product> getCartItems() {
+        return snapshot(CART_ITEMS)
+            .text("name", ITEM_NAME)
+            .text("price", ITEM_PRICE)
+            .text("quantity", ITEM_QUANTITY)
+            .read(row -> Product.builder()
+                .name(row.getString("name"))
+                .price(row.getNumber("price"))
+                .quantity(row.getNumber("quantity") == null ? null : row.getNumber("quantity").intValue())
+                .inCart(true)
+                .build());
     }
     
     /**
@@ -99,7 +115,6 @@ public class SauceDemoCartPage extends BasePage {
      */
     @Step("Продолжить покупки")
     public SauceDemoCartPage continueShopping() {
-        waitForClickable(continueShoppingButton);
         clickElement(continueShoppingButton);
         return this;
     }
@@ -109,21 +124,14 @@ public class SauceDemoCartPage extends BasePage {
      */
     @Step("Перейти к оформлению заказа")
     public SauceDemoCartPage proceedToCheckout() {
+        // Кнопка ждется событийно (MutationObserver), без фиксированной паузы
         try {
-            // Ждем немного для загрузки страницы
-            Thread.sleep(1000);
-            
-            // Проверяем, что кнопка отображается
-            if (isElementDisplayed(checkoutButton)) {
-                waitForClickable(checkoutButton);
-                clickElement(checkoutButton);
-            } else {
-                throw new RuntimeException("Кнопка Checkout не найдена");
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Прервано ожидание", e);
+            waitForElement(By.id("checkout"));
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Кнопка Checkout не найдена", e);
         }
+        clickElement(checkoutButton);
+        waitForPageSettled();
         return this;
     }
     
@@ -160,7 +168,7 @@ public class SauceDemoCartPage extends BasePage {
     @Step("Удалить первый товар из корзины")
     public void removeFirstProduct() {
         if (cartItems.size() > 0) {
-            WebElement removeButton = cartItems.get(0).findElement(org.openqa.selenium.By.xpath(".//button[contains(text(), 'Remove')]"));
+            WebElement removeButton = LocatorProfiler.find(cartItems.get(0), Locators.dataTestPrefix("remove"));
             removeButton.click();
         }
     }
@@ -1,28 +1,28 @@
 package pages;
 
 import io.qameta.allure.Step;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Page Object для страницы оформления заказа SauceDemo
  */
 public class SauceDemoCheckoutPage extends BasePage {
     
+    // Поля формы заданы одним локатором: по нему вводит и fillForm, и пошаговые методы
+    private static final By FIRST_NAME = By.id("first-name");
+    private static final By LAST_NAME = By.id("last-name");
+    private static final By POSTAL_CODE = By.id("postal-code");
+    
     // Локаторы элементов
     @FindBy(className = "title")
     private WebElement pageTitle;
     
-    @FindBy(id = "first-name")
-    private WebElement firstNameInput;
-    
-    @FindBy(id = "last-name")
-    private WebElement lastNameInput;
-    
-    @FindBy(id = "postal-code")
-    private WebElement postalCodeInput;
-    
     @FindBy(id = "continue")
     private WebElement continueButton;
     
@@ -41,7 +41,6 @@ public class SauceDemoCheckoutPage extends BasePage {
      */
     @Step("Получить заголовок страницы")
     public String getPageTitle() {
-        waitForElement(pageTitle);
         return getElementText(pageTitle);
     }
     
@@ -50,8 +49,7 @@ public class SauceDemoCheckoutPage extends BasePage {
      */
     @Step("Ввести имя: {firstName}")
     public SauceDemoCheckoutPage enterFirstName(String firstName) {
-        waitForElement(firstNameInput);
-        enterText(firstNameInput, firstName);
+        enterText(waitForElement(FIRST_NAME), firstName);
         return this;
     }
     
@@ -60,8 +58,7 @@ public class SauceDemoCheckoutPage extends BasePage {
      */
     @Step("Ввести фамилию: {lastName}")
     public SauceDemoCheckoutPage enterLastName(String lastName) {
-        waitForElement(lastNameInput);
-        enterText(lastNameInput, lastName);
+        enterText(waitForElement(LAST_NAME), lastName);
         return this;
     }
     
@@ -70,19 +67,21 @@ public class SauceDemoCheckoutPage extends BasePage {
      */
     @Step("Ввести почтовый индекс: {postalCode}")
     public SauceDemoCheckoutPage enterPostalCode(String postalCode) {
-        waitForElement(postalCodeInput);
-        enterText(postalCodeInput, postalCode);
+        enterText(waitForElement(POSTAL_CODE), postalCode);
         return this;
     }
     
     /**
-     * Заполнить форму оформления заказа
+     * Заполнить форму оформления заказа одним вызовом скрипта
      */
     @Step("Заполнить форму оформления заказа")
     public SauceDemoCheckoutPage fillCheckoutForm(String firstName, String lastName, String postalCode) {
-        return enterFirstName(firstName)
-                .enterLastName(lastName)
-                .enterPostalCode(postalCode);
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(FIRST_NAME, firstName);
+        fields.put(LAST_NAME, lastName);
+        fields.put(POSTAL_CODE, postalCode);
+        fillForm(fields);
+        return this;
     }
     
     /**
@@ -90,8 +89,8 @@ public class SauceDemoCheckoutPage extends BasePage {
      */
     @Step("Продолжить оформление заказа")
     public SauceDemoCheckoutPage continueCheckout() {
-        waitForClickable(continueButton);
         clickElement(continueButton);
+        waitForPageSettled();
         return this;
     }
     
@@ -100,7 +99,6 @@ public class SauceDemoCheckoutPage extends BasePage {
      */
     @Step("Отменить оформление заказа")
     public SauceDemoCheckoutPage cancelCheckout() {
-        waitForClickable(cancelButton);
         clickElement(cancelButton);
         return this;
     }
@@ -156,8 +154,8 @@ public class SauceDemoCheckoutPage extends BasePage {
      */
     @Step("Проверить отображение полей формы")
     public boolean areFormFieldsDisplayed() {
-        return isElementDisplayed(firstNameInput) && 
-               isElementDisplayed(lastNameInput) && 
-               isElementDisplayed(postalCodeInput);
+        return isElementDisplayed(FIRST_NAME) && 
+               isElementDisplayed(LAST_NAME) && 
+               isElementDisplayed(POSTAL_CODE);
     }
 }
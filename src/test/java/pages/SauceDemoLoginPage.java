@@ -1,22 +1,30 @@
 package pages;
 
 import io.qameta.allure.Step;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import utils.Config;
+import utils.PerformanceBudgets;
+import utils.SessionStateCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Page Object для страницы логина SauceDemo
  */
 public class SauceDemoLoginPage extends BasePage {
     
-    // Локаторы элементов
-    @FindBy(id = "user-name")
-    private WebElement usernameInput;
-    
-    @FindBy(id = "password")
-    private WebElement passwordInput;
+    // Поля формы заданы одним локатором: по нему вводит и fillForm, и пошаговые методы
+    private static final By USERNAME = By.id("user-name");
+    private static final By PASSWORD = By.id("password");
+    private static final String LOGIN_BUDGET = "login-to-inventory";
+    // Вход завершен, когда отрисован список товаров или сообщение об ошибке
+    private static final String LOGIN_RESULT_CSS = ".inventory_list, [data-test='error']";
     
+    // Локаторы элементов
     @FindBy(id = "login-button")
     private WebElement loginButton;
     
@@ -45,8 +53,7 @@ public class SauceDemoLoginPage extends BasePage {
      */
     @Step("Ввести имя пользователя: {username}")
     public SauceDemoLoginPage enterUsername(String username) {
-        waitForElement(usernameInput);
-        enterText(usernameInput, username);
+        enterText(waitForElement(USERNAME), username);
         return this;
     }
     
@@ -55,8 +62,7 @@ public class SauceDemoLoginPage extends BasePage {
      */
     @Step("Ввести пароль")
     public SauceDemoLoginPage enterPassword(String password) {
-        waitForElement(passwordInput);
-        enterText(passwordInput, password);
+        enterText(waitForElement(PASSWORD), password);
         return this;
     }
     
@@ -65,7 +71,6 @@ public class SauceDemoLoginPage extends BasePage {
      */
     @Step("Нажать кнопку логина")
     public SauceDemoLoginPage clickLoginButton() {
-        waitForClickable(loginButton);
         clickElement(loginButton);
         return this;
     }
@@ -75,9 +80,40 @@ public class SauceDemoLoginPage extends BasePage {
      */
     @Step("Выполнить логин с пользователем: {username}")
     public SauceDemoLoginPage login(String username, String password) {
-        return enterUsername(username)
-                .enterPassword(password)
-                .clickLoginButton();
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(USERNAME, username);
+        fields.put(PASSWORD, password);
+        fillForm(fields);
+        PerformanceBudgets budgets = PerformanceBudgets.current();
+        Double durationMs = budgets.time(driver, LOGIN_RESULT_CSS, this::clickLoginButton);
+        // Список товаров дорисовывается после первого кадра: следующий шаг начинается на затихшей странице
+        waitForPageSettled();
+        // Бюджет относится только к успешному входу; неверные учетные данные проверяет сам тест
+        if (durationMs != null && getCurrentUrl().contains("inventory")) {
+            budgets.check(LOGIN_BUDGET, durationMs, getCurrentUrl());
+        }
+        return this;
+    }
+    
+    /**
+     * Войти без формы, подставив сохраненную сессию пользователя; при первом входе или
+     * устаревшей сессии выполняется обычный логин, и его результат сохраняется для следующих тестов
+     */
+    @Step("Войти с сохраненной сессией пользователя: {username}")
+    public SauceDemoLoginPage loginWithCachedSession(String username, String password) {
+        String baseUrl = Config.getSauceDemoUrl();
+        String key = baseUrl + "|" + username;
+        if (Config.isLoginShortcutEnabled()
+                && SessionStateCache.restore(driver, key, baseUrl + "/inventory.html")
+                && getCurrentUrl().contains("inventory")) {
+            return this;
+        }
+        SessionStateCache.invalidate(key);
+        openLoginPage().login(username, password);
+        if (Config.isLoginShortcutEnabled() && getCurrentUrl().contains("inventory")) {
+            SessionStateCache.store(key, SessionStateCache.capture(driver));
+        }
+        return this;
     }
     
     /**
@@ -112,6 +148,6 @@ public class SauceDemoLoginPage extends BasePage {
      */
     @Step("Проверить отображение полей ввода")
     public boolean areInputFieldsDisplayed() {
-        return isElementDisplayed(usernameInput) && isElementDisplayed(passwordInput);
+        return isElementDisplayed(USERNAME) && isElementDisplayed(PASSWORD);
     }
 }
@@ -1,11 +1,18 @@
 package pages;
 
 import io.qameta.allure.Step;
+import models.Product;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Select;
+import utils.DomSnapshot;
+import utils.Locators;
+import utils.PerformanceBudgets;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Page Object для страницы продуктов SauceDemo
@@ -15,15 +22,18 @@ public class SauceDemoProductsPage extends BasePage {
     // Локаторы элементов
     private static final By PRODUCTS_CONTAINER = By.className("inventory_container");
     private static final By PRODUCT_ITEMS = By.className("inventory_item");
-    private static final By ADD_TO_CART_BUTTONS = By.xpath("//button[contains(text(), 'Add to cart')]");
-    private static final By REMOVE_BUTTONS = By.xpath("//button[contains(text(), 'Remove')]");
+    private static final By ADD_TO_CART_BUTTONS = Locators.dataTestPrefix("add-to-cart");
+    private static final By REMOVE_BUTTONS = Locators.dataTestPrefix("remove");
     private static final By CART_BADGE = By.className("shopping_cart_badge");
     private static final By CART_ICON = By.className("shopping_cart_link");
     private static final By PRODUCT_NAMES = By.className("inventory_item_name");
     private static final By PRODUCT_PRICES = By.className("inventory_item_price");
-    private static final By SORT_DROPDOWN = By.className("product_sort_container");
+    private static final By PRODUCT_DESCRIPTIONS = By.className("inventory_item_desc");
+    private static final By PRODUCT_BUTTON = By.tagName("button");
+    private static final By SORT_DROPDOWN = Locators.dataTest("product-sort-container");
     private static final By MENU_BUTTON = By.id("react-burger-menu-btn");
     private static final By LOGOUT_LINK = By.id("logout_sidebar_link");
+    private static final String ADD_TO_CART_BUDGET = "add-to-cart";
 
     public SauceDemoProductsPage(WebDriver driver) {
         super(driver);
@@ -60,7 +70,7 @@ public class SauceDemoProductsPage extends BasePage {
         waitForElementVisible(PRODUCTS_CONTAINER);
         List<WebElement> addButtons = findElements(ADD_TO_CART_BUTTONS);
         if (!addButtons.isEmpty()) {
-            clickElement(addButtons.get(0));
+            addToCart(addButtons.get(0));
         }
     }
 
@@ -72,10 +82,23 @@ public class SauceDemoProductsPage extends BasePage {
         waitForElementVisible(PRODUCTS_CONTAINER);
         List<WebElement> addButtons = findElements(ADD_TO_CART_BUTTONS);
         if (index < addButtons.size()) {
-            clickElement(addButtons.get(index));
+            addToCart(addButtons.get(index));
         }
     }
 
+    /**
+     * Клик "Add to cart" под бюджетом: действие завершено, когда кнопка товара сменилась на "Remove"
+     */
+    private void addToCart(WebElement button) {
+        String dataTest = PerformanceBudgets.current().isEnabled() ? button.getAttribute("data-test") : null;
+        if (dataTest == null) {
+            clickElement(button);
+            return;
+        }
+        withinBudget(ADD_TO_CART_BUDGET, "[data-test='" + dataTest.replaceFirst("^add-to-cart", "remove") + "']",
+            () -> clickElement(button));
+    }
+
     /**
      * Удалить товар из корзины по индексу
      */
@@ -109,8 +132,8 @@ public class SauceDemoProductsPage extends BasePage {
      */
     @Step("Открыть корзину")
     public void openCart() {
-        waitForClickable(CART_ICON);
         clickElement(CART_ICON);
+        waitForPageSettled();
     }
 
     /**
@@ -118,12 +141,8 @@ public class SauceDemoProductsPage extends BasePage {
      */
     @Step("Получить название товара по индексу: {index}")
     public String getProductName(int index) {
-        waitForElementVisible(PRODUCTS_CONTAINER);
-        List<WebElement> productNames = findElements(PRODUCT_NAMES);
-        if (index < productNames.size()) {
-            return getElementText(productNames.get(index));
-        }
-        return "";
+        List<String> names = getAllProductNames();
+        return index < names.size() ? names.get(index) : "";
     }
 
     /**
@@ -131,27 +150,22 @@ public class SauceDemoProductsPage extends BasePage {
      */
     @Step("Получить цену товара по индексу: {index}")
     public String getProductPrice(int index) {
-        waitForElementVisible(PRODUCTS_CONTAINER);
-        List<WebElement> productPrices = findElements(PRODUCT_PRICES);
-        if (index < productPrices.size()) {
-            return getElementText(productPrices.get(index));
-        }
-        return "";
+        List<String> prices = getAllProductPrices();
+        return index < prices.size() ? prices.get(index) : "";
     }
 
     /**
-     * Сортировать товары
+     * Сортировать товары: по видимому тексту опции ("Price (low to high)") или ее value ("lohi")
      */
     @Step("Сортировать товары по: {sortOption}")
     public void sortProducts(String sortOption) {
         waitForElementVisible(SORT_DROPDOWN);
-        WebElement sortDropdown = findElement(SORT_DROPDOWN);
-        sortDropdown.click();
-        
-        // Выбираем опцию сортировки
-        By sortOptionLocator = By.xpath("//option[contains(text(), '" + sortOption + "')]");
-        waitForElementVisible(sortOptionLocator);
-        clickElement(sortOptionLocator);
+        Select sortDropdown = new Select(findElement(SORT_DROPDOWN));
+        try {
+            sortDropdown.selectByVisibleText(sortOption);
+        } catch (NoSuchElementException e) {
+            sortDropdown.selectByValue(sortOption);
+        }
     }
 
     /**
@@ -159,7 +173,6 @@ public class SauceDemoProductsPage extends BasePage {
      */
     @Step("Открыть меню")
     public void openMenu() {
-        waitForClickable(MENU_BUTTON);
         clickElement(MENU_BUTTON);
     }
 
@@ -169,7 +182,6 @@ public class SauceDemoProductsPage extends BasePage {
     @Step("Выйти из системы")
     public void logout() {
         openMenu();
-        waitForClickable(LOGOUT_LINK);
         clickElement(LOGOUT_LINK);
     }
 
@@ -191,10 +203,9 @@ public class SauceDemoProductsPage extends BasePage {
     @Step("Получить все названия товаров")
     public List<String> getAllProductNames() {
         waitForElementVisible(PRODUCTS_CONTAINER);
-        List<WebElement> productNames = findElements(PRODUCT_NAMES);
-        return productNames.stream()
-            .map(WebElement::getText)
-            .toList();
+        return snapshot(PRODUCT_NAMES).text("name", null).read().stream()
+            .map(row -> row.getString("name"))
+            .collect(Collectors.toList());
     }
 
     /**
@@ -203,10 +214,32 @@ public class SauceDemoProductsPage extends BasePage {
     @Step("Получить все цены товаров")
     public List<String> getAllProductPrices() {
         waitForElementVisible(PRODUCTS_CONTAINER);
-        List<WebElement> productPrices = findElements(PRODUCT_PRICES);
-        return productPrices.stream()
-            .map(WebElement::getText)
-            .toList();
+        return snapshot(PRODUCT_PRICES).text("price", null).read().stream()
+            .map(row -> row.getString("price"))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Прочитать весь каталог (названия, описания, цены, состояние кнопки) за один запрос к браузеру
+     */
+    @Step("Прочитать каталог товаров")
+    public List<Product> getInventory() {
+        waitForElementVisible(PRODUCTS_CONTAINER);
+        return snapshot(PRODUCT_ITEMS)
+            .text("name", PRODUCT_NAMES)
+            .text("description", PRODUCT_DESCRIPTIONS)
+            .text("price", PRODUCT_PRICES)
+            .text("button", PRODUCT_BUTTON)
+            .read(SauceDemoProductsPage::toProduct);
+    }
+
+    private static Product toProduct(DomSnapshot.Row row) {
+        return Product.builder()
+            .name(row.getString("name"))
+            .description(row.getString("description"))
+            .price(row.getNumber("price"))
+            .inCart("Remove".equalsIgnoreCase(row.getString("button")))
+            .build();
     }
 
     /**
@@ -240,11 +273,7 @@ public class SauceDemoProductsPage extends BasePage {
     @Step("Получить название первого товара")
     public String getFirstProductName() {
         waitForElementVisible(PRODUCT_NAMES);
-        List<WebElement> productNames = findElements(PRODUCT_NAMES);
-        if (!productNames.isEmpty()) {
-            return productNames.get(0).getText();
-        }
-        return "";
+        return getProductName(0);
     }
 
     /**
@@ -253,11 +282,7 @@ public class SauceDemoProductsPage extends BasePage {
     @Step("Получить цену первого товара")
     public String getFirstProductPrice() {
         waitForElementVisible(PRODUCT_PRICES);
-        List<WebElement> productPrices = findElements(PRODUCT_PRICES);
-        if (!productPrices.isEmpty()) {
-            return productPrices.get(0).getText();
-        }
-        return "";
+        return getProductPrice(0);
     }
 
     @Step("Проверить отображение значка корзины")
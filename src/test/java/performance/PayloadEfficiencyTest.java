@@ -0,0 +1,85 @@
+package performance;
+
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import utils.*;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static io.qameta.allure.Allure.step;
+
+/**
+ * Тесты эффективности передачи данных API
+ * Проверяют согласование сжатия и фиксируют экономию трафика по эндпоинтам
+ */
+@Epic("Performance Testing")
+@Feature("Payload Efficiency Tests")
+public class PayloadEfficiencyTest extends BaseApiTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/posts", "/comments", "/users", "/todos"})
+    @TestTag(id = "PERF_005", description = "Проверка сжатия крупных ответов", category = "Performance", priority = 2)
+    @Story("Payload Compression")
+    @DisplayName("Проверить, что крупные ответы API передаются сжатыми")
+    @Description("Ответы больше api.payload.uncompressed.max.bytes должны приходить с Content-Encoding")
+    @Severity(SeverityLevel.NORMAL)
+    public void testLargePayloadsAreCompressed(String endpoint) {
+        step("Запрашиваем " + endpoint + " с Accept-Encoding: " + Config.getAcceptEncoding(), () -> {
+            Response response = given()
+                .when()
+                .get(endpoint)
+                .then()
+                .statusCode(200)
+                .header("Content-Type", containsString("application/json"))
+                .extract().response();
+
+            String contentEncoding = response.getHeader("Content-Encoding");
+            int decodedSize = response.asByteArray().length;
+            int limit = Config.getUncompressedPayloadLimit();
+
+            Allure.addAttachment("Compression Headers", "text/plain",
+                String.format("Content-Encoding: %s\nVary: %s\nDecoded Size: %d bytes\nLimit: %d bytes",
+                    contentEncoding, response.getHeader("Vary"), decodedSize, limit));
+
+            if (decodedSize > limit) {
+                assertNotNull(contentEncoding, String.format(
+                    "[UNCOMPRESSED PAYLOAD] %s вернул %d байт без сжатия (лимит %d байт)",
+                    endpoint, decodedSize, limit));
+                assertThat("Vary должен учитывать Accept-Encoding для кэшей",
+                    response.getHeader("Vary"), containsStringIgnoringCase("Accept-Encoding"));
+            }
+        });
+    }
+
+    @Test
+    @TestTag(id = "PERF_006", description = "Экономия трафика за счет сжатия", category = "Performance", priority = 3)
+    @Story("Payload Compression")
+    @DisplayName("Измерить экономию трафика по эндпоинтам")
+    @Description("Сравниваем байты по проводу и байты после распаковки для коллекций API")
+    @Severity(SeverityLevel.MINOR)
+    public void testCompressionSavings() {
+        step("Запрашиваем коллекции и собираем метрики размера", () -> {
+            for (String endpoint : new String[]{"/posts", "/comments", "/albums"}) {
+                given()
+                    .when()
+                    .get(endpoint)
+                    .then()
+                    .statusCode(200)
+                    .body("size()", greaterThan(0));
+            }
+
+            Allure.addAttachment("Payload Metrics", "text/plain", PayloadMetrics.report());
+
+            PayloadMetrics.EndpointStats comments = PayloadMetrics.get("GET /comments");
+            assertNotNull(comments, "Метрики для GET /comments должны быть собраны");
+            assertTrue(comments.getWireBytes() < comments.getDecodedBytes(),
+                String.format("[UNCOMPRESSED PAYLOAD] GET /comments: по проводу %d байт, после распаковки %d байт",
+                    comments.getWireBytes(), comments.getDecodedBytes()));
+        });
+    }
+}
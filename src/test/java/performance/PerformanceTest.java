@@ -2,7 +2,6 @@ package performance;
 
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.api.extension.ExtendWith;
 import utils.*;
 import exceptions.ApiConnectionException;
 
@@ -16,7 +15,6 @@ import static io.qameta.allure.Allure.step;
  */
 @Epic("Performance Testing")
 @Feature("API Performance Tests")
-@ExtendWith(RetryExtension.class)
 public class PerformanceTest extends BaseApiTest {
 
     private static final long MAX_RESPONSE_TIME = 2000; // 2 seconds
@@ -0,0 +1,74 @@
+package performance;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import pages.*;
+import utils.*;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import static io.qameta.allure.Allure.step;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Нагрузочный тест UI: одновременные пользователи SauceDemo в настоящих headless браузерах
+ * Запускается только в нагрузочном режиме: -Dui.load.enabled=true (число пользователей - ui.load.users)
+ */
+@Epic("Performance Testing")
+@Feature("UI Load Tests")
+public class UiLoadTest {
+
+    @BeforeAll
+    static void requireLoadMode() {
+        Assumptions.assumeTrue(Config.isUiLoadEnabled(), "Нагрузочный режим UI выключен (ui.load.enabled=false)");
+    }
+
+    @Test
+    @TestTag(id = "PERF_006", description = "Нагрузочный тест пути покупки в UI", category = "Performance", priority = 3)
+    @Story("UI Load")
+    @DisplayName("Одновременные пользователи проходят логин, корзину и оформление заказа")
+    @Description("Путь SauceDemoLoginPage -> SauceDemoProductsPage -> SauceDemoCartPage -> SauceDemoCheckoutPage; перцентили по шагам")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCheckoutJourneyUnderLoad() {
+        UiLoadRunner runner = UiLoadRunner.journey("checkout")
+            .step("login", driver -> {
+                new SauceDemoLoginPage(driver).openLoginPage().login("standard_user", "secret_sauce");
+                if (!new SauceDemoProductsPage(driver).isProductsPageLoaded()) {
+                    throw new IllegalStateException("Страница продуктов не загрузилась после логина");
+                }
+            })
+            .step("add-to-cart", driver -> new SauceDemoProductsPage(driver).addFirstProductToCart())
+            .step("open-cart", driver -> {
+                new SauceDemoProductsPage(driver).openCart();
+                if (!new SauceDemoCartPage(driver).isCartPageLoaded()) {
+                    throw new IllegalStateException("Корзина не открылась");
+                }
+            })
+            .step("checkout", driver -> {
+                new SauceDemoCartPage(driver).proceedToCheckout();
+                new SauceDemoCheckoutPage(driver).fillCheckoutForm("Load", "User", "12345").continueCheckout();
+                WebDriverUtils.waitForUrlContains(driver, "checkout-step-two", Config.getTimeout());
+            });
+
+        UiLoadReport report = step("Запуск " + Config.getUiLoadUsers() + " пользователей, браузеров одновременно: "
+            + runner.getConcurrency(), runner::run);
+
+        step("Отчет по шагам", () -> {
+            Allure.addAttachment("UI Load Report", "text/plain", report.report());
+            try {
+                report.writeJson(Paths.get(Config.getUiLoadReport()));
+            } catch (IOException e) {
+                Allure.addAttachment("UI Load Report Error", "text/plain", "Failed to write report: " + e.getMessage());
+            }
+        });
+
+        step("Проверяем долю ошибок и лимит браузеров", () -> {
+            assertTrue(report.getCompletedJourneys() > 0, "Хотя бы один путь должен завершиться");
+            assertTrue(report.getErrorRate() <= Config.getUiLoadMaxErrorRate(), String.format(
+                "Доля ошибок %.1f%% выше допустимой %.1f%%%n%s", report.getErrorRate() * 100,
+                Config.getUiLoadMaxErrorRate() * 100, report.report()));
+            assertTrue(report.getBrowsersLaunched() <= report.getConcurrency(), "Браузеров запущено больше лимита");
+        });
+    }
+}
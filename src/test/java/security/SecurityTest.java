@@ -2,7 +2,6 @@ package security;
 
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
-import org.junit.jupiter.api.extension.ExtendWith;
 import utils.*;
 
 import static io.restassured.RestAssured.given;
@@ -15,7 +14,6 @@ import static io.qameta.allure.Allure.step;
  */
 @Epic("Security Testing")
 @Feature("API Security Tests")
-@ExtendWith(RetryExtension.class)
 public class SecurityTest extends BaseApiTest {
 
     @Test
@@ -0,0 +1,76 @@
+package ui;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import pages.*;
+import utils.*;
+
+import static io.qameta.allure.Allure.step;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Soak тесты корзины SauceDemo: длинная сессия добавления и удаления товаров с контролем утечек памяти
+ * Запускаются только в soak режиме: -Dui.soak.enabled=true (число итераций - ui.soak.iterations)
+ */
+@Epic("UI Testing")
+@Feature("Memory Soak")
+@ExtendWith(SoakModeCondition.class)
+@BlockResources(
+    types = {BlockResources.ResourceType.IMAGE, BlockResources.ResourceType.FONT, BlockResources.ResourceType.MEDIA},
+    patterns = {"*backtrace.io*", "*google-analytics.com*", "*googletagmanager.com*"})
+public class CartSoakUiTest extends BaseUiTest {
+
+    private SauceDemoLoginPage loginPage;
+    private SauceDemoProductsPage productsPage;
+    private SauceDemoCartPage cartPage;
+
+    @BeforeEach
+    void setUp() {
+        loginPage = new SauceDemoLoginPage(driver);
+        productsPage = new SauceDemoProductsPage(driver);
+        cartPage = new SauceDemoCartPage(driver);
+    }
+
+    @Test
+    @TestTag(id = "UI_016", description = "Утечки памяти при добавлении и удалении товаров", category = "UI", priority = 3)
+    @Story("Memory Leaks")
+    @DisplayName("Добавление и удаление товаров в длинной сессии без роста памяти")
+    @Description("Повторяем добавление товара, переход в корзину, удаление и возврат; тренд heap, DOM узлов и обработчиков не должен расти")
+    @Severity(SeverityLevel.NORMAL)
+    public void testAddRemoveCartSoak() {
+        step("Логин", () -> {
+            loginPage.openLoginPage().login("standard_user", "secret_sauce");
+            assertTrue(productsPage.isProductsPageLoaded(), "Страница продуктов должна загрузиться");
+        });
+
+        soak("add/remove cart item", iteration -> {
+            productsPage.addFirstProductToCart();
+            productsPage.openCart();
+            cartPage.removeFirstItem();
+            cartPage.continueShopping();
+        });
+
+        step("Корзина пуста после всех итераций", () -> {
+            assertEquals(0, productsPage.getCartItemCount(), "Все добавленные товары должны быть удалены");
+        });
+    }
+
+    @Test
+    @TestTag(id = "UI_017", description = "Утечки памяти при смене сортировки", category = "UI", priority = 3)
+    @Story("Memory Leaks")
+    @DisplayName("Повторная сортировка каталога без роста памяти")
+    @Description("Каталог перерисовывается при каждой сортировке; старые узлы и обработчики должны освобождаться")
+    @Severity(SeverityLevel.MINOR)
+    public void testSortingSoak() {
+        step("Логин", () -> {
+            loginPage.openLoginPage().login("standard_user", "secret_sauce");
+            assertTrue(productsPage.isProductsPageLoaded(), "Страница продуктов должна загрузиться");
+        });
+
+        soak("catalog sorting", iteration -> {
+            productsPage.sortProducts("Price (high to low)");
+            productsPage.sortProducts("Name (A to Z)");
+        });
+    }
+}
@@ -15,6 +15,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @Epic("UI Testing")
 @Feature("Google Search UI Tests")
 @ExtendWith(RetryExtension.class)
+// Картинки не блокируются: тесты проверяют логотип Google
+@BlockResources(types = {BlockResources.ResourceType.FONT, BlockResources.ResourceType.MEDIA})
 public class GoogleUiTest extends BaseUiTest {
 
     private GoogleSearchPage googlePage;
@@ -16,6 +16,9 @@ import static org.junit.jupiter.api.Assertions.*;
 @Epic("UI Testing")
 @Feature("SauceDemo UI Tests")
 @ExtendWith(RetryExtension.class)
+@BlockResources(
+    types = {BlockResources.ResourceType.IMAGE, BlockResources.ResourceType.FONT, BlockResources.ResourceType.MEDIA},
+    patterns = {"*backtrace.io*", "*google-analytics.com*", "*googletagmanager.com*"})
 public class SauceDemoUiTest extends BaseUiTest {
 
     private SauceDemoLoginPage loginPage;
@@ -39,7 +42,7 @@ public class SauceDemoUiTest extends BaseUiTest {
     @Severity(SeverityLevel.CRITICAL)
     public void testSuccessfulLogin() {
         step("Открываем страницу логина", () -> {
-            driver.get("https://www.saucedemo.com");
+            navigateTo("https://www.saucedemo.com");
         });
 
         step("Вводим валидные данные для логина", () -> {
@@ -65,7 +68,7 @@ public class SauceDemoUiTest extends BaseUiTest {
     @Severity(SeverityLevel.NORMAL)
     public void testFailedLogin() {
         step("Открываем страницу логина", () -> {
-            driver.get("https://www.saucedemo.com");
+            navigateTo("https://www.saucedemo.com");
         });
 
         step("Вводим неверные данные для логина", () -> {
@@ -92,10 +95,8 @@ public class SauceDemoUiTest extends BaseUiTest {
     @Severity(SeverityLevel.CRITICAL)
     public void testAddToCart() {
         step("Логинимся в приложение", () -> {
-            driver.get("https://www.saucedemo.com");
-            loginPage.enterUsername("standard_user");
-            loginPage.enterPassword("secret_sauce");
-            loginPage.clickLoginButton();
+            // Логин не является предметом теста: подставляем сохраненную сессию
+            loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         });
 
         step("Добавляем первый товар в корзину", () -> {
@@ -123,10 +124,8 @@ public class SauceDemoUiTest extends BaseUiTest {
     @Severity(SeverityLevel.NORMAL)
     public void testRemoveFromCart() {
         step("Логинимся и добавляем товар в корзину", () -> {
-            driver.get("https://www.saucedemo.com");
-            loginPage.enterUsername("standard_user");
-            loginPage.enterPassword("secret_sauce");
-            loginPage.clickLoginButton();
+            // Логин не является предметом теста: подставляем сохраненную сессию
+            loginPage.loginWithCachedSession("standard_user", "secret_sauce");
             productsPage.addFirstProductToCart();
             productsPage.clickCartButton();
         });
@@ -148,10 +147,8 @@ public class SauceDemoUiTest extends BaseUiTest {
     @Severity(SeverityLevel.MINOR)
     public void testProductDisplay() {
         step("Логинимся в приложение", () -> {
-            driver.get("https://www.saucedemo.com");
-            loginPage.enterUsername("standard_user");
-            loginPage.enterPassword("secret_sauce");
-            loginPage.clickLoginButton();
+            // Логин не является предметом теста: подставляем сохраненную сессию
+            loginPage.loginWithCachedSession("standard_user", "secret_sauce");
         });
 
         step("Проверяем отображение товаров", () -> {
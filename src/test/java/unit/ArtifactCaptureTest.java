@@ -0,0 +1,91 @@
+package unit;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.FileSystemResultsWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.ArtifactCapture;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для фоновой записи вложений и политики снятия артефактов
+ */
+@DisplayName("Тесты фоновой записи артефактов")
+public class ArtifactCaptureTest {
+
+    @TempDir
+    Path resultsDir;
+
+    private List<Path> attachments() throws IOException {
+        try (Stream<Path> files = Files.list(resultsDir)) {
+            return files.filter(file -> file.getFileName().toString().contains("-attachment")).collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Вложение пишется в фоне, поток теста не ждет записи")
+    public void testAttachmentIsWrittenInBackground() throws Exception {
+        ArtifactCapture capture = new ArtifactCapture(new AllureLifecycle(new FileSystemResultsWriter(resultsDir)), 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        capture.attachAsync("Final Page State", "text/html", "html", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "<html></html>".getBytes(StandardCharsets.UTF_8);
+        });
+
+        assertEquals(1, capture.getPendingCount());
+        assertTrue(attachments().isEmpty());
+        release.countDown();
+        assertTrue(capture.flush(5_000));
+
+        List<Path> files = attachments();
+        assertEquals(1, files.size());
+        assertTrue(files.get(0).toString().endsWith(".html"));
+        assertEquals("<html></html>", Files.readString(files.get(0)));
+        assertEquals(1, capture.getWrittenCount());
+    }
+
+    @Test
+    @DisplayName("Ошибка подготовки содержимого не ломает остальные вложения")
+    public void testFailureIsCounted() throws Exception {
+        ArtifactCapture capture = new ArtifactCapture(new AllureLifecycle(new FileSystemResultsWriter(resultsDir)), 2);
+
+        capture.attachAsync("Broken", "image/png", "png", () -> {
+            throw new IllegalStateException("decode failed");
+        });
+        capture.attachAsync("Screenshot", "image/png", "png", () -> new byte[]{1, 2, 3});
+
+        assertTrue(capture.flush(5_000));
+        assertEquals(1, capture.getFailedCount());
+        assertEquals(1, capture.getWrittenCount());
+        assertEquals(1, attachments().size());
+    }
+
+    @Test
+    @DisplayName("Политика определяет, когда снимать артефакты")
+    public void testPolicy() {
+        assertTrue(ArtifactCapture.Policy.ALWAYS.shouldCapture(false, 10, 1000));
+        assertFalse(ArtifactCapture.Policy.ON_FAILURE.shouldCapture(false, 5000, 1000));
+        assertTrue(ArtifactCapture.Policy.ON_FAILURE.shouldCapture(true, 10, 1000));
+        assertTrue(ArtifactCapture.Policy.ON_SLOW.shouldCapture(false, 5000, 1000));
+        assertTrue(ArtifactCapture.Policy.ON_SLOW.shouldCapture(true, 10, 1000));
+        assertFalse(ArtifactCapture.Policy.ON_SLOW.shouldCapture(false, 10, 1000));
+        assertFalse(ArtifactCapture.Policy.NEVER.shouldCapture(true, 5000, 1000));
+        assertEquals(ArtifactCapture.Policy.ON_SLOW, ArtifactCapture.Policy.parse(" on-slow "));
+    }
+}
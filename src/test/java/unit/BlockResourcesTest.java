@@ -0,0 +1,118 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.chromium.HasCdp;
+import utils.BlockResources;
+import utils.DevToolsEvents;
+import utils.ResourceTypeBlocker;
+import utils.WebDriverUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для блокировки ресурсов через CDP
+ */
+@DisplayName("Тесты блокировки ресурсов")
+public class BlockResourcesTest {
+
+    @BlockResources(types = {BlockResources.ResourceType.IMAGE, BlockResources.ResourceType.FONT},
+        patterns = {"*analytics*", "*.png"})
+    private static class AnnotatedTest {
+    }
+
+    private static class InheritedTest extends AnnotatedTest {
+    }
+
+    @Test
+    @DisplayName("Без DevTools типы ресурсов заменяются шаблонами URL, включая адреса с query string")
+    public void testPatternFallback() {
+        FakeBrowser browser = new FakeBrowser(HasCdp.class);
+        BlockResources annotation = AnnotatedTest.class.getAnnotation(BlockResources.class);
+
+        assertTrue(WebDriverUtils.blockResources(browser.driver(), List.of(annotation.types()), List.of(annotation.patterns())));
+
+        @SuppressWarnings("unchecked")
+        List<String> patterns = (List<String>) blockedUrls(browser).get(0);
+        assertTrue(patterns.containsAll(List.of("*.png", "*.png?*", "*.jpg", "*.woff2?*", "*analytics*")));
+        assertEquals(1, patterns.stream().filter("*.png"::equals).count());
+        assertFalse(patterns.contains("*.css"));
+    }
+
+    @Test
+    @DisplayName("Типы ресурсов блокируются перехватом Fetch по resourceType")
+    public void testFetchBlocksByResourceType() {
+        List<String> sent = new ArrayList<>();
+        List<Map<String, Object>> params = new ArrayList<>();
+        AtomicInteger closed = new AtomicInteger();
+        DevToolsEvents cdp = new DevToolsEvents(null) {
+            @Override
+            public void send(String method, Map<String, Object> commandParams) {
+                sent.add(method);
+                params.add(commandParams);
+            }
+
+            @Override
+            protected void openSession() {
+            }
+
+            @Override
+            protected void subscribe(String event) {
+            }
+
+            @Override
+            protected void closeSession() {
+                closed.incrementAndGet();
+            }
+        };
+        ResourceTypeBlocker blocker = new ResourceTypeBlocker(cdp);
+
+        blocker.start(List.of(BlockResources.ResourceType.IMAGE, BlockResources.ResourceType.FONT));
+        cdp.dispatch("Fetch.requestPaused", Map.of("requestId", "interception-7", "resourceType", "Image",
+            "request", Map.of("url", "https://cdn.example.com/image?id=42")));
+        blocker.stop();
+
+        assertEquals(List.of("Fetch.enable", "Fetch.failRequest", "Fetch.disable"), sent);
+        assertEquals(List.of(
+            Map.of("urlPattern", "*", "resourceType", "Image", "requestStage", "Request"),
+            Map.of("urlPattern", "*", "resourceType", "Font", "requestStage", "Request")), params.get(0).get("patterns"));
+        assertEquals(Map.of("requestId", "interception-7", "errorReason", "BlockedByClient"), params.get(1));
+        assertEquals(1, blocker.getBlocked());
+        assertEquals(1, closed.get(), "После снятия перехвата сессия не удерживается");
+    }
+
+    @Test
+    @DisplayName("Аннотация наследуется тестовыми классами")
+    public void testAnnotationIsInherited() {
+        assertNotNull(InheritedTest.class.getAnnotation(BlockResources.class));
+    }
+
+    @Test
+    @DisplayName("Шаблоны передаются в CDP Network.setBlockedURLs")
+    public void testCdpCommandsAreSent() {
+        FakeBrowser browser = new FakeBrowser(HasCdp.class);
+
+        assertTrue(WebDriverUtils.blockResources(browser.driver(), List.of("*.png")));
+        WebDriverUtils.unblockResources(browser.driver());
+
+        assertEquals(List.of("Network.enable", "Network.setBlockedURLs", "Network.setBlockedURLs"), browser.commands());
+        assertEquals(List.of(List.of("*.png"), List.of()), blockedUrls(browser));
+    }
+
+    @Test
+    @DisplayName("Без CDP блокировка пропускается")
+    public void testNonCdpDriverIsSkipped() {
+        assertFalse(WebDriverUtils.blockResources(new FakeBrowser().driver(), List.of("*.png")));
+    }
+
+    private static List<Object> blockedUrls(FakeBrowser browser) {
+        List<Object> urls = new ArrayList<>();
+        browser.params().stream().filter(params -> params.containsKey("urls")).forEach(params -> urls.add(params.get("urls")));
+        return urls;
+    }
+}
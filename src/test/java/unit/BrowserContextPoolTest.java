@@ -0,0 +1,200 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.WebDriver;
+import utils.BrowserContextPool;
+import utils.BrowserSlots;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для пула браузерных контекстов с фейковым процессом браузера
+ */
+@DisplayName("Тесты пула браузерных контекстов")
+public class BrowserContextPoolTest {
+
+    private final AtomicInteger launched = new AtomicInteger();
+    private final AtomicInteger switches = new AtomicInteger();
+    private final AtomicInteger quits = new AtomicInteger();
+    private final List<String> disposed = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Фейковый процесс браузера: getTitle возвращает текущее окно сессии
+     */
+    private class FakeProcess implements BrowserContextPool.Contexts {
+        private final Set<String> windows = Collections.synchronizedSet(new LinkedHashSet<>(Set.of("anchor")));
+        private final AtomicInteger counter = new AtomicInteger();
+        private volatile String current = "anchor";
+        private final WebDriver driver;
+
+        FakeProcess() {
+            launched.incrementAndGet();
+            driver = new FakeBrowser()
+                .on("getWindowHandles", args -> new LinkedHashSet<>(windows))
+                .on("window", args -> {
+                    switches.incrementAndGet();
+                    current = (String) args[0];
+                    return null;
+                })
+                .on("getTitle", args -> {
+                    String before = current;
+                    Thread.sleep(1);
+                    return before.equals(current) ? before : "interleaved";
+                })
+                .on("quit", args -> {
+                    quits.incrementAndGet();
+                    return null;
+                })
+                .driver();
+        }
+
+        @Override
+        public String create() {
+            return "ctx-" + counter.incrementAndGet();
+        }
+
+        @Override
+        public String openWindow(String contextId) {
+            String target = "T-" + contextId;
+            windows.add(target);
+            return target;
+        }
+
+        @Override
+        public void dispose(String contextId) {
+            windows.remove("T-" + contextId);
+            disposed.add(contextId);
+        }
+    }
+
+    private BrowserContextPool pool(int perProcess, int maxProcesses) {
+        return pool(perProcess, maxProcesses, null);
+    }
+
+    private BrowserContextPool pool(int perProcess, int maxProcesses, BrowserSlots slots) {
+        List<FakeProcess> browsers = Collections.synchronizedList(new ArrayList<>());
+        return new BrowserContextPool(perProcess, maxProcesses, () -> {
+            FakeProcess browser = new FakeProcess();
+            browsers.add(browser);
+            return browser.driver;
+        }, driver -> List.copyOf(browsers).stream().filter(b -> b.driver == driver).findFirst().orElseThrow(), slots);
+    }
+
+    @Test
+    @DisplayName("Контексты делят один процесс, каждый вызов выполняется в окне своего теста")
+    public void testCommandsRunInOwnWindow() {
+        BrowserContextPool pool = pool(4, 1);
+        WebDriver first = pool.lease();
+        WebDriver second = pool.lease();
+
+        assertEquals("T-ctx-1", first.getTitle());
+        assertEquals("T-ctx-1", first.getTitle());
+        assertEquals("T-ctx-2", second.getTitle());
+        assertEquals("T-ctx-1", first.getTitle());
+
+        assertEquals(1, pool.getProcessCount());
+        assertEquals(3, switches.get(), "Переключение только при смене теста");
+    }
+
+    @Test
+    @DisplayName("Параллельные тесты не перемешивают окна")
+    public void testConcurrentLeases() throws Exception {
+        BrowserContextPool pool = pool(4, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    WebDriver driver = pool.lease();
+                    String own = driver.getTitle();
+                    for (int call = 0; call < 20; call++) {
+                        if (!own.equals(driver.getTitle())) {
+                            return false;
+                        }
+                    }
+                    driver.quit();
+                    return own.startsWith("T-ctx-");
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, launched.get());
+        assertEquals(4, disposed.size());
+        assertEquals(0, quits.get(), "quit теста закрывает только его контекст");
+    }
+
+    @Test
+    @DisplayName("Новый процесс запускается только при заполненных контекстах, освобожденный контекст переиспользует процесс")
+    public void testCapacity() {
+        BrowserContextPool pool = pool(2, 2);
+        WebDriver a = pool.lease();
+        pool.lease();
+        pool.lease();
+        assertEquals(2, pool.getProcessCount());
+
+        pool.release(a);
+        assertEquals(List.of("ctx-1"), disposed);
+        pool.lease();
+        assertEquals(2, pool.getProcessCount());
+        assertEquals(3, pool.getLeasedCount());
+
+        pool.shutdown();
+        assertEquals(2, quits.get());
+    }
+
+    @Test
+    @DisplayName("Ожидание слота машины под запуск не мешает вернуть контекст и взять освободившийся")
+    public void testReleaseDuringLaunchWait(@TempDir Path slotDir) throws Exception {
+        BrowserSlots slots = new BrowserSlots(slotDir, 1, 10);
+        BrowserContextPool pool = pool(1, 2, slots);
+        WebDriver first = pool.lease();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Слот машины занят первым процессом: второй lease ждет слот под запуск
+            Future<WebDriver> waiting = executor.submit(pool::lease);
+            Thread.sleep(200);
+            Future<?> release = executor.submit(() -> pool.release(first));
+
+            release.get(2, java.util.concurrent.TimeUnit.SECONDS);
+            WebDriver second = waiting.get(5, java.util.concurrent.TimeUnit.SECONDS);
+            assertEquals("T-ctx-2", second.getTitle(), "Освободившийся контекст выдан ждущему тесту");
+            assertEquals(1, pool.getProcessCount());
+        } finally {
+            executor.shutdownNow();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Процесс браузера занимает слот машины до shutdown")
+    public void testProcessHoldsMachineSlot(@TempDir Path slotDir) {
+        BrowserSlots slots = new BrowserSlots(slotDir, 1, 10);
+        BrowserContextPool pool = pool(1, 2, slots);
+        WebDriver first = pool.lease();
+
+        assertThrows(IllegalStateException.class, () -> new BrowserSlots(slotDir, 1, 10).acquire(50),
+            "Слот процесса виден другим форкам");
+        pool.release(first);
+        assertThrows(IllegalStateException.class, () -> slots.acquire(50), "Освобожденный контекст не закрывает процесс");
+
+        pool.shutdown();
+        slots.acquire(50).close();
+    }
+}
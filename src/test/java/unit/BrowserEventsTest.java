@@ -0,0 +1,142 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.BrowserEvents;
+import utils.DevToolsEvents;
+import utils.NetworkRecorder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для буфера событий браузера
+ */
+@DisplayName("Тесты событий браузера")
+public class BrowserEventsTest {
+
+    @Test
+    @DisplayName("События BiDi и CDP приводятся к общим типам")
+    public void testEventMapping() {
+        BrowserEvents events = new BrowserEvents(100);
+
+        events.onBiDiEvent("log.entryAdded", Map.of("type", "console", "level", "warn", "text", "deprecated API"));
+        events.onBiDiEvent("log.entryAdded", Map.of("type", "javascript", "level", "error", "text", "TypeError: x is undefined"));
+        events.onBiDiEvent("network.responseCompleted", Map.of(
+            "request", Map.of("url", "https://www.saucedemo.com/missing.js"), "response", Map.of("status", 404)));
+        events.onCdpEvent("Runtime.consoleAPICalled", Map.of("type", "log", "args", List.of(Map.of("value", "cart"), Map.of("value", 2))));
+        events.onCdpEvent("Runtime.exceptionThrown", Map.of("exceptionDetails", Map.of(
+            "text", "Uncaught", "exception", Map.of("description", "ReferenceError: foo is not defined"))));
+        events.onCdpEvent("Page.frameNavigated", Map.of("frame", Map.of("id", "child", "parentId", "main", "url", "about:blank")));
+        events.onCdpEvent("Page.frameNavigated", Map.of("frame", Map.of("id", "main", "url", "https://www.saucedemo.com/inventory.html")));
+
+        assertEquals(2, events.getJsErrors().size());
+        assertEquals("ReferenceError: foo is not defined", events.getJsErrors().get(1).getMessage());
+        assertEquals("cart 2", events.getEvents(BrowserEvents.Type.CONSOLE).get(1).getMessage());
+        BrowserEvents.BrowserEvent response = events.getEvents(BrowserEvents.Type.NETWORK).get(0);
+        assertEquals("error", response.getLevel());
+        assertEquals("404 https://www.saucedemo.com/missing.js", response.getMessage());
+        assertEquals(1, events.getEvents(BrowserEvents.Type.NAVIGATION).size());
+        assertTrue(events.report().contains("JS_ERROR: 2"));
+    }
+
+    @Test
+    @DisplayName("Буфер ограничен, старые события вытесняются")
+    public void testCapacity() {
+        BrowserEvents events = new BrowserEvents(2);
+        for (int i = 0; i < 5; i++) {
+            events.onCdpEvent("Page.loadEventFired", Map.of());
+        }
+
+        assertEquals(2, events.getEvents().size());
+        assertEquals(3, events.getDropped());
+    }
+
+    @Test
+    @DisplayName("Ожидание события просыпается от push-события без опроса")
+    public void testAwait() throws InterruptedException {
+        BrowserEvents events = new BrowserEvents(100);
+        new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.onBiDiEvent("browsingContext.load", Map.of("url", "https://www.saucedemo.com/cart.html"));
+        }).start();
+
+        long start = System.currentTimeMillis();
+        BrowserEvents.BrowserEvent load = events.await(BrowserEvents.Type.LOAD, "cart.html", Duration.ofSeconds(5));
+
+        assertNotNull(load);
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertNull(events.await(BrowserEvents.Type.JS_ERROR, "", Duration.ofMillis(50)));
+    }
+
+    @Test
+    @DisplayName("Без BiDi и DevTools подписка не выполняется")
+    public void testUnsupportedDriver() {
+        assertNull(new BrowserEvents(10).attach(new FakeBrowser().driver()));
+    }
+
+    @Test
+    @DisplayName("Ошибка загрузки CDP показывает URL запроса, а не requestId")
+    public void testLoadingFailedUrl() {
+        BrowserEvents events = new BrowserEvents(100);
+        events.onCdpEvent("Network.requestWillBeSent", Map.of("requestId", "42.7",
+            "request", Map.of("url", "https://www.saucedemo.com/static/js/main.js")));
+        events.onCdpEvent("Network.loadingFailed", Map.of("requestId", "42.7", "errorText", "net::ERR_BLOCKED_BY_CLIENT"));
+        events.onCdpEvent("Network.loadingFailed", Map.of("requestId", "43.1", "errorText", "net::ERR_ABORTED"));
+
+        List<BrowserEvents.BrowserEvent> failures = events.getEvents(BrowserEvents.Type.NETWORK_ERROR);
+        assertEquals("net::ERR_BLOCKED_BY_CLIENT https://www.saucedemo.com/static/js/main.js", failures.get(0).getMessage());
+        assertEquals("net::ERR_ABORTED 43.1", failures.get(1).getMessage(), "Без requestWillBeSent остается requestId");
+    }
+
+    @Test
+    @DisplayName("Отписка HAR не снимает подписки событий теста, сессия закрывается с последним владельцем")
+    public void testSharedDevToolsOwnership() {
+        AtomicInteger opened = new AtomicInteger();
+        AtomicInteger subscribed = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        DevToolsEvents cdp = new DevToolsEvents(null) {
+            @Override
+            protected void openSession() {
+                opened.incrementAndGet();
+            }
+
+            @Override
+            protected void subscribe(String event) {
+                subscribed.incrementAndGet();
+            }
+
+            @Override
+            protected void closeSession() {
+                closed.incrementAndGet();
+            }
+        };
+        NetworkRecorder recorder = new NetworkRecorder();
+        BrowserEvents events = new BrowserEvents(100);
+        cdp.listen(recorder, "Network.loadingFailed", recorder::onLoadingFailed);
+        cdp.listen(events, "Network.loadingFailed", params -> events.onCdpEvent("Network.loadingFailed", params));
+        cdp.listen(events, "Page.loadEventFired", params -> events.onCdpEvent("Page.loadEventFired", params));
+
+        cdp.release(recorder);
+        cdp.dispatch("Page.loadEventFired", Map.of());
+        cdp.dispatch("Network.loadingFailed", Map.of("requestId", "1", "errorText", "net::ERR_FAILED"));
+
+        assertEquals(0, closed.get(), "Сессия нужна оставшемуся владельцу");
+        assertEquals(1, events.getEvents(BrowserEvents.Type.LOAD).size());
+        assertEquals(1, events.getEvents(BrowserEvents.Type.NETWORK_ERROR).size());
+
+        cdp.release(events);
+        assertEquals(1, opened.get());
+        assertEquals(2, subscribed.get(), "Каждое событие подписывается в DevTools один раз");
+        assertEquals(1, closed.get());
+        assertFalse(cdp.isOpen());
+    }
+}
@@ -0,0 +1,82 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.BrowserSlots;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для ограничения числа браузеров на машине
+ */
+@DisplayName("Тесты слотов браузеров")
+public class BrowserSlotsTest {
+
+    @TempDir
+    Path slotDir;
+
+    @Test
+    @DisplayName("Свободные слоты выдаются по одному")
+    public void testSlotsAreDistinct() {
+        BrowserSlots slots = new BrowserSlots(slotDir, 2, 10);
+
+        try (BrowserSlots.Slot first = slots.acquire(100); BrowserSlots.Slot second = slots.acquire(100)) {
+            assertNotEquals(first.getIndex(), second.getIndex());
+        }
+    }
+
+    @Test
+    @DisplayName("Без свободного слота ожидание завершается ошибкой")
+    public void testAcquireTimesOut() {
+        BrowserSlots slots = new BrowserSlots(slotDir, 1, 10);
+
+        try (BrowserSlots.Slot ignored = slots.acquire(100)) {
+            IllegalStateException error = assertThrows(IllegalStateException.class, () -> slots.acquire(100));
+            assertTrue(error.getMessage().contains("заняты"), error.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Освобожденный слот можно занять снова, в том числе другим экземпляром")
+    public void testReleasedSlotIsReused() {
+        new BrowserSlots(slotDir, 1, 10).acquire(100).close();
+
+        try (BrowserSlots.Slot slot = new BrowserSlots(slotDir, 1, 10).acquire(100)) {
+            assertEquals(0, slot.getIndex());
+        }
+    }
+
+    @Test
+    @DisplayName("Параллельные потоки не превышают лимит слотов")
+    public void testConcurrentLimit() throws Exception {
+        BrowserSlots slots = new BrowserSlots(slotDir, 2, 5);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Thread thread = new Thread(() -> {
+                try (BrowserSlots.Slot ignored = slots.acquire(5_000)) {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    Thread.sleep(30);
+                    active.decrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(2, maxActive.get());
+        assertEquals(0, active.get());
+    }
+}
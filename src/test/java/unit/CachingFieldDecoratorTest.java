@@ -0,0 +1,102 @@
+package unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import utils.CachingFieldDecorator;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для кэша элементов PageFactory с повтором при устаревании
+ */
+@DisplayName("Тесты кэша элементов страницы")
+public class CachingFieldDecoratorTest {
+
+    private final AtomicInteger finds = new AtomicInteger();
+    private final AtomicInteger staleCalls = new AtomicInteger();
+
+    public static class LoginForm {
+        @FindBy(id = "user-name")
+        WebElement username;
+
+        @FindBy(className = "cart_item")
+        List<WebElement> items;
+    }
+
+    @BeforeEach
+    public void resetStats() {
+        CachingFieldDecorator.resetStats();
+    }
+
+    /**
+     * Каждый поиск возвращает новый элемент с номером поиска в тексте; первые staleCalls вызовов getText устаревшие
+     */
+    private SearchContext fakePage() {
+        return (SearchContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{SearchContext.class}, (proxy, method, args) -> {
+                int generation = finds.incrementAndGet();
+                WebElement element = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{WebElement.class}, (p, m, a) -> {
+                        if ("getText".equals(m.getName())) {
+                            if (staleCalls.getAndDecrement() > 0) {
+                                throw new StaleElementReferenceException("stale element reference");
+                            }
+                            return "element-" + generation;
+                        }
+                        return null;
+                    });
+                return "findElements".equals(method.getName()) ? List.of(element, element) : element;
+            });
+    }
+
+    @Test
+    @DisplayName("Поле ищется один раз, повторные обращения берутся из кэша")
+    public void testCachedLookup() {
+        LoginForm page = new LoginForm();
+        PageFactory.initElements(new CachingFieldDecorator(fakePage()), page);
+
+        assertEquals("element-1", page.username.getText());
+        page.username.click();
+        page.username.sendKeys("standard_user");
+
+        assertEquals(1, finds.get());
+        assertEquals(1, CachingFieldDecorator.getLookups());
+        assertEquals(2, CachingFieldDecorator.getCacheHits());
+    }
+
+    @Test
+    @DisplayName("Устаревший элемент ищется заново, вызов повторяется один раз")
+    public void testStaleRetry() {
+        LoginForm page = new LoginForm();
+        PageFactory.initElements(new CachingFieldDecorator(fakePage()), page);
+        page.username.click();
+        staleCalls.set(1);
+
+        assertEquals("element-2", page.username.getText());
+        assertEquals(1, CachingFieldDecorator.getStaleRetries());
+
+        staleCalls.set(2);
+        assertThrows(StaleElementReferenceException.class, () -> page.username.getText());
+    }
+
+    @Test
+    @DisplayName("Списки ищутся при каждом обращении")
+    public void testListsAreNotCached() {
+        LoginForm page = new LoginForm();
+        PageFactory.initElements(new CachingFieldDecorator(fakePage()), page);
+
+        assertEquals(2, page.items.size());
+        assertEquals(2, page.items.size());
+        assertEquals(2, finds.get());
+    }
+}
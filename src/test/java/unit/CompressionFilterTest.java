@@ -0,0 +1,115 @@
+package unit;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.CompressionFilter;
+import utils.PayloadMetrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для CompressionFilter на локальном HTTP сервере
+ */
+@DisplayName("Тесты фильтра сжатия")
+public class CompressionFilterTest {
+
+    private static final String BODY = "[" + "{\"id\":1,\"title\":\"compressible payload\"},".repeat(200) + "{\"id\":2}]";
+
+    private static HttpServer server;
+    private static String baseUrl;
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/gzip", exchange -> {
+            byte[] body = gzip(BODY.getBytes(StandardCharsets.UTF_8));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().add("X-Accept-Encoding", String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding")));
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/plain", exchange -> {
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    @BeforeEach
+    public void resetMetrics() {
+        PayloadMetrics.reset();
+    }
+
+    @Test
+    @DisplayName("Сжатый ответ распаковывается и учитывается в метриках")
+    public void testGzipResponseIsDecodedAndMeasured() {
+        Response response = given()
+            .filter(new CompressionFilter("gzip, deflate, br"))
+            .when()
+            .get(baseUrl + "/gzip");
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(BODY, response.asString(), "Тело должно быть распаковано");
+        assertEquals(2, response.jsonPath().getInt("[-1].id"));
+        assertEquals("gzip, deflate, br", response.getHeader("X-Accept-Encoding"),
+            "Фильтр должен отправлять Accept-Encoding");
+
+        PayloadMetrics.EndpointStats stats = PayloadMetrics.get("GET /gzip");
+        assertNotNull(stats, "Метрики эндпоинта должны быть записаны");
+        assertEquals(1, stats.getCompressedResponses());
+        assertEquals(BODY.length(), stats.getDecodedBytes());
+        assertTrue(stats.getWireBytes() < stats.getDecodedBytes(), "По проводу должно прийти меньше байт");
+        assertTrue(stats.getSavingsRatio() > 0.5, "Повторяющийся JSON должен хорошо сжиматься");
+    }
+
+    @Test
+    @DisplayName("Несжатый ответ учитывается как identity")
+    public void testPlainResponseIsMeasured() {
+        Response response = given()
+            .filter(new CompressionFilter("gzip"))
+            .when()
+            .get(baseUrl + "/plain");
+
+        assertEquals(BODY, response.asString());
+
+        PayloadMetrics.EndpointStats stats = PayloadMetrics.get("GET /plain");
+        assertNotNull(stats);
+        assertEquals(0, stats.getCompressedResponses());
+        assertEquals(stats.getWireBytes(), stats.getDecodedBytes());
+        assertEquals(1L, stats.getEncodings().get("identity"));
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,101 @@
+package unit;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.ConnectionPrewarmer;
+import utils.PinnedDnsResolver;
+import utils.ResilientHttpClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для ConnectionPrewarmer и PinnedDnsResolver на локальном HTTP сервере
+ */
+@DisplayName("Тесты прогрева соединений")
+// Пул соединений RestAssured 5 построен на устаревшем API HttpClient 4
+@SuppressWarnings("deprecation")
+public class ConnectionPrewarmerTest {
+
+    private static final String PINNED_HOST = "prewarm.test";
+
+    private static HttpServer server;
+    private static int port;
+    private static final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "{}".getBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        port = server.getAddress().getPort();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Закрепленный хост разрешается в адрес из конфигурации")
+    public void testPinnedHostResolution() throws Exception {
+        PinnedDnsResolver resolver = new PinnedDnsResolver(Map.of(PINNED_HOST, "127.0.0.1"));
+
+        InetAddress[] addresses = resolver.resolve(PINNED_HOST);
+
+        assertEquals(1, addresses.length);
+        assertEquals("127.0.0.1", addresses[0].getHostAddress());
+        assertEquals(PINNED_HOST, addresses[0].getHostName(), "Имя хоста должно сохраняться для SNI");
+        assertTrue(resolver.isCached(PINNED_HOST));
+        assertSame(addresses, resolver.resolve(PINNED_HOST), "Повторное разрешение должно браться из кэша");
+    }
+
+    @Test
+    @DisplayName("Прогретые соединения переиспользуются запросами")
+    public void testPrewarmedConnectionsAreReused() {
+        clientPorts.clear();
+        PinnedDnsResolver resolver = new PinnedDnsResolver(Map.of(PINNED_HOST, "127.0.0.1"));
+        PoolingClientConnectionManager manager = ConnectionPrewarmer.createConnectionManager(resolver, 10);
+        String baseUrl = "http://" + PINNED_HOST + ":" + port;
+
+        ConnectionPrewarmer.PrewarmReport report = ConnectionPrewarmer.prewarm(baseUrl, "/posts/1", 3, manager, resolver);
+
+        assertTrue(report.isSuccessful(), report.toString());
+        assertEquals(3, report.getConnectMs().size());
+        assertTrue(report.getPooledConnections() >= 1, report.toString());
+        int warmConnections = clientPorts.size();
+
+        // Клиенты на общем пуле, как в BaseApiTest
+        RestAssuredConfig config = RestAssured.config().httpClient(HttpClientConfig.httpClientConfig()
+            .httpClientFactory(() -> new ResilientHttpClient(manager)));
+        for (int i = 0; i < 5; i++) {
+            given().config(config).when().get(baseUrl + "/posts").then().statusCode(200);
+        }
+
+        assertEquals(warmConnections, clientPorts.size(), "Запросы не должны открывать новые соединения");
+        manager.shutdown();
+    }
+}
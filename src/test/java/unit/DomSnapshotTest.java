@@ -0,0 +1,85 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import utils.DomSnapshot;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для снимка DOM за один executeScript
+ */
+@DisplayName("Тесты снимка DOM")
+public class DomSnapshotTest {
+
+    private static FakeBrowser fakeBrowser(List<Map<String, Object>> rows) {
+        return new FakeBrowser(JavascriptExecutor.class).on("executeScript", args -> rows);
+    }
+
+    private static Map<String, Object> row(String name, String price, String button) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("name", name);
+        row.put("price", price);
+        row.put("button", button);
+        return row;
+    }
+
+    @Test
+    @DisplayName("Все строки и поля читаются одним вызовом")
+    public void testSingleRoundTrip() {
+        FakeBrowser browser = fakeBrowser(List.of(
+            row("Sauce Labs Backpack", "$29.99", "Add to cart"),
+            row("Sauce Labs Bike Light", "$9.99", "Remove")));
+
+        List<DomSnapshot.Row> rows = DomSnapshot.of(browser.driver(), By.className("inventory_item"))
+            .text("name", By.className("inventory_item_name"))
+            .text("price", By.cssSelector(".inventory_item_price"))
+            .attribute("button", By.xpath(".//button"), "id")
+            .read();
+
+        List<Object[]> scripts = browser.scriptArgs("executeScript");
+        assertEquals(1, scripts.size());
+        assertEquals(List.of("css", "[class~=\"inventory_item\"]"), scripts.get(0)[0]);
+        List<?> fields = (List<?>) scripts.get(0)[1];
+        assertEquals(3, fields.size());
+        assertEquals("xpath", ((Map<?, ?>) fields.get(2)).get("using"));
+        assertEquals("id", ((Map<?, ?>) fields.get(2)).get("attribute"));
+
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.get(1).getIndex());
+        assertEquals("Sauce Labs Bike Light", rows.get(1).getString("name"));
+        assertEquals(new BigDecimal("9.99"), rows.get(1).getNumber("price"));
+    }
+
+    @Test
+    @DisplayName("Строки преобразуются в модели, отсутствующие поля дают null")
+    public void testMapping() {
+        WebDriver driver = fakeBrowser(List.of(row("Sauce Labs Onesie", null, "Remove"))).driver();
+
+        List<String> names = DomSnapshot.of(driver, By.className("cart_item"))
+            .text("name", By.className("inventory_item_name"))
+            .read(r -> r.getString("name") + ":" + r.getNumber("price"));
+
+        assertEquals(List.of("Sauce Labs Onesie:null"), names);
+    }
+
+    @Test
+    @DisplayName("Поле без локатора относится к самой строке; неподдерживаемый локатор отклоняется сразу")
+    public void testRowFieldAndUnsupportedLocator() {
+        FakeBrowser browser = fakeBrowser(List.of());
+        WebDriver driver = browser.driver();
+        DomSnapshot.of(driver, By.className("inventory_item_name")).text("name", null).read();
+
+        assertFalse(((Map<?, ?>) ((List<?>) browser.scriptArgs("executeScript").get(0)[1]).get(0)).containsKey("using"));
+        assertThrows(IllegalArgumentException.class,
+            () -> DomSnapshot.of(driver, By.linkText("Checkout")).text("name", null));
+    }
+}
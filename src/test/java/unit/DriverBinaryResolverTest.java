@@ -0,0 +1,128 @@
+package unit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.DriverBinaryResolver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для DriverBinaryResolver с фейковым загрузчиком
+ */
+@DisplayName("Тесты кэша драйверов браузеров")
+public class DriverBinaryResolverTest {
+
+    private static final long DAY_MS = 24 * 3_600_000L;
+
+    @TempDir
+    Path cacheDir;
+
+    private final AtomicInteger downloads = new AtomicInteger();
+
+    @AfterEach
+    public void clearDriverProperties() {
+        // Фейковые пути не должны попасть в UI тесты того же JVM
+        System.clearProperty("webdriver.chrome.driver");
+        System.clearProperty("webdriver.gecko.driver");
+        System.clearProperty("webdriver.edge.driver");
+    }
+
+    private DriverBinaryResolver.ResolvedDriver fakeDownload(String browser, Path dir) throws IOException {
+        downloads.incrementAndGet();
+        Path binary = Files.writeString(dir.resolve(browser + "driver-" + downloads.get()), "binary");
+        return new DriverBinaryResolver.ResolvedDriver(browser, binary.toString(), "120.0." + downloads.get(), false);
+    }
+
+    @Test
+    @DisplayName("Драйвер загружается один раз за JVM и выставляет системное свойство")
+    public void testResolvedOncePerJvm() {
+        DriverBinaryResolver resolver = new DriverBinaryResolver(cacheDir, false, DAY_MS, this::fakeDownload);
+
+        DriverBinaryResolver.ResolvedDriver first = resolver.setup("chrome");
+        DriverBinaryResolver.ResolvedDriver second = resolver.setup("chrome");
+
+        assertSame(first, second);
+        assertEquals(1, downloads.get());
+        assertEquals(first.getPath(), System.getProperty("webdriver.chrome.driver"));
+    }
+
+    @Test
+    @DisplayName("Другой процесс берет драйвер из манифеста кэша")
+    public void testManifestIsSharedBetweenResolvers() {
+        new DriverBinaryResolver(cacheDir, false, DAY_MS, this::fakeDownload).setup("firefox");
+
+        DriverBinaryResolver.ResolvedDriver fromCache =
+            new DriverBinaryResolver(cacheDir, false, DAY_MS, this::fakeDownload).setup("firefox");
+
+        assertEquals(1, downloads.get());
+        assertTrue(fromCache.isFromCache());
+        assertEquals("120.0.1", fromCache.getVersion());
+    }
+
+    @Test
+    @DisplayName("Офлайн режим использует устаревший кэш и не ходит в сеть")
+    public void testOfflineUsesExpiredCache() throws IOException {
+        new DriverBinaryResolver(cacheDir, false, DAY_MS, this::fakeDownload).setup("edge");
+        Files.setLastModifiedTime(cacheDir.resolve("edge-driver.properties"),
+            FileTime.fromMillis(System.currentTimeMillis() - 2 * DAY_MS));
+
+        DriverBinaryResolver.ResolvedDriver offline = new DriverBinaryResolver(cacheDir, true, DAY_MS,
+            (browser, dir) -> fail("Офлайн режим не должен загружать драйвер")).setup("edge");
+
+        assertTrue(offline.isFromCache());
+        assertEquals(1, downloads.get());
+    }
+
+    @Test
+    @DisplayName("Офлайн режим без кэша падает с понятной ошибкой")
+    public void testOfflineWithoutCacheFails() {
+        DriverBinaryResolver resolver = new DriverBinaryResolver(cacheDir, true, DAY_MS, this::fakeDownload);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> resolver.setup("chrome"));
+        assertTrue(error.getMessage().contains("Офлайн"), error.getMessage());
+        assertEquals(0, downloads.get());
+    }
+
+    @Test
+    @DisplayName("Устаревший кэш используется, если обновление не удалось")
+    public void testStaleCacheOnDownloadFailure() throws IOException {
+        new DriverBinaryResolver(cacheDir, false, DAY_MS, this::fakeDownload).setup("chrome");
+        Files.setLastModifiedTime(cacheDir.resolve("chrome-driver.properties"),
+            FileTime.fromMillis(System.currentTimeMillis() - 2 * DAY_MS));
+
+        DriverBinaryResolver.ResolvedDriver driver = new DriverBinaryResolver(cacheDir, false, DAY_MS,
+            (browser, dir) -> {
+                throw new IOException("network unreachable");
+            }).setup("chrome");
+
+        assertTrue(driver.isFromCache());
+    }
+
+    @Test
+    @DisplayName("Параллельные потоки загружают драйвер один раз")
+    public void testConcurrentSetupDownloadsOnce() throws Exception {
+        DriverBinaryResolver resolver = new DriverBinaryResolver(cacheDir, false, DAY_MS, this::fakeDownload);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> resolver.setup("chrome"));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, downloads.get());
+        assertEquals(1, resolver.getDownloadCount());
+    }
+}
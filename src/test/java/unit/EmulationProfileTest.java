@@ -0,0 +1,73 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.chromium.HasCdp;
+import utils.EmulationProfile;
+import utils.WebVitals;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для профилей эмуляции сети, CPU и устройства
+ */
+@DisplayName("Тесты профилей эмуляции")
+public class EmulationProfileTest {
+
+    @Test
+    @DisplayName("Мобильный профиль включает троттлинг сети, CPU и метрики устройства")
+    public void testApplyMobile() {
+        FakeBrowser chrome = new FakeBrowser(HasCdp.class);
+        assertTrue(EmulationProfile.of("mobile").apply(chrome.driver()));
+
+        assertEquals(List.of("Network.enable", "Network.emulateNetworkConditions", "Emulation.setCPUThrottlingRate",
+            "Emulation.setDeviceMetricsOverride", "Emulation.setTouchEmulationEnabled", "Emulation.setUserAgentOverride"), chrome.commands());
+        List<Map<String, Object>> params = chrome.params();
+        assertEquals(150, params.get(1).get("latency"));
+        assertEquals(200_000, params.get(1).get("downloadThroughput"), "1600 кбит/с = 200000 байт/с");
+        assertEquals(4.0, params.get(2).get("rate"));
+        assertEquals(412, params.get(3).get("width"));
+        assertEquals(true, params.get(3).get("mobile"));
+    }
+
+    @Test
+    @DisplayName("Профиль без устройства не меняет экран; сброс возвращает исходный user agent")
+    public void testNetworkOnlyAndReset() {
+        FakeBrowser chrome = new FakeBrowser(HasCdp.class);
+        EmulationProfile.of("slow-3g").apply(chrome.driver());
+        assertFalse(chrome.commands().contains("Emulation.setDeviceMetricsOverride"));
+        assertEquals(-1, EmulationProfile.of("desktop").networkConditions().get("downloadThroughput"));
+
+        chrome.reset();
+        EmulationProfile.reset(chrome.driver(), "Mozilla/5.0 original");
+        List<String> commands = chrome.commands();
+        List<Map<String, Object>> params = chrome.params();
+
+        assertTrue(commands.contains("Emulation.clearDeviceMetricsOverride"));
+        assertEquals(1, params.get(commands.indexOf("Emulation.setCPUThrottlingRate")).get("rate"));
+        assertEquals("Mozilla/5.0 original", params.get(commands.indexOf("Emulation.setUserAgentOverride")).get("userAgent"));
+    }
+
+    @Test
+    @DisplayName("Режимы из test_configurations.json сопоставляются профилям, неизвестное имя - ошибка")
+    public void testLookup() {
+        assertEquals("desktop", EmulationProfile.of("Headless").getName());
+        assertEquals("tablet", EmulationProfile.of("tablet").getName());
+        assertThrows(IllegalArgumentException.class, () -> EmulationProfile.of("satellite"));
+        assertFalse(EmulationProfile.of("cpu-4x").apply(new FakeBrowser().driver()));
+    }
+
+    @Test
+    @DisplayName("Метрики страницы под профилем агрегируются отдельно")
+    public void testVitalsPerProfile() {
+        WebVitals.PageMetrics plain = new WebVitals.PageMetrics("https://www.saucedemo.com/inventory.html", Map.of("loadMs", 300.0));
+        WebVitals.PageMetrics throttled = new WebVitals.PageMetrics("https://www.saucedemo.com/inventory.html", "slow-3g", Map.of("loadMs", 9000.0));
+
+        assertEquals("www.saucedemo.com/inventory.html", plain.getPage());
+        assertEquals("[slow-3g] www.saucedemo.com/inventory.html", throttled.getPage());
+        assertEquals("slow-3g", throttled.getProfile());
+    }
+}
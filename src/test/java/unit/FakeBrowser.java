@@ -0,0 +1,225 @@
+package unit;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Фейковый браузер для unit тестов: WebDriver с нужными возможностями (JavascriptExecutor, HasCdp),
+ * ответами по имени метода или команды CDP и журналом вызовов.
+ * Вложенные объекты Selenium (Options, TargetLocator, WebElement и т.д.) тоже фейковые и пишут в тот же журнал.
+ */
+public final class FakeBrowser {
+
+    /**
+     * Ответ на вызов метода
+     */
+    @FunctionalInterface
+    public interface Answer {
+        Object answer(Object[] args) throws Throwable;
+    }
+
+    /**
+     * Запись о вызове: имя метода и аргументы
+     */
+    private static final class Call {
+        final String method;
+        final Object[] args;
+
+        Call(String method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+    }
+
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final String CDP = "executeCdpCommand";
+
+    private final Map<String, Answer> answers = new ConcurrentHashMap<>();
+    private final Map<String, Function<Map<String, Object>, Object>> cdpAnswers = new ConcurrentHashMap<>();
+    private final List<Call> calls = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicBoolean dead = new AtomicBoolean();
+    private final WebDriver driver;
+
+    /**
+     * @param capabilities интерфейсы сверх WebDriver, например JavascriptExecutor.class или HasCdp.class
+     */
+    public FakeBrowser(Class<?>... capabilities) {
+        Class<?>[] interfaces = new Class<?>[capabilities.length + 1];
+        interfaces[0] = WebDriver.class;
+        System.arraycopy(capabilities, 0, interfaces, 1, capabilities.length);
+        driver = (WebDriver) proxy(interfaces);
+    }
+
+    /**
+     * Ответ на вызов метода с заданным именем у драйвера или вложенных объектов
+     */
+    public FakeBrowser on(String method, Answer answer) {
+        answers.put(method, answer);
+        return this;
+    }
+
+    /**
+     * Ответ на команду CDP; команды без ответа возвращают пустой результат
+     */
+    public FakeBrowser onCdp(String command, Function<Map<String, Object>, Object> answer) {
+        cdpAnswers.put(command, answer);
+        return this;
+    }
+
+    public WebDriver driver() {
+        return driver;
+    }
+
+    /**
+     * Сессия «умирает»: любой вызов, кроме hashCode/equals/toString, бросает WebDriverException
+     */
+    public void kill() {
+        dead.set(true);
+    }
+
+    /**
+     * Имена вызванных методов по порядку
+     */
+    public List<String> calls() {
+        synchronized (calls) {
+            List<String> names = new ArrayList<>();
+            calls.forEach(call -> names.add(call.method));
+            return names;
+        }
+    }
+
+    public int count(String method) {
+        return invocations(method).size();
+    }
+
+    /**
+     * Аргументы всех вызовов метода по порядку
+     */
+    public List<Object[]> invocations(String method) {
+        synchronized (calls) {
+            List<Object[]> result = new ArrayList<>();
+            calls.stream().filter(call -> call.method.equals(method)).forEach(call -> result.add(call.args));
+            return result;
+        }
+    }
+
+    /**
+     * Тексты скриптов executeScript
+     */
+    public List<String> scripts() {
+        List<String> scripts = new ArrayList<>();
+        invocations("executeScript").forEach(args -> scripts.add((String) args[0]));
+        return scripts;
+    }
+
+    /**
+     * Аргументы, переданные скриптам executeScript или executeAsyncScript
+     */
+    public List<Object[]> scriptArgs(String method) {
+        List<Object[]> result = new ArrayList<>();
+        invocations(method).forEach(args -> result.add((Object[]) args[1]));
+        return result;
+    }
+
+    /**
+     * Команды CDP по порядку
+     */
+    public List<String> commands() {
+        List<String> commands = new ArrayList<>();
+        invocations(CDP).forEach(args -> commands.add((String) args[0]));
+        return commands;
+    }
+
+    /**
+     * Параметры команд CDP в порядке {@link #commands()}
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> params() {
+        List<Map<String, Object>> params = new ArrayList<>();
+        invocations(CDP).forEach(args -> params.add((Map<String, Object>) args[1]));
+        return params;
+    }
+
+    /**
+     * Адреса переходов driver.get
+     */
+    public List<String> visited() {
+        List<String> urls = new ArrayList<>();
+        invocations("get").forEach(args -> urls.add((String) args[0]));
+        return urls;
+    }
+
+    /**
+     * Очищает журнал вызовов, ответы сохраняются
+     */
+    public void reset() {
+        calls.clear();
+    }
+
+    private Object proxy(Class<?>[] interfaces) {
+        return Proxy.newProxyInstance(FakeBrowser.class.getClassLoader(), interfaces, this::invoke);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "FakeBrowser";
+            default:
+                break;
+        }
+        if (dead.get()) {
+            throw new WebDriverException("session deleted");
+        }
+        Object[] actual = args == null ? NO_ARGS : args;
+        calls.add(new Call(name, actual));
+
+        Answer answer = answers.get(name);
+        if (answer != null) {
+            return answer.answer(actual);
+        }
+        if (CDP.equals(name) && proxy instanceof HasCdp) {
+            Function<Map<String, Object>, Object> cdp = cdpAnswers.get((String) actual[0]);
+            return cdp == null ? Map.of() : cdp.apply((Map<String, Object>) actual[1]);
+        }
+        return defaultValue(method.getReturnType());
+    }
+
+    /**
+     * Значение по умолчанию: сам драйвер (switchTo().window), фейк вложенного объекта Selenium или пустое значение
+     */
+    private Object defaultValue(Class<?> type) {
+        if (type == WebDriver.class) {
+            return driver;
+        }
+        if (type.isInterface() && type.getName().startsWith("org.openqa.selenium.")) {
+            return proxy(new Class<?>[]{type});
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
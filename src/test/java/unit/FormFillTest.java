@@ -0,0 +1,70 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import utils.FormFill;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для заполнения формы за один вызов скрипта
+ */
+@DisplayName("Тесты заполнения формы")
+public class FormFillTest {
+
+    private static FakeBrowser fakeBrowser(List<String> missing) {
+        return new FakeBrowser(JavascriptExecutor.class).on("executeScript", args -> missing);
+    }
+
+    @Test
+    @DisplayName("Все поля заполняются одним executeScript, null пропускается")
+    public void testSingleScript() {
+        FakeBrowser browser = fakeBrowser(List.of());
+        FormFill.of(browser.driver())
+            .set(By.id("first-name"), "John")
+            .set(By.id("last-name"), null)
+            .set(By.cssSelector("#postal-code"), "12345")
+            .apply();
+
+        assertEquals(List.of("executeScript"), browser.calls());
+        List<?> fields = (List<?>) browser.scriptArgs("executeScript").get(0)[0];
+        assertEquals(2, fields.size());
+        Map<?, ?> first = (Map<?, ?>) fields.get(0);
+        assertEquals("[id=\"first-name\"]", first.get("value"));
+        assertEquals("John", first.get("text"));
+        assertEquals("#postal-code", ((Map<?, ?>) fields.get(1)).get("value"));
+    }
+
+    @Test
+    @DisplayName("Строгий режим вводит текст по каждому полю через WebDriver")
+    public void testStrictMode() {
+        FakeBrowser browser = fakeBrowser(List.of());
+        FormFill.of(browser.driver())
+            .set(By.id("user-name"), "standard_user")
+            .set(By.id("password"), "secret_sauce")
+            .strict(true)
+            .apply();
+
+        assertEquals(List.of("findElement", "clear", "sendKeys", "findElement", "clear", "sendKeys"), browser.calls());
+        List<Object[]> typed = browser.invocations("sendKeys");
+        assertArrayEquals(new CharSequence[]{"standard_user"}, (CharSequence[]) typed.get(0)[0]);
+        assertArrayEquals(new CharSequence[]{"secret_sauce"}, (CharSequence[]) typed.get(1)[0]);
+    }
+
+    @Test
+    @DisplayName("Отсутствующее поле и неподдерживаемый локатор дают ошибку")
+    public void testMissingFieldAndUnsupportedLocator() {
+        WebDriver driver = fakeBrowser(List.of("By.id: zip")).driver();
+
+        assertThrows(NoSuchElementException.class, () -> FormFill.of(driver).set(By.id("zip"), "1").apply());
+        assertThrows(IllegalArgumentException.class,
+            () -> FormFill.of(driver).set(By.linkText("Continue"), "1").apply());
+    }
+}
@@ -0,0 +1,107 @@
+package unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import utils.LocatorProfiler;
+import utils.Locators;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для профиля стоимости локаторов и быстрых локаторов
+ */
+@DisplayName("Тесты профиля локаторов")
+public class LocatorProfilerTest {
+
+    private static final By SLOW = By.xpath("//button[contains(text(), 'Add to cart')]");
+    private static final By FAST = Locators.dataTestPrefix("add-to-cart");
+
+    @BeforeEach
+    public void reset() {
+        LocatorProfiler.reset();
+    }
+
+    private SearchContext fakePage() {
+        WebElement element = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{WebElement.class}, (proxy, method, args) -> null);
+        return (SearchContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{SearchContext.class}, (proxy, method, args) -> {
+                By locator = (By) args[0];
+                if ("findElements".equals(method.getName())) {
+                    return locator.equals(FAST) ? List.of(element, element) : List.of();
+                }
+                if (locator.equals(SLOW)) {
+                    Thread.sleep(20);
+                    throw new NoSuchElementException("not found");
+                }
+                return element;
+            });
+    }
+
+    @Test
+    @DisplayName("Вызовы, попадания и промахи считаются по каждому локатору")
+    public void testHitsAndMisses() {
+        SearchContext page = fakePage();
+
+        LocatorProfiler.find(page, FAST);
+        LocatorProfiler.findAll(page, FAST);
+        LocatorProfiler.findAll(page, By.id("missing"));
+        assertThrows(NoSuchElementException.class, () -> LocatorProfiler.find(page, SLOW));
+
+        assertEquals(2, LocatorProfiler.get(FAST).getCalls());
+        assertEquals(2, LocatorProfiler.get(FAST).getHits());
+        assertEquals(1, LocatorProfiler.get(By.id("missing")).getMisses());
+        assertEquals(1, LocatorProfiler.get(SLOW).getMisses());
+        assertTrue(LocatorProfiler.get(SLOW).getMaxMs() >= 20);
+    }
+
+    @Test
+    @DisplayName("Отчет начинается с самого дорогого локатора и помечает XPath по тексту")
+    public void testReportOrder() {
+        SearchContext page = fakePage();
+        LocatorProfiler.find(page, FAST);
+        assertThrows(NoSuchElementException.class, () -> LocatorProfiler.find(page, SLOW));
+
+        assertEquals(SLOW.toString(), LocatorProfiler.getAll().get(0).getLocator());
+        assertTrue(LocatorProfiler.get(SLOW).isTextXPath());
+        assertFalse(LocatorProfiler.get(FAST).isTextXPath());
+        String report = LocatorProfiler.report(1);
+        assertTrue(report.contains("(2 locators)"));
+        assertFalse(report.contains(FAST + ":"));
+        assertTrue(report.contains("XPath по тексту"));
+    }
+
+    @Test
+    @DisplayName("Отчет прогона пишется в файл и называет непокрытые поиски")
+    public void testRunReportFile(@TempDir Path dir) throws Exception {
+        LocatorProfiler.find(fakePage(), FAST);
+        Path file = dir.resolve("reports/locator-profile.txt");
+
+        LocatorProfiler.writeReport(file, 5);
+
+        String report = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertTrue(report.contains(FAST + ":"));
+        assertTrue(report.contains("Element lookups:"));
+        assertTrue(report.contains("промах кэша"), "Отчет должен говорить, что попадания кэша @FindBy не профилируются");
+    }
+
+    @Test
+    @DisplayName("Быстрые локаторы строятся по data-test и id")
+    public void testFastLocators() {
+        assertEquals(By.cssSelector("[data-test=\"product-sort-container\"]"), Locators.dataTest("product-sort-container"));
+        assertEquals(By.cssSelector("[data-test^=\"remove\"]"), Locators.dataTestPrefix("remove"));
+        assertEquals(By.cssSelector("[id=\"checkout\"], [data-test=\"checkout\"]"), Locators.idOrDataTest("checkout"));
+    }
+}
@@ -0,0 +1,88 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import utils.MemorySoak;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для soak режима и поиска утечек памяти
+ */
+@DisplayName("Тесты поиска утечек памяти")
+public class MemorySoakTest {
+
+    /**
+     * Фейковая вкладка: каждая итерация сценария оставляет leakBytes в heap и leakNodes узлов
+     */
+    private static FakeBrowser fakeTab(int[] iteration, double leakBytes, int leakNodes) {
+        // Шум сборщика мусора, чтобы тренд строился не по идеальной прямой
+        return new FakeBrowser(HasCdp.class)
+            .onCdp("Runtime.getHeapUsage", params -> Map.of(
+                "usedSize", 4_000_000 + iteration[0] * leakBytes + (iteration[0] % 3 - 1) * 20_000, "totalSize", 8_000_000))
+            .onCdp("Memory.getDOMCounters", params -> Map.of(
+                "documents", 1, "nodes", 500 + iteration[0] * leakNodes, "jsEventListeners", 120));
+    }
+
+    @Test
+    @DisplayName("Устойчивый рост heap и DOM отмечается как утечка")
+    public void testLeakDetected() {
+        int[] iteration = {0};
+        FakeBrowser tab = fakeTab(iteration, 200_000, 12);
+        MemorySoak soak = new MemorySoak(tab.driver(), 2, 32 * 1024, 1, 1, 0.6);
+
+        MemorySoak.SoakResult result = soak.run(20, i -> iteration[0] = i);
+
+        assertEquals(21, result.getSamples().size(), "Замер до первой итерации и после каждой");
+        assertEquals(List.of("HeapProfiler.collectGarbage", "Runtime.getHeapUsage", "Memory.getDOMCounters"), tab.commands().subList(0, 3));
+        assertEquals(List.of(MemorySoak.HEAP, MemorySoak.NODES), result.getSuspectedLeaks());
+        assertEquals(12, result.getTrend(MemorySoak.NODES).getSlope(), 1e-9);
+        assertEquals(200_000, result.getTrend(MemorySoak.HEAP).getSlope(), 5_000);
+        assertFalse(result.getTrend(MemorySoak.LISTENERS).isLeak());
+
+        AssertionError e = assertThrows(AssertionError.class, () -> result.assertNoLeaks("cart add/remove"));
+        assertTrue(e.getMessage().startsWith("[MEMORY LEAK] cart add/remove: jsHeapUsedBytes +"));
+        assertTrue(result.report().contains("LEAK domNodes"));
+        assertTrue(result.toCsv().startsWith("iteration,jsHeapUsedBytes,domNodes,jsEventListeners\n0,"));
+    }
+
+    @Test
+    @DisplayName("Шум без тренда и рост только в прогреве утечкой не считаются")
+    public void testNoLeak() {
+        int[] iteration = {0};
+        MemorySoak soak = new MemorySoak(fakeTab(iteration, 0, 0).driver(), 2, 32 * 1024, 1, 1, 0.6);
+        MemorySoak.SoakResult flat = soak.run(15, i -> iteration[0] = i);
+        assertFalse(flat.hasLeaks());
+        flat.assertNoLeaks("flat");
+
+        // Кэши заполняются на первых итерациях, дальше память стабильна
+        List<MemorySoak.Sample> samples = new ArrayList<>();
+        for (int i = 0; i <= 5; i++) {
+            samples.add(new MemorySoak.Sample(i, i < 3 ? 1_000_000 * i : 3_000_000, i < 3 ? 100 * i : 300, 50));
+        }
+        assertFalse(new MemorySoak(null, 3, 32 * 1024, 1, 1, 0.6).analyze(samples).hasLeaks());
+        assertTrue(new MemorySoak(null, 0, 32 * 1024, 1, 1, 0.6).analyze(samples).hasLeaks(),
+            "Без прогрева рост первых итераций дает ложное срабатывание");
+    }
+
+    @Test
+    @DisplayName("Без CDP heap и DOM снимаются скриптом, обработчики недоступны")
+    public void testFallbackWithoutCdp() {
+        WebDriver driver = new FakeBrowser(JavascriptExecutor.class)
+            .on("executeScript", args -> Map.of("heap", 1_000_000L, "nodes", 250L))
+            .driver();
+
+        MemorySoak.SoakResult result = new MemorySoak(driver, 0, 32 * 1024, 1, 1, 0.6).run(3, i -> { });
+
+        assertEquals(250, result.getSamples().get(0).getDomNodes());
+        assertNull(result.getTrend(MemorySoak.LISTENERS));
+        assertFalse(result.hasLeaks());
+    }
+}
@@ -0,0 +1,121 @@
+package unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.NetworkRecorder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для записи HAR по событиям CDP Network
+ */
+@DisplayName("Тесты записи HAR")
+public class NetworkRecorderTest {
+
+    private static Map<String, Object> request(String id, String url, double timestamp) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("requestId", id);
+        event.put("type", "Document");
+        event.put("timestamp", timestamp);
+        event.put("wallTime", 1_700_000_000.0);
+        event.put("request", Map.of("url", url, "method", "GET", "headers", Map.of("Accept", "*/*")));
+        return event;
+    }
+
+    private static Map<String, Object> timing() {
+        Map<String, Object> timing = new HashMap<>();
+        timing.put("requestTime", 100.010);
+        timing.put("dnsStart", 0.0);
+        timing.put("dnsEnd", 5.0);
+        timing.put("connectStart", 5.0);
+        timing.put("connectEnd", 20.0);
+        timing.put("sslStart", 10.0);
+        timing.put("sslEnd", 20.0);
+        timing.put("sendStart", 21.0);
+        timing.put("sendEnd", 22.0);
+        timing.put("receiveHeadersEnd", 80.0);
+        return timing;
+    }
+
+    @Test
+    @DisplayName("Фазы HAR вычисляются из ResourceTiming")
+    public void testTimingsFromResourceTiming() {
+        NetworkRecorder recorder = new NetworkRecorder();
+        recorder.onRequestWillBeSent(request("1", "https://www.saucedemo.com/", 100.0));
+        recorder.onResponseReceived(Map.of("requestId", "1", "timestamp", 100.090,
+            "response", Map.of("status", 200, "mimeType", "text/html", "protocol", "h2", "timing", timing())));
+        recorder.onLoadingFinished(Map.of("requestId", "1", "timestamp", 100.150, "encodedDataLength", 5000));
+
+        NetworkRecorder.Entry entry = recorder.getEntries().get(0);
+        Map<String, Double> timings = entry.getTimings();
+
+        assertEquals(150.0, entry.getTimeMs(), 0.001);
+        assertEquals(5000, entry.getTransferSize());
+        assertNull(entry.getCacheStatus());
+        assertEquals(10.0, timings.get("blocked"), 0.001);
+        assertEquals(5.0, timings.get("dns"), 0.001);
+        assertEquals(15.0, timings.get("connect"), 0.001);
+        assertEquals(10.0, timings.get("ssl"), 0.001);
+        assertEquals(58.0, timings.get("wait"), 0.001);
+        assertEquals(60.0, timings.get("receive"), 0.001);
+    }
+
+    @Test
+    @DisplayName("Статус кэша, ошибки и редиректы попадают в записи")
+    public void testCacheFailureAndRedirect() {
+        NetworkRecorder recorder = new NetworkRecorder();
+        recorder.onRequestWillBeSent(request("1", "http://saucedemo.com/", 1.0));
+        Map<String, Object> redirect = request("1", "https://www.saucedemo.com/", 1.05);
+        redirect.put("redirectResponse", Map.of("status", 301, "headers", Map.of("location", "https://www.saucedemo.com/")));
+        recorder.onRequestWillBeSent(redirect);
+        recorder.onRequestWillBeSent(request("2", "https://www.saucedemo.com/static/js/main.js", 1.1));
+        recorder.onServedFromCache(Map.of("requestId", "2"));
+        recorder.onLoadingFinished(Map.of("requestId", "2", "timestamp", 1.101, "encodedDataLength", 0));
+        recorder.onRequestWillBeSent(request("3", "https://events.backtrace.io/api", 1.2));
+        recorder.onLoadingFailed(Map.of("requestId", "3", "timestamp", 1.3, "errorText", "net::ERR_BLOCKED_BY_CLIENT"));
+
+        List<NetworkRecorder.Entry> entries = recorder.getEntries();
+
+        assertEquals(4, entries.size());
+        assertEquals(301, entries.get(0).getStatus());
+        assertEquals(50.0, entries.get(0).getTimeMs(), 0.001);
+        assertEquals("memory", entries.get(2).getCacheStatus());
+        assertEquals("net::ERR_BLOCKED_BY_CLIENT", entries.get(3).getError());
+        String summary = recorder.summary(2);
+        assertTrue(summary.contains("Requests: 4"), summary);
+        assertTrue(summary.contains("failed: 1"), summary);
+    }
+
+    @Test
+    @DisplayName("HAR содержит обязательные поля формата 1.2")
+    public void testHarStructure() throws Exception {
+        NetworkRecorder recorder = new NetworkRecorder();
+        recorder.onRequestWillBeSent(request("1", "https://www.saucedemo.com/", 100.0));
+        recorder.onResponseReceived(Map.of("requestId", "1", "timestamp", 100.090,
+            "response", Map.of("status", 200, "statusText", "OK", "mimeType", "text/html", "timing", timing())));
+        recorder.onLoadingFinished(Map.of("requestId", "1", "timestamp", 100.150, "encodedDataLength", 5000));
+
+        JsonNode har = new ObjectMapper().readTree(recorder.toHarBytes());
+        JsonNode entry = har.path("log").path("entries").get(0);
+
+        assertEquals("1.2", har.path("log").path("version").asText());
+        assertEquals("https://www.saucedemo.com/", entry.path("request").path("url").asText());
+        assertEquals(200, entry.path("response").path("status").asInt());
+        assertEquals(5000, entry.path("response").path("bodySize").asLong());
+        assertEquals("network", entry.path("_cacheStatus").asText());
+        assertTrue(entry.path("startedDateTime").asText().startsWith("2023-11-14T"));
+        assertTrue(entry.path("timings").has("wait"));
+    }
+
+    @Test
+    @DisplayName("Браузер без DevTools не записывается")
+    public void testNonDevToolsDriverIsSkipped() {
+        assertFalse(new NetworkRecorder().attach(new FakeBrowser().driver()));
+    }
+}
@@ -0,0 +1,110 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.ParameterSweepExecutor;
+import utils.SweepReport;
+import utils.TestDataProvider;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для ParameterSweepExecutor
+ */
+@DisplayName("Тесты параллельного прогона данных")
+public class ParameterSweepExecutorTest {
+
+    @Test
+    @DisplayName("Параллелизм не превышает заданный лимит")
+    public void testParallelismIsBounded() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        SweepReport report = new ParameterSweepExecutor(4).run("bounded", TestDataProvider.getIdRange(1, 40), row -> {
+            int current = active.incrementAndGet();
+            maxActive.accumulateAndGet(current, Math::max);
+            Thread.sleep(10);
+            active.decrementAndGet();
+        });
+
+        assertTrue(report.allPassed());
+        assertEquals(40, report.getTotal());
+        assertTrue(maxActive.get() <= 4, "Одновременно выполнялось " + maxActive.get() + " проверок");
+        assertTrue(maxActive.get() > 1, "Проверки должны выполняться параллельно");
+    }
+
+    @Test
+    @DisplayName("Падения строк собираются в один отчет")
+    public void testFailuresAreAggregated() {
+        SweepReport report = new ParameterSweepExecutor(8).run("failures", TestDataProvider.getIdRange(1, 10), row -> {
+            int id = (int) row[0];
+            assertNotEquals(0, id % 3, "id кратен 3: " + id);
+        });
+
+        assertFalse(report.allPassed());
+        assertEquals(3, report.getFailures().size());
+        assertEquals(7, report.getPassedCount());
+        assertEquals(2, report.getFailures().get(0).getIndex(), "Порядок строк должен сохраняться");
+
+        AssertionError error = assertThrows(AssertionError.class, report::assertAllPassed);
+        assertTrue(error.getMessage().contains("3 из 10"), error.getMessage());
+        assertEquals(3, error.getSuppressed().length);
+    }
+
+    @Test
+    @DisplayName("Строки CSV файла передаются в проверку, поля в кавычках сохраняют запятые")
+    public void testCsvSource() {
+        SweepReport report = new ParameterSweepExecutor(2).run("csv",
+            TestDataProvider.fromCsvResource("data/api_users.csv"),
+            row -> {
+                assertEquals(4, row.length);
+                assertTrue(((String) row[3]).contains(", "), "Адрес в кавычках - одно поле");
+            });
+
+        assertTrue(report.allPassed(), report.toString());
+        assertEquals(5, report.getTotal(), "Заголовок не считается строкой данных");
+    }
+
+    @Test
+    @DisplayName("CSV разбирается по RFC 4180: запятые, кавычки и переводы строк внутри кавычек")
+    public void testCsvQuotedFields() throws Exception {
+        String csv = "id,title,note\r\n"
+            + "1,\"Hello, world\",plain\r\n"
+            + "\r\n"
+            + "2,\"say \"\"hi\"\"\",\"two\nlines\"\n"
+            + "3,,\"\"";
+
+        List<String[]> records = TestDataProvider.parseCsv(new StringReader(csv));
+
+        assertEquals(4, records.size(), "Пустая строка пропускается");
+        assertArrayEquals(new String[]{"1", "Hello, world", "plain"}, records.get(1));
+        assertArrayEquals(new String[]{"2", "say \"hi\"", "two\nlines"}, records.get(2));
+        assertArrayEquals(new String[]{"3", "", ""}, records.get(3));
+        assertThrows(IOException.class, () -> TestDataProvider.parseCsv(new StringReader("1,\"open")));
+    }
+
+    @Test
+    @DisplayName("Строки JSON файла передаются в проверку")
+    public void testJsonSource() {
+        SweepReport report = new ParameterSweepExecutor(2).run("json",
+            TestDataProvider.fromJsonResource("data/login_data.json", "loginData", "username", "shouldLogin"),
+            row -> {
+                assertNotNull(row[0]);
+                assertInstanceOf(Boolean.class, row[1]);
+            });
+
+        assertTrue(report.allPassed(), report.toString());
+        assertTrue(report.getTotal() > 0);
+    }
+
+    @Test
+    @DisplayName("Нулевой параллелизм запрещен")
+    public void testInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new ParameterSweepExecutor(0));
+    }
+}
@@ -0,0 +1,127 @@
+package unit;
+
+import exceptions.PerformanceBudgetException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import utils.PerformanceBudget;
+import utils.PerformanceBudgets;
+import utils.WebVitals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для бюджетов производительности UI сценариев
+ */
+@DisplayName("Тесты бюджетов производительности")
+@PerformanceBudget(name = "add-to-cart", maxMs = 300)
+public class PerformanceBudgetsTest {
+
+    private final List<FakeBrowser> browsers = new ArrayList<>();
+
+    /**
+     * Фейковый браузер: асинхронный скрипт ожидания возвращает заданную длительность
+     */
+    private WebDriver fakeBrowser(Object settledMs) {
+        FakeBrowser browser = new FakeBrowser(JavascriptExecutor.class)
+            .on("executeAsyncScript", args -> settledMs)
+            .on("getCurrentUrl", args -> "https://www.saucedemo.com/inventory.html");
+        browsers.add(browser);
+        return browser.driver();
+    }
+
+    @AfterEach
+    void tearDown() {
+        PerformanceBudgets.end();
+    }
+
+    @Test
+    @DisplayName("Замер взаимодействия в пределах бюджета проходит, превышение - отдельная категория ошибки")
+    public void testInteractionBudget() {
+        PerformanceBudgets budgets = new PerformanceBudgets(Map.of("add-to-cart", 200.0), true);
+        List<String> actions = new ArrayList<>();
+
+        assertEquals(120.0, budgets.measure(fakeBrowser(120.0), "add-to-cart", "[data-test='remove-x']", () -> actions.add("click")));
+        assertEquals(List.of("executeScript", "executeAsyncScript", "getCurrentUrl"), browsers.get(0).calls());
+
+        PerformanceBudgetException e = assertThrows(PerformanceBudgetException.class,
+            () -> budgets.measure(fakeBrowser(350.0), "add-to-cart", "[data-test='remove-x']", () -> actions.add("click")));
+        assertTrue(e.getMessage().startsWith("[PERFORMANCE BUDGET] add-to-cart: 350 ms > 200 ms"));
+        assertInstanceOf(AssertionError.class, e, "Нарушение бюджета - failed, а не broken");
+        assertEquals(2, actions.size());
+        assertEquals(2, budgets.getMeasurements().size());
+        assertTrue(budgets.report().contains("FAIL add-to-cart: 350 ms (budget 200 ms)"));
+    }
+
+    @Test
+    @DisplayName("Без результата или без бюджета тест не падает; под эмуляцией замер только записывается")
+    public void testNotEnforced() {
+        PerformanceBudgets budgets = new PerformanceBudgets(Map.of("add-to-cart", 200.0), true);
+
+        assertNull(budgets.measure(fakeBrowser(null), "add-to-cart", ".x", () -> { }));
+        budgets.check("unknown-flow", 10_000, null);
+        budgets.setEnforcing(false);
+        budgets.check("add-to-cart", 900, null);
+
+        assertEquals(2, budgets.getMeasurements().size());
+        assertFalse(budgets.getMeasurements().get(1).isPassed());
+
+        PerformanceBudgets disabled = new PerformanceBudgets(Map.of("add-to-cart", 1.0), false);
+        assertNull(disabled.measure(fakeBrowser(500.0), "add-to-cart", ".x", () -> { }));
+        assertTrue(browsers.get(browsers.size() - 1).calls().isEmpty(), "Выключенные бюджеты не добавляют вызовов скриптов");
+    }
+
+    @Test
+    @DisplayName("Бюджеты навигации проверяются по метрикам страниц, чей URL содержит фрагмент")
+    public void testNavigationBudget() {
+        PerformanceBudgets budgets = new PerformanceBudgets(PerformanceBudgets.parse("lcpMs@inventory.html=1500, loadMs@cart.html=800"), true);
+
+        budgets.checkNavigation(new WebVitals.PageMetrics("https://www.saucedemo.com/inventory.html", Map.of(WebVitals.LCP, 900.0)));
+        budgets.checkNavigation(new WebVitals.PageMetrics("https://www.saucedemo.com/", Map.of(WebVitals.LCP, 5000.0)));
+        PerformanceBudgetException e = assertThrows(PerformanceBudgetException.class, () -> budgets.checkNavigation(
+            new WebVitals.PageMetrics("https://www.saucedemo.com/inventory.html", Map.of(WebVitals.LCP, 2100.0))));
+
+        assertEquals("lcpMs@inventory.html", e.getBudget());
+        assertEquals(1500.0, e.getLimitMs());
+        assertEquals(2, budgets.getMeasurements().size());
+    }
+
+    @Test
+    @DisplayName("Аннотации переопределяют бюджеты по умолчанию; некорректные записи пропускаются")
+    public void testBudgetResolution() throws NoSuchMethodException {
+        Map<String, Double> parsed = PerformanceBudgets.parse("a=1,broken,b=x,c = 2.5");
+        assertEquals(Map.of("a", 1.0, "c", 2.5), parsed);
+
+        PerformanceBudgets budgets = PerformanceBudgets.begin(getClass(), getClass().getMethod("testBudgetResolution"));
+        assertSame(budgets, PerformanceBudgets.current());
+        assertEquals(300.0, budgets.getBudget("add-to-cart"));
+        assertEquals(2000.0, budgets.getBudget("login-to-inventory"));
+        assertEquals(1500.0, budgets.getBudget("lcpMs@inventory.html"));
+    }
+
+    @Test
+    @DisplayName("Вне теста бюджеты не проверяются и замеры не копятся")
+    public void testInactiveOutsideTest() {
+        PerformanceBudgets.end();
+        PerformanceBudgets budgets = PerformanceBudgets.current();
+
+        budgets.setEnforcing(true);
+        budgets.check("login-to-inventory", 60_000, "https://www.saucedemo.com/inventory.html");
+
+        assertFalse(budgets.isEnabled());
+        assertFalse(budgets.isEnforcing());
+        assertTrue(budgets.getMeasurements().isEmpty());
+        assertSame(budgets, PerformanceBudgets.current());
+
+        PerformanceBudgets test = PerformanceBudgets.begin();
+        assertNotSame(budgets, test);
+        assertTrue(test.isEnforcing());
+        PerformanceBudgets.end();
+    }
+}
@@ -0,0 +1,202 @@
+package unit;
+
+import com.sun.net.httpserver.HttpServer;
+import exceptions.ApiConnectionException;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.CircuitBreaker;
+import utils.ResilientHttpClient;
+import utils.RetryBudget;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для ResilientHttpClient, RetryBudget и CircuitBreaker на локальном HTTP сервере
+ */
+@DisplayName("Тесты повторов запросов и circuit breaker")
+public class ResilientHttpClientTest {
+
+    private static HttpServer server;
+    private static String baseUrl;
+    private static final AtomicInteger flakyCalls = new AtomicInteger();
+    private static final AtomicInteger brokenCalls = new AtomicInteger();
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // Первые два запроса получают 503, затем 200
+        server.createContext("/flaky", exchange -> {
+            int call = flakyCalls.incrementAndGet();
+            respond(exchange, call <= 2 ? 503 : 200, "{\"call\":" + call + "}");
+        });
+        server.createContext("/broken", exchange -> {
+            brokenCalls.incrementAndGet();
+            respond(exchange, 500, "{}");
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop(0);
+        CircuitBreaker.resetAll();
+    }
+
+    @BeforeEach
+    public void resetState() {
+        flakyCalls.set(0);
+        brokenCalls.set(0);
+        CircuitBreaker.resetAll();
+    }
+
+    @Test
+    @DisplayName("Идемпотентный запрос повторяется после 503")
+    public void testIdempotentRequestIsRetried() {
+        RetryBudget budget = new RetryBudget(0.2, 10);
+
+        Response response = given()
+            .config(configWith(3, budget))
+            .when()
+            .get(baseUrl + "/flaky");
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(3, flakyCalls.get());
+        assertEquals(2, budget.getRetriesGranted());
+    }
+
+    @Test
+    @DisplayName("POST запрос не повторяется")
+    public void testNonIdempotentRequestIsNotRetried() {
+        Response response = given()
+            .config(configWith(3, new RetryBudget(0.2, 10)))
+            .body("{}")
+            .when()
+            .post(baseUrl + "/flaky");
+
+        assertEquals(503, response.getStatusCode());
+        assertEquals(1, flakyCalls.get());
+    }
+
+    @Test
+    @DisplayName("Исчерпанный бюджет запрещает повторы")
+    public void testExhaustedBudgetDeniesRetries() {
+        RetryBudget budget = new RetryBudget(0.0, 1);
+
+        Response response = given()
+            .config(configWith(3, budget))
+            .when()
+            .get(baseUrl + "/flaky");
+
+        assertEquals(503, response.getStatusCode(), "После одного повтора бюджет должен закончиться");
+        assertEquals(2, flakyCalls.get());
+        assertEquals(1, budget.getRetriesGranted());
+        assertEquals(1, budget.getRetriesDenied());
+    }
+
+    @Test
+    @DisplayName("Сетевая ошибка повторяется только нашим клиентом, без скрытых повторов DefaultHttpClient")
+    public void testNoHiddenInternalRetries() throws Exception {
+        AtomicInteger connections = new AtomicInteger();
+        try (ServerSocket socket = new ServerSocket(0)) {
+            // Сервер принимает соединение и закрывает его без ответа: NoHttpResponseException у клиента
+            Thread acceptor = new Thread(() -> {
+                while (!socket.isClosed()) {
+                    try (Socket client = socket.accept()) {
+                        connections.incrementAndGet();
+                        client.getInputStream().read(new byte[1024]);
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            RetryBudget budget = new RetryBudget(0.2, 10);
+            assertThrows(Exception.class, () -> given()
+                .config(configWith(1, budget))
+                .when()
+                .get("http://localhost:" + socket.getLocalPort() + "/drop"));
+
+            assertEquals(2, connections.get(), "Исходный запрос и один повтор, без внутренних повторов");
+            assertEquals(1, budget.getRetriesGranted());
+        }
+    }
+
+    @Test
+    @DisplayName("Разомкнутый предохранитель отклоняет запросы без обращения к сети")
+    public void testOpenCircuitFailsFast() {
+        RestAssuredConfig config = configWith(0, new RetryBudget(0.2, 10));
+        for (int i = 0; i < 5; i++) {
+            given().config(config).when().get(baseUrl + "/broken");
+        }
+        assertEquals(CircuitBreaker.State.OPEN, CircuitBreaker.forHost("localhost").getState());
+
+        assertThrows(ApiConnectionException.class, () -> given().config(config).when().get(baseUrl + "/broken"));
+        assertEquals(5, brokenCalls.get(), "Запрос при открытом предохранителе не должен доходить до сервера");
+    }
+
+    @Test
+    @DisplayName("После паузы предохранитель пропускает один пробный запрос")
+    public void testHalfOpenProbe() {
+        AtomicLong now = new AtomicLong(0);
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 1000, now::get);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertFalse(breaker.allowRequest());
+
+        now.set(1000);
+        assertTrue(breaker.allowRequest(), "Пробный запрос должен быть пропущен");
+        assertFalse(breaker.allowRequest(), "Второй параллельный запрос должен быть отклонен");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    @DisplayName("Бюджет пополняется долей от исходных запросов")
+    public void testBudgetRefillsByRatio() {
+        RetryBudget budget = new RetryBudget(0.5, 0);
+
+        assertFalse(budget.tryAcquireRetry());
+        budget.recordRequest();
+        budget.recordRequest();
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    private static RestAssuredConfig configWith(int maxRetries, RetryBudget budget) {
+        return RestAssured.config().httpClient(HttpClientConfig.httpClientConfig()
+            .httpClientFactory(() -> new ResilientHttpClient(maxRetries, 1, 5, budget)));
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
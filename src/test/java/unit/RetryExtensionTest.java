@@ -0,0 +1,102 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import utils.RetryExtension;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для повторного запуска упавших тестов
+ */
+@DisplayName("Тесты RetryExtension")
+public class RetryExtensionTest {
+
+    /**
+     * Тестовый класс: падает заданное число раз, затем проходит
+     */
+    public static class Flaky {
+        int calls;
+        int failures;
+
+        @RetryExtension.RetryOnFailure(maxAttempts = 3, delayMs = 0)
+        public void run() {
+            calls++;
+            if (calls <= failures) {
+                throw new AssertionError("failure " + calls);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ExtensionContext context(Object instance, Method method) {
+        Map<Object, Object> values = new HashMap<>();
+        ExtensionContext.Store store = (ExtensionContext.Store) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{ExtensionContext.Store.class}, (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "put":
+                        return values.put(args[0], args[1]);
+                    case "remove":
+                        return values.remove(args[0]);
+                    case "getOrComputeIfAbsent":
+                        return values.computeIfAbsent(args[0], (Function<Object, Object>) args[1]);
+                    default:
+                        return values.get(args[0]);
+                }
+            });
+        return (ExtensionContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{ExtensionContext.class}, (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "getStore":
+                        return store;
+                    case "getRequiredTestMethod":
+                        return method;
+                    case "getTestMethod":
+                        return Optional.of(method);
+                    case "getRequiredTestInstance":
+                        return instance;
+                    default:
+                        return null;
+                }
+            });
+    }
+
+    @Test
+    @DisplayName("Упавший тест повторяется и проходит, если повтор успешен")
+    public void testRetryPasses() throws Throwable {
+        Flaky flaky = new Flaky();
+        flaky.failures = 1;
+        ExtensionContext context = context(flaky, Flaky.class.getMethod("run"));
+        RetryExtension extension = new RetryExtension();
+        extension.beforeEach(context);
+
+        extension.handleTestExecutionException(context, new AssertionError("failure 0"));
+
+        assertEquals(2, flaky.calls, "Первый повтор упал, второй прошел");
+    }
+
+    @Test
+    @DisplayName("После последней попытки ошибка выбрасывается, а не проглатывается")
+    public void testLastFailureIsRethrown() throws Exception {
+        Flaky flaky = new Flaky();
+        flaky.failures = 10;
+        ExtensionContext context = context(flaky, Flaky.class.getMethod("run"));
+        RetryExtension extension = new RetryExtension();
+        extension.beforeEach(context);
+
+        AssertionError error = assertThrows(AssertionError.class,
+            () -> extension.handleTestExecutionException(context, new AssertionError("failure 0")));
+
+        assertEquals("failure 2", error.getMessage());
+        assertEquals(2, flaky.calls, "Всего три попытки вместе с первой");
+        assertEquals(1, error.getSuppressed().length, "Предыдущие ошибки сохраняются");
+    }
+}
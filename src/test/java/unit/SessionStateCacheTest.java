@@ -0,0 +1,87 @@
+package unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import utils.SessionStateCache;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для входа через сохраненное состояние сессии
+ */
+@DisplayName("Тесты кэша состояния сессии")
+public class SessionStateCacheTest {
+
+    private static final String KEY = "https://www.saucedemo.com|standard_user";
+
+    /**
+     * Фейковый браузер, который хранит cookies
+     */
+    private static FakeBrowser fakeBrowser(Set<Cookie> cookies) {
+        return new FakeBrowser(JavascriptExecutor.class)
+            .on("getCookies", args -> new HashSet<>(cookies))
+            .on("addCookie", args -> cookies.add((Cookie) args[0]))
+            .on("deleteAllCookies", args -> {
+                cookies.clear();
+                return null;
+            })
+            .on("executeScript", args -> ((String) args[0]).startsWith("var state = {}")
+                ? Map.of("origin", "https://www.saucedemo.com", "storage", Map.of("cart-contents", "[]"))
+                : null);
+    }
+
+    @BeforeEach
+    public void clearCache() {
+        SessionStateCache.clear();
+    }
+
+    @Test
+    @DisplayName("Состояние снимается и подставляется в новую сессию")
+    public void testCaptureAndRestore() {
+        Set<Cookie> session = new HashSet<>(Set.of(new Cookie("session-username", "standard_user", "/",
+            new Date(System.currentTimeMillis() + 600_000))));
+        SessionStateCache.store(KEY, SessionStateCache.capture(fakeBrowser(session).driver()));
+
+        Set<Cookie> cookies = new HashSet<>(Set.of(new Cookie("stale", "value")));
+        FakeBrowser fresh = fakeBrowser(cookies);
+        boolean restored = SessionStateCache.restore(fresh.driver(), KEY, "https://www.saucedemo.com/inventory.html");
+
+        assertTrue(restored);
+        assertEquals(List.of("https://www.saucedemo.com/robots.txt", "https://www.saucedemo.com/inventory.html"), fresh.visited());
+        assertEquals(1, cookies.size());
+        assertEquals("standard_user", cookies.iterator().next().getValue());
+        List<Object[]> writes = fresh.scriptArgs("executeScript");
+        assertEquals(Map.of("cart-contents", "[]"), writes.get(writes.size() - 1)[0]);
+        assertEquals(1, SessionStateCache.getHits());
+    }
+
+    @Test
+    @DisplayName("Без сохраненного состояния нужен обычный логин")
+    public void testMissWithoutState() {
+        FakeBrowser browser = fakeBrowser(new HashSet<>());
+
+        assertFalse(SessionStateCache.restore(browser.driver(), KEY, "https://www.saucedemo.com/inventory.html"));
+        assertTrue(browser.visited().isEmpty());
+        assertEquals(1, SessionStateCache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Истекающая cookie делает состояние недействительным")
+    public void testExpiringStateIsDropped() {
+        SessionStateCache.store(KEY, new SessionStateCache.SessionState("https://www.saucedemo.com",
+            List.of(new Cookie("session-username", "standard_user", "/", new Date(System.currentTimeMillis() + 5_000))),
+            Map.of()));
+
+        assertFalse(SessionStateCache.restore(fakeBrowser(new HashSet<>()).driver(), KEY, "https://www.saucedemo.com/inventory.html"));
+        assertFalse(SessionStateCache.getKeys().contains(KEY));
+    }
+}
@@ -0,0 +1,94 @@
+package unit;
+
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import utils.StreamingJsonAssert;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для StreamingJsonAssert
+ */
+@DisplayName("Тесты потоковых проверок JSON")
+public class StreamingJsonAssertTest {
+
+    private static String photos(int count) {
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(i -> String.format(
+                "{\"albumId\":%d,\"id\":%d,\"title\":\"photo %d\",\"url\":\"https://via.placeholder.com/600/%d\"}",
+                (i - 1) / 50 + 1, i, i, i))
+            .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    @Test
+    @DisplayName("Корректный массив проходит все проверки")
+    public void testValidArray() {
+        StreamingJsonAssert.Result result = StreamingJsonAssert.forArray(photos(5000))
+            .hasSize(5000)
+            .requireFields("id", "albumId", "title", "url")
+            .fieldType("id", JsonNodeType.NUMBER)
+            .fieldType("title", JsonNodeType.STRING)
+            .strictlyIncreasing("id")
+            .each("url начинается с https", p -> p.path("url").asText().startsWith("https"))
+            .verify();
+
+        assertTrue(result.isSuccessful());
+        assertEquals(5000, result.getCount());
+    }
+
+    @Test
+    @DisplayName("Нарушения собираются с индексами элементов")
+    public void testViolationsAreReported() {
+        String json = "[{\"id\":1,\"email\":\"a@b.c\"},{\"id\":\"2\",\"email\":\"broken\"},{\"id\":2}]";
+
+        StreamingJsonAssert.Result result = StreamingJsonAssert.forArray(json)
+            .hasSize(2)
+            .requireFields("id", "email")
+            .fieldType("id", JsonNodeType.NUMBER)
+            .each("email содержит @", c -> c.path("email").asText().contains("@"))
+            .evaluate();
+
+        assertFalse(result.isSuccessful());
+        assertEquals(3, result.getCount());
+        assertTrue(result.getViolations().contains("[1] поле 'id' имеет тип STRING, ожидался NUMBER"), result.toString());
+        assertTrue(result.getViolations().contains("[1] не выполнено условие 'email содержит @'"), result.toString());
+        assertTrue(result.getViolations().contains("[2] отсутствует обязательное поле 'email'"), result.toString());
+        assertTrue(result.toString().contains("размер массива 3, ожидался 2"), result.toString());
+    }
+
+    @Test
+    @DisplayName("verify падает с AssertionError")
+    public void testVerifyThrows() {
+        AssertionError error = assertThrows(AssertionError.class,
+            () -> StreamingJsonAssert.forArray("[{\"id\":2},{\"id\":1}]").strictlyIncreasing("id").verify());
+        assertTrue(error.getMessage().contains("не возрастает"), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Количество хранимых нарушений ограничено")
+    public void testViolationListIsBounded() {
+        StreamingJsonAssert.Result result = StreamingJsonAssert.forArray(photos(1000))
+            .requireFields("missing")
+            .evaluate();
+
+        assertEquals(1000, result.getViolationCount());
+        assertEquals(20, result.getViolations().size());
+        assertTrue(result.toString().contains("... и еще 980"));
+    }
+
+    @Test
+    @DisplayName("Не массив верхнего уровня считается нарушением")
+    public void testNonArrayDocument() {
+        StreamingJsonAssert.Result result = StreamingJsonAssert.forArray(
+            new ByteArrayInputStream("{\"id\":1}".getBytes(StandardCharsets.UTF_8))).evaluate();
+
+        assertFalse(result.isSuccessful());
+        assertTrue(result.getViolations().get(0).contains("JSON массив"));
+    }
+}
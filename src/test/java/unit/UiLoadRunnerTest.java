@@ -0,0 +1,141 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import utils.UiLoadReport;
+import utils.UiLoadRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для нагрузочного режима UI с фейковыми браузерами
+ */
+@DisplayName("Тесты нагрузочного режима UI")
+public class UiLoadRunnerTest {
+
+    private final List<FakeBrowser> browsers = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger inStep = new AtomicInteger();
+    private final AtomicInteger peakInStep = new AtomicInteger();
+
+    private WebDriver fakeBrowser() {
+        FakeBrowser browser = new FakeBrowser();
+        browsers.add(browser);
+        return browser.driver();
+    }
+
+    private int total(String method) {
+        return List.copyOf(browsers).stream().mapToInt(browser -> browser.count(method)).sum();
+    }
+
+    private void busy(long ms) {
+        peakInStep.accumulateAndGet(inStep.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inStep.decrementAndGet();
+        }
+    }
+
+    @Test
+    @DisplayName("Пользователи идут через ограниченный пул сессий, по шагам считаются перцентили")
+    public void testBoundedConcurrency() {
+        UiLoadReport report = UiLoadRunner.journey("checkout")
+            .users(12).iterations(2).concurrency(3).rampUpMs(0)
+            .launcher(this::fakeBrowser).sessionSetup(driver -> { })
+            .step("login", driver -> busy(20))
+            .step("add-to-cart", driver -> busy(5))
+            .run();
+
+        assertEquals(3, browsers.size(), "Браузеров не больше concurrency");
+        assertEquals(3, total("quit"));
+        assertEquals(9, total("deleteAllCookies"), "Новый пользователь на занятой сессии начинает с чистыми cookies");
+        assertTrue(peakInStep.get() <= 3);
+        assertEquals(24, report.getCompletedJourneys());
+        assertEquals(0.0, report.getErrorRate());
+        assertEquals(24, report.getStep("login").getCount());
+        assertTrue(report.getStep("login").getPercentileMs(50) >= 20);
+        assertTrue(report.getStep(UiLoadRunner.JOURNEY).getPercentileMs(95) >= report.getStep("add-to-cart").getPercentileMs(95));
+        assertTrue(report.report().contains("Journeys: 24/24 completed"));
+    }
+
+    @Test
+    @DisplayName("Ошибка шага прерывает путь пользователя и попадает в отчет")
+    public void testStepErrors() {
+        AtomicInteger calls = new AtomicInteger();
+        UiLoadReport report = UiLoadRunner.journey("flaky")
+            .users(10).iterations(1).concurrency(2).rampUpMs(0)
+            .launcher(this::fakeBrowser).sessionSetup(driver -> { })
+            .step("login", driver -> {
+                if (calls.incrementAndGet() % 5 == 0) {
+                    throw new IllegalStateException("login timeout");
+                }
+            })
+            .step("checkout", driver -> { })
+            .run();
+
+        assertEquals(8, report.getCompletedJourneys());
+        assertEquals(0.2, report.getErrorRate(), 1e-9);
+        assertEquals(2, report.getStep("login").getErrors());
+        assertEquals(8, report.getStep("checkout").getCount(), "Шаги после ошибки не выполняются");
+        assertEquals("IllegalStateException: login timeout", report.getStep("login").getFirstError());
+    }
+
+    @Test
+    @DisplayName("Сбой запуска браузера - ошибка шага launch, остальные пользователи продолжают")
+    public void testLaunchFailureIsRecorded() {
+        AtomicInteger launches = new AtomicInteger();
+        AtomicInteger setups = new AtomicInteger();
+        Map<Long, String> threads = new ConcurrentHashMap<>();
+        UiLoadReport report = UiLoadRunner.journey("launch")
+            .users(6).iterations(1).concurrency(2).rampUpMs(0)
+            .launcher(() -> {
+                if (launches.incrementAndGet() == 1) {
+                    throw new IllegalStateException("chrome not reachable");
+                }
+                return fakeBrowser();
+            })
+            .sessionSetup(driver -> {
+                if (setups.incrementAndGet() == 1) {
+                    throw new IllegalStateException("CDP unavailable");
+                }
+            })
+            .step("login", driver -> threads.put(Thread.currentThread().getId(), Thread.currentThread().getName()))
+            .run();
+
+        assertEquals(2, report.getStep(UiLoadRunner.LAUNCH).getErrors());
+        assertEquals(4, report.getCompletedJourneys(), "Пользователи без браузера не проходят путь, остальные проходят");
+        assertTrue(report.getStep(UiLoadRunner.LAUNCH).getFirstError().contains("chrome not reachable")
+            || report.getStep(UiLoadRunner.LAUNCH).getFirstError().contains("CDP unavailable"));
+        assertEquals(browsers.size(), total("quit"), "Браузер с неудачной настройкой закрыт");
+        assertTrue(report.getBrowsersLaunched() <= 2);
+        assertTrue(threads.values().stream().allMatch(thread -> thread.matches("ui-load-launch-\\d+")));
+        assertEquals(threads.size(), Set.copyOf(threads.values()).size(), "У каждого потока свое имя");
+    }
+
+    @Test
+    @DisplayName("Число браузеров ограничено свободной памятью; перцентили по ближайшему рангу")
+    public void testMemoryBoundAndPercentiles() {
+        long gb = 1024L * 1024 * 1024;
+        assertEquals(13, UiLoadRunner.fitToMemory(50, 4 * gb, 300));
+        assertEquals(50, UiLoadRunner.fitToMemory(50, 64 * gb, 300));
+        assertEquals(1, UiLoadRunner.fitToMemory(50, 100, 300));
+        assertEquals(50, UiLoadRunner.fitToMemory(50, -1, 300), "Без данных о памяти лимит не меняется");
+
+        UiLoadReport.StepStats stats = new UiLoadReport.StepStats("login", List.of(40L, 10L, 30L, 20L, 100L), 1, null);
+        assertEquals(30, stats.getPercentileMs(50));
+        assertEquals(100, stats.getPercentileMs(95));
+        assertEquals(100, stats.getMaxMs());
+        assertEquals(1, stats.toSummary().get("errors"));
+    }
+}
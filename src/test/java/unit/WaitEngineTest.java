@@ -0,0 +1,141 @@
+package unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import utils.BrowserEvents;
+import utils.WaitEngine;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для событийных ожиданий с фейковым браузером
+ */
+@DisplayName("Тесты движка ожиданий")
+public class WaitEngineTest {
+
+    private final AtomicBoolean visible = new AtomicBoolean();
+    private final AtomicBoolean asyncFails = new AtomicBoolean();
+    private FakeBrowser browser;
+
+    @BeforeEach
+    public void resetStats() {
+        WaitEngine.resetStats();
+    }
+
+    private WebDriver fakeBrowser() {
+        browser = new FakeBrowser(JavascriptExecutor.class)
+            .on("isDisplayed", args -> visible.get())
+            .on("executeAsyncScript", args -> {
+                if (asyncFails.get()) {
+                    throw new WebDriverException("document unloaded while waiting for result");
+                }
+                return visible.get();
+            });
+        return browser.driver();
+    }
+
+    @Test
+    @DisplayName("Адаптивный опрос ловит быстрое условие без пауз по 500 мс")
+    public void testAdaptivePolling() {
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.currentTimeMillis();
+
+        Boolean result = WaitEngine.createWait(fakeBrowser(), 5).until(driver -> calls.incrementAndGet() >= 4 ? true : null);
+
+        long elapsed = System.currentTimeMillis() - start;
+        assertTrue(result);
+        assertEquals(4, calls.get());
+        assertTrue(elapsed < 400, "Три паузы 10+20+40 мс, а не 3 x 500 мс: " + elapsed);
+        assertEquals(1, WaitEngine.getStats().getWaits());
+        assertEquals(1, WaitEngine.getStats().getKindCount("poll"));
+    }
+
+    @Test
+    @DisplayName("Элемент ищется в странице по CSS, вложенный опрос не учитывается дважды")
+    public void testElementWaitUsesPageObserver() {
+        visible.set(true);
+
+        WebElement element = WaitEngine.waitForElement(fakeBrowser(), By.id("checkout"), Duration.ofSeconds(2));
+
+        assertNotNull(element);
+        List<Object[]> asyncScripts = browser.scriptArgs("executeAsyncScript");
+        assertEquals(1, asyncScripts.size());
+        assertEquals("css", asyncScripts.get(0)[0]);
+        assertEquals("[id=\"checkout\"]", asyncScripts.get(0)[1]);
+        assertEquals(1, WaitEngine.getStats().getWaits());
+        assertEquals(1, WaitEngine.getStats().getKindCount("element"));
+    }
+
+    @Test
+    @DisplayName("Ошибка скрипта при перезагрузке страницы переводит ожидание на опрос")
+    public void testFallbackToPolling() {
+        asyncFails.set(true);
+        WebDriver driver = fakeBrowser();
+        new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            visible.set(true);
+        }).start();
+
+        assertNotNull(WaitEngine.waitForElement(driver, By.cssSelector(".cart_item"), Duration.ofSeconds(2)));
+        assertTrue(browser.count("isDisplayed") > 0, "Видимость проверяется опросом элемента");
+    }
+
+    @Test
+    @DisplayName("Невидимый элемент приводит к TimeoutException в пределах таймаута")
+    public void testTimeout() {
+        long start = System.currentTimeMillis();
+
+        assertThrows(TimeoutException.class,
+            () -> WaitEngine.waitForElement(fakeBrowser(), By.className("title"), Duration.ofMillis(300)));
+
+        assertTrue(System.currentTimeMillis() - start < 1500);
+        assertEquals("[class~=\"title\"]", browser.scriptArgs("executeAsyncScript").get(0)[1]);
+    }
+
+    @Test
+    @DisplayName("Загрузка страницы ждет событие load подписки, а не опрашивает readyState")
+    public void testPageLoadAwaitsLoadEvent() {
+        FakeBrowser loading = new FakeBrowser(JavascriptExecutor.class).on("executeScript", args -> "loading");
+        WebDriver driver = loading.driver();
+        BrowserEvents events = new BrowserEvents(10);
+        events.onBiDiEvent("browsingContext.load", Map.of("url", "https://www.saucedemo.com/"));
+        events.bind(driver);
+        assertSame(events, BrowserEvents.of(driver));
+
+        new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.onBiDiEvent("browsingContext.load", Map.of("url", "https://www.saucedemo.com/inventory.html"));
+        }).start();
+        long start = System.currentTimeMillis();
+        WaitEngine.waitForPageLoad(driver, Duration.ofSeconds(5));
+
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertEquals(1, loading.count("executeScript"), "Только начальная проверка, load прошлой страницы не засчитывается");
+        assertEquals(1, WaitEngine.getStats().getKindCount("pageLoad"));
+        assertEquals(0, WaitEngine.getStats().getKindCount("poll"));
+
+        events.detach();
+        assertNull(BrowserEvents.of(driver));
+    }
+}
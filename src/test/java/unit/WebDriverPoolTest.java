@@ -0,0 +1,167 @@
+package unit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import utils.BrowserSlots;
+import utils.WebDriverPool;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для WebDriverPool на фейковых сессиях без браузера
+ */
+@DisplayName("Тесты пула сессий WebDriver")
+public class WebDriverPoolTest {
+
+    /**
+     * Фейковая сессия с одной вкладкой
+     */
+    private static FakeBrowser session() {
+        return new FakeBrowser(JavascriptExecutor.class)
+            .on("getWindowHandle", args -> "main")
+            .on("getWindowHandles", args -> Set.of("main"));
+    }
+
+    @Test
+    @DisplayName("Сессия переиспользуется и сбрасывается между арендами")
+    public void testSessionIsReusedAndReset() {
+        List<FakeBrowser> sessions = new ArrayList<>();
+        WebDriverPool pool = new WebDriverPool(1, 10, () -> {
+            FakeBrowser session = session();
+            sessions.add(session);
+            return session.driver();
+        });
+
+        WebDriver first = pool.lease();
+        pool.release(first);
+        WebDriver second = pool.lease();
+
+        assertSame(first, second);
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getReusedCount());
+        FakeBrowser session = sessions.get(0);
+        assertTrue(session.scripts().containsAll(List.of("localStorage.clear();", "sessionStorage.clear();")), session.scripts().toString());
+        assertTrue(session.calls().contains("deleteAllCookies"), session.calls().toString());
+        assertEquals(List.of("about:blank"), session.visited());
+    }
+
+    @Test
+    @DisplayName("Сессия пересоздается после максимального числа использований")
+    public void testSessionIsRecycledAfterMaxUses() {
+        List<FakeBrowser> sessions = new ArrayList<>();
+        WebDriverPool pool = new WebDriverPool(1, 2, () -> {
+            FakeBrowser session = session();
+            sessions.add(session);
+            return session.driver();
+        });
+
+        for (int i = 0; i < 3; i++) {
+            pool.release(pool.lease());
+        }
+
+        assertEquals(2, pool.getCreatedCount());
+        assertEquals(1, pool.getRecycledCount());
+        assertTrue(sessions.get(0).count("quit") == 1, "Отработавшая сессия должна быть закрыта");
+        assertEquals(0, sessions.get(1).count("quit"));
+    }
+
+    @Test
+    @DisplayName("Нездоровая сессия заменяется новой")
+    public void testUnhealthySessionIsReplaced() {
+        List<FakeBrowser> sessions = new ArrayList<>();
+        WebDriverPool pool = new WebDriverPool(1, 10, () -> {
+            FakeBrowser session = session();
+            sessions.add(session);
+            return session.driver();
+        });
+
+        WebDriver first = pool.lease();
+        pool.release(first);
+        sessions.get(0).kill();
+
+        WebDriver second = pool.lease();
+
+        assertNotSame(first, second);
+        assertEquals(2, pool.getCreatedCount());
+        assertEquals(1, pool.getUnhealthyCount());
+    }
+
+    @Test
+    @DisplayName("Размер пула ограничивает число одновременных сессий")
+    public void testPoolIsBounded() throws Exception {
+        WebDriverPool pool = new WebDriverPool(1, 10, () -> session().driver());
+        WebDriver first = pool.lease();
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pool.release(first);
+        });
+        long start = System.currentTimeMillis();
+        releaser.start();
+        WebDriver second = pool.lease();
+
+        assertTrue(System.currentTimeMillis() - start >= 150, "Вторая аренда должна ждать освобождения сессии");
+        assertSame(first, second);
+        releaser.join();
+    }
+
+    @Test
+    @DisplayName("Прогрев запускает браузеры параллельно, аренда ждет первый готовый")
+    public void testPrewarmLaunchesConcurrently() {
+        WebDriverPool pool = new WebDriverPool(3, 10, () -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return session().driver();
+        });
+
+        long start = System.currentTimeMillis();
+        pool.prewarmAsync(3);
+        pool.prewarmAsync(3);
+        WebDriver driver = pool.lease();
+        long leaseWait = System.currentTimeMillis() - start;
+
+        assertNotNull(driver);
+        assertTrue(leaseWait < 800, "Аренда должна получить прогретый браузер, ждали " + leaseWait + " мс");
+        assertEquals(1, pool.getReusedCount(), "Сессия должна быть взята из прогретых");
+        pool.release(driver);
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (pool.getCreatedCount() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(3, pool.getCreatedCount(), "Повторный вызов прогрева не должен запускать браузеры");
+        assertEquals(3, pool.getLaunchTimesMs().size());
+        assertTrue(pool.getLaunchReport().contains("3 шт."), pool.getLaunchReport());
+    }
+
+    @Test
+    @DisplayName("Свободная сессия держит слот машины, пока не закрыта")
+    public void testIdleSessionHoldsMachineSlot(@TempDir Path slotDir) {
+        BrowserSlots slots = new BrowserSlots(slotDir, 1, 10);
+        WebDriverPool pool = new WebDriverPool(2, 10, () -> session().driver(), slots);
+
+        pool.release(pool.lease());
+        assertEquals(1, pool.getIdleCount());
+        assertThrows(IllegalStateException.class, () -> slots.acquire(50), "Слот занят свободным браузером пула");
+        assertThrows(IllegalStateException.class, () -> new BrowserSlots(slotDir, 1, 10).acquire(50));
+
+        assertEquals(0, pool.evictIdle(60_000), "Свежая сессия не вытесняется");
+        assertEquals(1, pool.evictIdle(0));
+        slots.acquire(50).close();
+    }
+}
@@ -0,0 +1,128 @@
+package unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import utils.WebVitals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для сбора Web Vitals с фейковым браузером
+ */
+@DisplayName("Тесты метрик Web Vitals")
+public class WebVitalsTest {
+
+    @BeforeEach
+    public void resetMetrics() {
+        WebVitals.reset();
+    }
+
+    private WebDriver fakeBrowser(String url, Map<String, Object> timing) {
+        return fakeChrome(url, timing).driver();
+    }
+
+    /**
+     * Счетчики вкладки растут с каждым Performance.getMetrics: ScriptDuration на 0.25 с, LayoutCount на 3
+     */
+    private static FakeBrowser fakeChrome(String url, Map<String, Object> timing) {
+        AtomicInteger samples = new AtomicInteger();
+        return new FakeBrowser(JavascriptExecutor.class, HasCdp.class)
+            .on("executeAsyncScript", args -> timing)
+            .on("getCurrentUrl", args -> url)
+            .onCdp("Performance.getMetrics", params -> {
+                int sample = samples.incrementAndGet();
+                return Map.of("metrics", List.of(
+                    Map.of("name", "Nodes", "value", 420),
+                    Map.of("name", "JSHeapUsedSize", "value", 9_000_000),
+                    Map.of("name", "ScriptDuration", "value", 10 + 0.25 * sample),
+                    Map.of("name", "LayoutCount", "value", 100 + 3 * sample),
+                    Map.of("name", "Timestamp", "value", 12345.6)));
+            });
+    }
+
+    @Test
+    @DisplayName("Метрики JS и CDP объединяются; без замера перед навигацией счетчики вкладки не попадают в метрики")
+    public void testCollectMergesJsAndCdp() {
+        WebDriver driver = fakeBrowser("https://www.saucedemo.com/",
+            Map.of("ttfbMs", 120L, "fcpMs", 340.5, "cls", 0.02));
+
+        WebVitals.PageMetrics metrics = WebVitals.collect(driver);
+
+        assertEquals(120.0, metrics.get(WebVitals.TTFB));
+        assertEquals(340.5, metrics.get(WebVitals.FCP));
+        assertEquals(0.02, metrics.get(WebVitals.CLS));
+        assertEquals(420.0, metrics.get("domNodes"));
+        assertFalse(metrics.getValues().containsKey("scriptDurationMs"), "Накопленное с Performance.enable не метрика страницы");
+        assertFalse(metrics.getValues().containsKey("jsHeapUsedBytes"));
+        assertFalse(metrics.getValues().containsKey("Timestamp"));
+        assertTrue(WebVitals.getAll().isEmpty(), "collect не должен попадать в агрегат");
+    }
+
+    @Test
+    @DisplayName("Счетчики CDP - разница с замером перед навигацией, домен Performance выключается после сбора")
+    public void testCdpCountersAreNavigationDeltas() {
+        FakeBrowser browser = fakeChrome("https://www.saucedemo.com/", Map.of());
+        WebDriver driver = browser.driver();
+
+        WebVitals.beforeNavigation(driver);
+        WebVitals.PageMetrics metrics = WebVitals.collect(driver);
+
+        assertEquals(250.0, metrics.get("scriptDurationMs"), 1e-6, "Длительности CDP переводятся в мс");
+        assertEquals(3.0, metrics.get("layoutCount"));
+        assertEquals(List.of("Performance.enable", "Performance.getMetrics", "Performance.getMetrics", "Performance.disable"),
+            browser.commands());
+
+        WebVitals.beforeNavigation(driver);
+        assertEquals(3.0, WebVitals.collect(driver).get("layoutCount"), "Следующая навигация не наследует счетчики");
+    }
+
+    @Test
+    @DisplayName("Навигации на одну страницу агрегируются без учета query")
+    public void testCaptureAggregatesByPage() {
+        WebVitals.capture(fakeBrowser("https://www.saucedemo.com/inventory-item.html?id=4", Map.of("lcpMs", 100.0)));
+        WebVitals.capture(fakeBrowser("https://www.saucedemo.com/inventory-item.html?id=5", Map.of("lcpMs", 300.0)));
+        WebVitals.capture(fakeBrowser("https://www.saucedemo.com/inventory-item.html?id=6", Map.of("lcpMs", 200.0)));
+
+        WebVitals.PageStats stats = WebVitals.get("www.saucedemo.com/inventory-item.html");
+
+        assertNotNull(stats, WebVitals.report());
+        assertEquals(3, stats.getNavigations());
+        assertEquals(200.0, stats.getAverage(WebVitals.LCP), 0.001);
+        assertEquals(200.0, stats.getPercentile(WebVitals.LCP, 50));
+        assertEquals(300.0, stats.getMax(WebVitals.LCP));
+        assertTrue(Double.isNaN(stats.getAverage(WebVitals.TTFB)));
+    }
+
+    @Test
+    @DisplayName("Агрегат прогона записывается в JSON")
+    public void testWriteJson(@TempDir Path dir) throws Exception {
+        WebVitals.capture(fakeBrowser("https://www.saucedemo.com/cart.html", Map.of("loadMs", 900L)));
+        Path report = dir.resolve("vitals/web-vitals.json");
+
+        WebVitals.writeJson(report);
+
+        String json = Files.readString(report);
+        assertTrue(json.contains("www.saucedemo.com/cart.html"), json);
+        assertTrue(json.contains("\"loadMs\""), json);
+        assertTrue(json.contains("\"p95\""), json);
+    }
+
+    @Test
+    @DisplayName("Браузер без JS и CDP дает пустые метрики")
+    public void testPlainDriverGivesNoMetrics() {
+        WebDriver driver = new FakeBrowser().on("getCurrentUrl", args -> "about:blank").driver();
+
+        assertTrue(WebVitals.collect(driver).getValues().isEmpty());
+    }
+}
@@ -0,0 +1,168 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Снятие скриншотов и исходного кода страницы по политике с записью в Allure в фоне
+ * В потоке теста снимаются только сырые данные браузера и резервируется вложение;
+ * декодирование и запись файла выполняет фоновый поток, поэтому браузер освобождается сразу
+ */
+public class ArtifactCapture {
+
+    private static ArtifactCapture shared;
+
+    private final AllureLifecycle lifecycle;
+    private final ExecutorService worker;
+    private final Set<Future<?>> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public ArtifactCapture(AllureLifecycle lifecycle, int workerThreads) {
+        this.lifecycle = lifecycle;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.worker = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "artifact-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Общий экземпляр; незаписанные вложения дописываются при завершении JVM
+     */
+    public static synchronized ArtifactCapture shared() {
+        if (shared == null) {
+            shared = new ArtifactCapture(Allure.getLifecycle(), Config.getCaptureWorkerThreads());
+            ArtifactCapture instance = shared;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> instance.flush(30_000)));
+        }
+        return shared;
+    }
+
+    /**
+     * Скриншот: в Chromium через CDP сразу в JPEG (кодирует браузер, файл в разы меньше PNG),
+     * в остальных браузерах PNG; base64 декодируется в фоне
+     */
+    public void captureScreenshot(WebDriver driver, String name) {
+        int quality = Config.getCaptureJpegQuality();
+        if (driver instanceof HasCdp && quality > 0) {
+            Object data = ((HasCdp) driver).executeCdpCommand("Page.captureScreenshot",
+                Map.of("format", "jpeg", "quality", quality)).get("data");
+            attachAsync(name, "image/jpeg", "jpg", () -> Base64.getDecoder().decode(String.valueOf(data)));
+        } else {
+            String base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+            attachAsync(name, "image/png", "png", () -> Base64.getDecoder().decode(base64));
+        }
+    }
+
+    public void capturePageSource(WebDriver driver, String name) {
+        String pageSource = driver.getPageSource();
+        attachAsync(name, "text/html", "html", () -> pageSource.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Зарезервировать вложение в текущем тесте/шаге и записать содержимое в фоновом потоке
+     * Резервирование выполняется в потоке теста, так как контекст Allure привязан к потоку
+     */
+    public void attachAsync(String name, String type, String extension, Supplier<byte[]> content) {
+        String source = lifecycle.prepareAttachment(name, type, extension);
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            try {
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(content.get()));
+                written.incrementAndGet();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                System.err.println("Не удалось записать вложение " + name + ": " + e.getMessage());
+            }
+        }, worker);
+        pending.add(future);
+        future.whenComplete((result, error) -> pending.remove(future));
+    }
+
+    /**
+     * Дождаться записи всех вложений
+     * @return false, если за timeoutMs записано не все
+     */
+    public boolean flush(long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        for (Future<?> future : Set.copyOf(pending)) {
+            try {
+                future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (Exception e) {
+                // Ошибка записи уже учтена в failed
+            }
+        }
+        return true;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public int getWrittenCount() {
+        return written.get();
+    }
+
+    public int getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Когда снимать артефакты в конце теста
+     */
+    public enum Policy {
+        ALWAYS,
+        ON_FAILURE,
+        /**
+         * Упавшие и медленные тесты
+         */
+        ON_SLOW,
+        NEVER;
+
+        public boolean shouldCapture(boolean failed, long executionMs, long slowMs) {
+            switch (this) {
+                case ALWAYS:
+                    return true;
+                case ON_FAILURE:
+                    return failed;
+                case ON_SLOW:
+                    return failed || executionMs > slowMs;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Разбор значения конфигурации: "on_failure", "on-slow", "ALWAYS"
+         */
+        public static Policy parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+}
@@ -20,6 +20,31 @@ public abstract class BaseApiTest {
     @BeforeAll
     @Step("Настройка API конфигурации")
     static void setupApi() {
+        configureRestAssured();
+        
+        // DNS, TCP и TLS оплачиваются один раз за JVM, а не первым тестом класса
+        ConnectionPrewarmer.prewarmOnce(Config.getBaseUrl());
+        
+        // Прикрепляем API конфигурацию к Allure
+        String apiConfig = String.format(
+            "Base URL: %s\nConnection Timeout: %d ms\nSocket Timeout: %d ms\nRetry Count: %d (budget ratio %.2f)\nCompression: %s (%s)\nEnvironment: %s",
+            Config.getBaseUrl(),
+            Config.getConnectionTimeout(),
+            Config.getSocketTimeout(),
+            Config.getRetryCount(),
+            Config.getRetryBudgetRatio(),
+            Config.isCompressionEnabled(),
+            Config.getAcceptEncoding(),
+            Config.getEnvironment()
+        );
+        Allure.addAttachment("API Configuration", "text/plain", apiConfig);
+    }
+
+    /**
+     * Общая настройка RestAssured: базовый URL, фильтры и таймауты
+     * Вызывается повторно после RestAssured.reset() перед каждым тестом
+     */
+    protected static void configureRestAssured() {
         // Настройка базового URL
         RestAssured.baseURI = Config.getBaseUrl();
         
@@ -30,22 +55,19 @@ public abstract class BaseApiTest {
             new ResponseLoggingFilter()
         );
         
-        // Настройка таймаутов
+        // Согласование сжатия и сбор метрик размера ответов
+        if (Config.isCompressionEnabled()) {
+            RestAssured.filters(new CompressionFilter());
+        }
+        
+        // Настройка таймаутов и клиента с повторами запросов и circuit breaker
+        // Клиенты используют общий прогретый пул соединений
         RestAssured.config = RestAssured.config()
             .httpClient(RestAssured.config().getHttpClientConfig()
+                .httpClientFactory(() -> new ResilientHttpClient(ConnectionPrewarmer.getConnectionManager()))
                 .setParam("http.connection.timeout", Config.getConnectionTimeout())
-                .setParam("http.socket.timeout", Config.getSocketTimeout()));
-        
-        // Прикрепляем API конфигурацию к Allure
-        String apiConfig = String.format(
-            "Base URL: %s\nConnection Timeout: %d ms\nSocket Timeout: %d ms\nRetry Count: %d\nEnvironment: %s",
-            Config.getBaseUrl(),
-            Config.getConnectionTimeout(),
-            Config.getSocketTimeout(),
-            Config.getRetryCount(),
-            Config.getEnvironment()
-        );
-        Allure.addAttachment("API Configuration", "text/plain", apiConfig);
+                .setParam("http.socket.timeout", Config.getSocketTimeout())
+                .setParam("http.conn-manager.timeout", (long) Config.getConnectionTimeout()));
     }
 
     @BeforeEach
@@ -55,6 +77,7 @@ public abstract class BaseApiTest {
         
         // Сброс состояния между тестами
         RestAssured.reset();
+        configureRestAssured();
         
         // Прикрепляем метрики к каждому тесту
         Allure.addAttachment("Memory Metrics", "text/plain", 
@@ -2,32 +2,140 @@ package utils;
 
 import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Базовый класс для всех UI тестов
  * Содержит общую настройку WebDriver и автоматические скриншоты
+ * Драйвер хранится в {@link DriverRegistry}, поэтому классы можно запускать параллельно (профиль ui-parallel)
  */
+@ExtendWith(TestOutcomeExtension.class)
 public abstract class BaseUiTest {
 
     protected WebDriver driver;
     protected WebDriverWait wait;
     private long testStartTime;
+    private String testName;
+    private Throwable testFailure;
+    private NetworkRecorder networkRecorder;
+    private BrowserEvents browserEvents;
+    private EmulationProfile emulationProfile;
+    private String originalUserAgent;
+
+    @BeforeAll
+    static void prewarmBrowsers() {
+        // Браузеры запускаются параллельно в фоне, первый тест стартует с первым готовым
+        if (Config.isSessionReuseEnabled() && !Config.isBrowserContextsEnabled()) {
+            WebDriverPool.shared().prewarmAsync(Config.getSessionPrewarmCount());
+        }
+    }
+
+    @AfterAll
+    static void flushArtifacts() {
+        // Вложения класса должны быть записаны до того, как JUnit перейдет к следующему классу
+        if (!ArtifactCapture.shared().flush(30_000)) {
+            System.err.println("Не все вложения Allure записаны: " + ArtifactCapture.shared().getPendingCount());
+        }
+    }
+
+    @AfterAll
+    static void attachWebVitalsReport() {
+        // Агрегат накапливается за весь прогон, файл перезаписывается после каждого класса
+        if (Config.isWebVitalsEnabled() && !WebVitals.getAll().isEmpty()) {
+            Allure.addAttachment("Web Vitals (run)", "text/plain", WebVitals.report());
+            try {
+                WebVitals.writeJson(Paths.get(Config.getWebVitalsReport()));
+            } catch (IOException e) {
+                System.err.println("Не удалось записать отчет Web Vitals: " + e.getMessage());
+            }
+        }
+    }
+
+    @BeforeAll
+    static void scheduleLocatorProfile() {
+        // Профиль копится за весь прогон и пишется в файл один раз при завершении JVM
+        LocatorProfiler.writeReportOnExit(Paths.get(Config.getLocatorProfileReport()), Config.getLocatorProfileTop());
+    }
 
     @BeforeEach
     @Step("Настройка браузера")
-    void setupDriver() {
+    void setupDriver(TestInfo testInfo) {
         testStartTime = System.currentTimeMillis();
+        testName = getClass().getSimpleName() + "." + testInfo.getTestMethod().map(m -> m.getName()).orElse("unknown");
+        testFailure = null;
+        
+        // Драйвер привязан к потоку JUnit; сессия берется из пула, если переиспользование включено
+        driver = DriverRegistry.start();
+        wait = DriverRegistry.getWait();
+        WaitEngine.resetStats();
+        // Счетчик fetch/XHR с начала документа: по нему шаги page object ждут стабилизации страницы
+        WaitEngine.install(driver);
+        
+        // Блокировка ненужных тесту ресурсов (картинки, шрифты, сторонние скрипты)
+        BlockResources blockResources = getClass().getAnnotation(BlockResources.class);
+        if (blockResources != null) {
+            List<BlockResources.ResourceType> types = Arrays.asList(blockResources.types());
+            List<String> patterns = Arrays.asList(blockResources.patterns());
+            if (WebDriverUtils.blockResources(driver, types, patterns)) {
+                Allure.addAttachment("Blocked Resources", "text/plain",
+                    "Types: " + types + "\nPatterns: " + String.join(", ", patterns));
+            }
+        }
+        
+        // Запись сети включается явно: HAR нужен только для разбора медленных и упавших тестов
+        // Подписки DevTools привязаны к одной вкладке, поэтому в режиме общих контекстов они не ведутся
+        boolean sharedBrowser = Config.isBrowserContextsEnabled();
+        if (Config.isHarEnabled() && !sharedBrowser) {
+            networkRecorder = new NetworkRecorder();
+            if (!networkRecorder.attach(driver)) {
+                networkRecorder = null;
+            }
+        }
+        
+        // Консоль, ошибки JS, сеть и навигация пишутся в буфер теста push-подпиской (BiDi или CDP)
+        if (Config.isBrowserEventsEnabled() && !sharedBrowser) {
+            browserEvents = new BrowserEvents(Config.getBrowserEventsCapacity());
+            try {
+                if (browserEvents.attach(driver) == null) {
+                    browserEvents = null;
+                }
+            } catch (RuntimeException e) {
+                Allure.addAttachment("Browser Events Error", "text/plain", "Failed to subscribe: " + e.getMessage());
+                browserEvents = null;
+            }
+        }
         
-        driver = WebDriverUtils.createWebDriver(Config.isHeadless());
-        wait = WebDriverUtils.createWebDriverWait(driver, Config.getTimeout());
+        // Бюджеты производительности: ui.performance.budgets, поверх них @PerformanceBudget класса и метода
+        PerformanceBudgets.begin(getClass(), testInfo.getTestMethod().orElse(null));
+        
+        // Профиль эмуляции: аннотация метода, затем класса, затем ui.emulation.profile
+        Emulate emulate = testInfo.getTestMethod().map(m -> m.getAnnotation(Emulate.class))
+            .orElse(getClass().getAnnotation(Emulate.class));
+        String profileName = emulate != null ? emulate.value() : Config.getEmulationProfile();
+        if (!profileName.isBlank()) {
+            applyEmulation(profileName);
+        }
         
         // Прикрепляем информацию о браузере к Allure
         Allure.addAttachment("Browser Info", "text/plain", 
             "Browser: " + driver.getClass().getSimpleName());
+        if (sharedBrowser) {
+            Allure.addAttachment("Browser Contexts", "text/plain", BrowserContextPool.shared().getStats());
+        } else if (Config.isSessionReuseEnabled()) {
+            Allure.addAttachment("Browser Launch Latency", "text/plain", WebDriverPool.shared().getLaunchReport());
+        }
         Allure.addAttachment("Memory Metrics", "text/plain", 
             "Free Memory: " + Runtime.getRuntime().freeMemory() + " bytes\n" +
             "Total Memory: " + Runtime.getRuntime().totalMemory() + " bytes\n" +
@@ -48,7 +156,7 @@ public abstract class BaseUiTest {
     }
 
     @AfterEach
-    @Step("Закрытие браузера")
+    @Step("Закрытие браузера или возврат сессии в пул")
     void tearDownDriver() {
         if (driver != null) {
             try {
@@ -58,20 +166,27 @@ public abstract class BaseUiTest {
                 Allure.addAttachment("Execution Time", "text/plain", 
                     "Test execution time: " + executionTime + " ms");
                 
-                // Делаем финальный скриншот
-                try {
-                    byte[] screenshot = ((org.openqa.selenium.TakesScreenshot) driver).getScreenshotAs(org.openqa.selenium.OutputType.BYTES);
-                    Allure.addAttachment("Final Screenshot", "image/png", new java.io.ByteArrayInputStream(screenshot), "png");
-                } catch (Exception e) {
-                    Allure.addAttachment("Screenshot Error", "text/plain", "Failed to take screenshot: " + e.getMessage());
+                attachNetworkRecording(executionTime);
+                if (browserEvents != null && !browserEvents.getEvents().isEmpty()) {
+                    Allure.addAttachment("Browser Events", "text/plain", browserEvents.report());
+                }
+                Allure.addAttachment("Wait Time", "text/plain", WaitEngine.getStats().toString());
+                if (!PerformanceBudgets.current().getMeasurements().isEmpty()) {
+                    Allure.addAttachment("Performance Budgets", "text/plain", PerformanceBudgets.current().report());
                 }
                 
-                // Прикрепляем информацию о странице
-                try {
-                    String pageSource = driver.getPageSource();
-                    Allure.addAttachment("Final Page State", "text/html", pageSource);
-                } catch (Exception e) {
-                    Allure.addAttachment("Page Source Error", "text/plain", "Failed to get page source: " + e.getMessage());
+                // Скриншот и исходный код страницы снимаются по политике, кодирование и запись - в фоне
+                if (Config.getCapturePolicy().shouldCapture(testFailure != null, executionTime, Config.getCaptureSlowMs())) {
+                    try {
+                        ArtifactCapture.shared().captureScreenshot(driver, "Final Screenshot");
+                    } catch (Exception e) {
+                        Allure.addAttachment("Screenshot Error", "text/plain", "Failed to take screenshot: " + e.getMessage());
+                    }
+                    try {
+                        ArtifactCapture.shared().capturePageSource(driver, "Final Page State");
+                    } catch (Exception e) {
+                        Allure.addAttachment("Page Source Error", "text/plain", "Failed to get page source: " + e.getMessage());
+                    }
                 }
                 
                 // Прикрепляем финальные метрики
@@ -87,32 +202,120 @@ public abstract class BaseUiTest {
                     "text/plain", 
                     "Error: " + e.getMessage());
             } finally {
-                driver.quit();
+                if (networkRecorder != null) {
+                    networkRecorder.detach();
+                    networkRecorder = null;
+                }
+                if (browserEvents != null) {
+                    browserEvents.detach();
+                    browserEvents = null;
+                }
+                if (emulationProfile != null) {
+                    // Сессия уходит в пул: следующий тест не должен унаследовать троттлинг
+                    try {
+                        EmulationProfile.reset(driver, originalUserAgent);
+                    } catch (RuntimeException e) {
+                        Allure.addAttachment("Emulation Reset Error", "text/plain", e.getMessage());
+                    }
+                    emulationProfile = null;
+                    originalUserAgent = null;
+                }
+                PerformanceBudgets.end();
+                DriverRegistry.stop();
+                if (Config.isSessionReuseEnabled() && !Config.isBrowserContextsEnabled()) {
+                    Allure.addAttachment("Session Pool", "text/plain", WebDriverPool.shared().getStats().toString());
+                }
             }
         }
     }
 
+    /**
+     * Результат теста от {@link TestOutcomeExtension}, вызывается до @AfterEach
+     */
+    void onTestExecuted(Throwable failure) {
+        testFailure = failure;
+    }
+
+    /**
+     * Прикрепить HAR и сводку по сети, если тест упал или превысил бюджет времени
+     */
+    private void attachNetworkRecording(long executionTime) {
+        if (networkRecorder == null) {
+            return;
+        }
+        boolean overBudget = executionTime > Config.getHarTimeBudgetMs();
+        if (testFailure == null && !overBudget) {
+            return;
+        }
+        try {
+            byte[] har = networkRecorder.toHarBytes();
+            networkRecorder.writeHar(Paths.get(Config.getHarDir(), testName + ".har"));
+            Allure.addAttachment("Network HAR", "application/json", new java.io.ByteArrayInputStream(har), "har");
+            Allure.addAttachment("Network Summary", "text/plain",
+                (testFailure != null ? "Reason: test failed\n" : "Reason: " + executionTime + " ms > budget " + Config.getHarTimeBudgetMs() + " ms\n")
+                    + networkRecorder.summary(Config.getHarSummaryTop()));
+        } catch (IOException e) {
+            Allure.addAttachment("HAR Error", "text/plain", "Failed to write HAR: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Запустить остаток теста под профилем эмуляции (сеть, CPU, устройство)
+     * Метрики страниц после этого собираются отдельно по профилю
+     */
+    @Step("Применить профиль эмуляции: {profileName}")
+    protected void applyEmulation(String profileName) {
+        EmulationProfile profile = EmulationProfile.of(profileName);
+        if (profile.hasDevice() && originalUserAgent == null) {
+            originalUserAgent = EmulationProfile.currentUserAgent(driver);
+        }
+        if (profile.apply(driver)) {
+            emulationProfile = profile;
+            // Бюджеты заданы для desktop: под троттлингом замеры только записываются
+            PerformanceBudgets.current().setEnforcing("desktop".equals(profile.getName()));
+            Allure.addAttachment("Emulation Profile", "text/plain", profile.toString());
+        }
+    }
+
+    /**
+     * Повторить сценарий ui.soak.iterations раз в текущей сессии и проверить тренды памяти
+     * Отчет и замеры по итерациям прикрепляются к Allure до проверки, чтобы были видны и при падении
+     */
+    @Step("Soak: {scenario}")
+    protected MemorySoak.SoakResult soak(String scenario, java.util.function.IntConsumer iteration) {
+        MemorySoak.SoakResult result = new MemorySoak(driver).run(Config.getSoakIterations(), iteration);
+        Allure.addAttachment("Memory Soak", "text/plain", result.report());
+        Allure.addAttachment("Memory Soak Samples", "text/csv", result.toCsv());
+        result.assertNoLeaks(scenario);
+        return result;
+    }
+
+    /**
+     * События браузера текущего теста; null, если подписка выключена или недоступна
+     */
+    protected BrowserEvents browserEvents() {
+        return browserEvents;
+    }
+
     /**
      * Вспомогательный метод для ожидания загрузки страницы
      */
     @Step("Ожидание загрузки страницы")
     protected void waitForPageLoad() {
-        wait.until(webDriver -> 
-            ((org.openqa.selenium.JavascriptExecutor) webDriver)
-                .executeScript("return document.readyState").equals("complete"));
+        WaitEngine.waitForPageLoad(driver, java.time.Duration.ofSeconds(Config.getTimeout()));
     }
     
     /**
      * Ожидание элемента с повторными попытками
      */
     protected void waitForElementWithRetry(org.openqa.selenium.By locator, int maxRetries) {
+        // Повторные попытки идут подряд: ожидание событийное, пауза между ними ничего не дает
         for (int i = 0; i < maxRetries; i++) {
             try {
-                wait.until(org.openqa.selenium.support.ui.ExpectedConditions.presenceOfElementLocated(locator));
+                WaitEngine.waitForElement(driver, locator, java.time.Duration.ofSeconds(Config.getTimeout()));
                 return;
             } catch (Exception e) {
                 if (i == maxRetries - 1) throw e;
-                try { Thread.sleep(1000); } catch (InterruptedException ie) { Thread.currentThread().interrupt(); }
             }
         }
     }
@@ -121,7 +324,7 @@ public abstract class BaseUiTest {
      * Ожидание элемента с кастомным таймаутом
      */
     protected void waitForElement(org.openqa.selenium.By locator, int timeoutSeconds) {
-        WebDriverWait customWait = new WebDriverWait(driver, java.time.Duration.ofSeconds(timeoutSeconds));
+        WebDriverWait customWait = WebDriverUtils.createWebDriverWait(driver, timeoutSeconds);
         customWait.until(org.openqa.selenium.support.ui.ExpectedConditions.presenceOfElementLocated(locator));
     }
     
@@ -144,12 +347,30 @@ public abstract class BaseUiTest {
      */
     @Step("Переход на страницу: {url}")
     protected void navigateTo(String url) {
+        if (Config.isWebVitalsEnabled()) {
+            WebVitals.beforeNavigation(driver);
+        }
         driver.get(url);
         waitForPageLoad();
         
         // Прикрепляем информацию о навигации
         Allure.addAttachment("Navigation Info", "text/plain", 
             "URL: " + driver.getCurrentUrl() + "\nTitle: " + driver.getTitle());
+        
+        // Ошибка сбора метрик не роняет функциональный тест, падает только превышение бюджета
+        if (Config.isWebVitalsEnabled()) {
+            WebVitals.PageMetrics metrics = null;
+            try {
+                String profile = emulationProfile == null ? null : emulationProfile.getName();
+                metrics = WebVitals.capture(driver, profile);
+                Allure.addAttachment("Web Vitals", "text/plain", metrics.toString());
+            } catch (Exception e) {
+                Allure.addAttachment("Web Vitals Error", "text/plain", "Failed to capture web vitals: " + e.getMessage());
+            }
+            if (metrics != null) {
+                PerformanceBudgets.current().checkNavigation(metrics);
+            }
+        }
     }
 
     /**
@@ -166,8 +387,7 @@ public abstract class BaseUiTest {
      */
     protected void attachError(Throwable error) {
         try {
-            byte[] screenshot = ((org.openqa.selenium.TakesScreenshot) driver).getScreenshotAs(org.openqa.selenium.OutputType.BYTES);
-            Allure.addAttachment("Error Screenshot", "image/png", new java.io.ByteArrayInputStream(screenshot), "png");
+            ArtifactCapture.shared().captureScreenshot(driver, "Error Screenshot");
         } catch (Exception e) {
             Allure.addAttachment("Screenshot Error", "text/plain", "Failed to take error screenshot: " + e.getMessage());
         }
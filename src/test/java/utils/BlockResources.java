@@ -0,0 +1,65 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Аннотация для блокировки загрузки ресурсов в UI тестах класса
+ * Применяется в BaseUiTest через CDP (только Chromium браузеры): типы ресурсов блокируются перехватом Fetch
+ * по типу запроса ({@link ResourceTypeBlocker}), шаблоны - через Network.setBlockedURLs
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface BlockResources {
+
+    /**
+     * Типы ресурсов, которые не загружаются
+     */
+    ResourceType[] types() default {};
+
+    /**
+     * Дополнительные URL шаблоны CDP (символ * - любая подстрока), например "*google-analytics.com*"
+     */
+    String[] patterns() default {};
+
+    /**
+     * Типы ресурсов: тип запроса CDP (Network.ResourceType) и запасные шаблоны URL по расширениям
+     */
+    enum ResourceType {
+        IMAGE("Image", "png", "jpg", "jpeg", "gif", "webp", "svg", "ico"),
+        FONT("Font", "woff", "woff2", "ttf", "otf", "eot"),
+        MEDIA("Media", "mp4", "webm", "mp3", "ogg", "wav"),
+        STYLESHEET("Stylesheet", "css");
+
+        private final String cdpType;
+        private final List<String> patterns;
+
+        ResourceType(String cdpType, String... extensions) {
+            this.cdpType = cdpType;
+            List<String> urlPatterns = new ArrayList<>();
+            for (String extension : extensions) {
+                // Вариант с ? нужен для адресов с query string (logo.png?v=3)
+                urlPatterns.add("*." + extension);
+                urlPatterns.add("*." + extension + "?*");
+            }
+            this.patterns = List.copyOf(urlPatterns);
+        }
+
+        public String getCdpType() {
+            return cdpType;
+        }
+
+        /**
+         * Шаблоны URL на случай, если перехват Fetch недоступен; адреса без расширения ими не ловятся
+         */
+        public List<String> getPatterns() {
+            return patterns;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Несколько изолированных браузерных контекстов в одном процессе браузера
+ * Каждый тест получает свой контекст CDP (отдельные cookies, localStorage, кэш) с одним окном
+ * Сессия WebDriver у процесса одна, поэтому команды тестов сериализуются: выданный драйвер - декоратор,
+ * который на каждый вызов берет блокировку процесса и переключается на окно своего контекста
+ * Долгие асинхронные скрипты (ожидания WaitEngine) держат блокировку до завершения
+ * Каждый процесс браузера держит слот {@link BrowserSlots} до shutdown, поэтому лимит процессов общий для всех форков
+ */
+public class BrowserContextPool {
+
+    /**
+     * Управление контекстами браузера (по умолчанию - Target.* через DevTools)
+     */
+    public interface Contexts {
+        String create();
+
+        /**
+         * Открыть окно в контексте
+         * @return targetId окна
+         */
+        String openWindow(String contextId);
+
+        void dispose(String contextId);
+    }
+
+    private static final long LAUNCH_POLL_MS = 100;
+
+    private static BrowserContextPool shared;
+
+    private final int perProcess;
+    private final Supplier<WebDriver> launcher;
+    private final Function<WebDriver, Contexts> contextsFactory;
+    private final BrowserSlots slots;
+    private final Semaphore permits;
+    private final ReentrantLock launchLock = new ReentrantLock(true);
+    private final List<Host> hosts = new ArrayList<>();
+    private final Map<WebDriver, Lease> leases = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final AtomicInteger contextsCreated = new AtomicInteger();
+    private final AtomicInteger peakLeased = new AtomicInteger();
+
+    public BrowserContextPool(int perProcess, int maxProcesses, Supplier<WebDriver> launcher,
+                              Function<WebDriver, Contexts> contextsFactory) {
+        this(perProcess, maxProcesses, launcher, contextsFactory, null);
+    }
+
+    /**
+     * @param slots слоты браузеров на машине; null - только лимит процессов этого JVM
+     */
+    public BrowserContextPool(int perProcess, int maxProcesses, Supplier<WebDriver> launcher,
+                              Function<WebDriver, Contexts> contextsFactory, BrowserSlots slots) {
+        if (perProcess < 1 || maxProcesses < 1) {
+            throw new IllegalArgumentException("Число контекстов и процессов должно быть >= 1");
+        }
+        this.perProcess = perProcess;
+        this.launcher = launcher;
+        this.contextsFactory = contextsFactory;
+        this.slots = slots;
+        this.permits = new Semaphore(perProcess * maxProcesses, true);
+    }
+
+    /**
+     * Общий пул на весь JVM: процессов не больше лимита браузеров на машину
+     */
+    public static synchronized BrowserContextPool shared() {
+        if (shared == null) {
+            shared = new BrowserContextPool(Config.getBrowserContextsPerProcess(), Config.getMaxBrowsersPerMachine(),
+                () -> WebDriverUtils.createWebDriver(Config.isHeadless()), CdpContexts::new, BrowserSlots.machine());
+            BrowserContextPool pool = shared;
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "browser-context-pool-shutdown"));
+        }
+        return shared;
+    }
+
+    /**
+     * Взять контекст в аренду; новый процесс запускается, только если во всех запущенных заняты все контексты
+     */
+    public WebDriver lease() {
+        try {
+            if (!permits.tryAcquire(Config.getSessionLeaseTimeout(), TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Нет свободного контекста браузера");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание контекста браузера прервано", e);
+        }
+        Host host;
+        try {
+            host = reserveHost();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        host.lock.lock();
+        try {
+            Set<String> before = new HashSet<>(host.driver.getWindowHandles());
+            String contextId = host.contexts.create();
+            String targetId = host.contexts.openWindow(contextId);
+            Set<String> after = new HashSet<>(host.driver.getWindowHandles());
+            after.removeAll(before);
+            // ChromeDriver использует targetId как дескриптор окна; иначе берется новое окно
+            String handle = after.contains(targetId) || after.isEmpty() ? targetId : after.iterator().next();
+            contextsCreated.incrementAndGet();
+            Lease lease = new Lease(host, contextId, handle);
+            WebDriver driver = new ContextDecorator(lease).decorate(host.driver);
+            lease.driver = driver;
+            leases.put(driver, lease);
+            peakLeased.accumulateAndGet(leases.size(), Math::max);
+            return driver;
+        } catch (RuntimeException e) {
+            release(host);
+            throw e;
+        } finally {
+            host.lock.unlock();
+        }
+    }
+
+    /**
+     * Свободный контекст или новый процесс; слот машины и запуск браузера ждутся вне монитора пула,
+     * поэтому release других тестов не блокируется, а освободившийся контекст сразу достается ждущему
+     */
+    private Host reserveHost() {
+        long timeoutMs = Config.getSessionLeaseTimeout() * 1000L;
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (true) {
+            Host host = reserveExisting();
+            if (host != null) {
+                return host;
+            }
+            // Процессы запускаются по одному: ожидающие одного запуска не запускают лишние
+            if (launchLock.tryLock()) {
+                try {
+                    host = reserveExisting();
+                    if (host != null) {
+                        return host;
+                    }
+                    // Новый процесс занимает слот машины: процессы других форков тоже считаются
+                    BrowserSlots.Slot slot = slots == null ? null : slots.tryAcquire();
+                    if (slots == null || slot != null) {
+                        return launch(slot);
+                    }
+                } finally {
+                    launchLock.unlock();
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("Все слоты браузеров на машине заняты дольше " + timeoutMs + " мс");
+            }
+            try {
+                Thread.sleep(LAUNCH_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Ожидание запуска браузера прервано", e);
+            }
+        }
+    }
+
+    private Host launch(BrowserSlots.Slot slot) {
+        Host host;
+        try {
+            WebDriver driver = launcher.get();
+            host = new Host(driver, contextsFactory.apply(driver), slot);
+        } catch (RuntimeException e) {
+            if (slot != null) {
+                slot.close();
+            }
+            throw e;
+        }
+        synchronized (this) {
+            hosts.add(host);
+            host.leased++;
+        }
+        return host;
+    }
+
+    /**
+     * Свободный контекст в уже запущенном процессе; null, если все заняты
+     */
+    private synchronized Host reserveExisting() {
+        for (Host host : hosts) {
+            if (host.leased < perProcess) {
+                host.leased++;
+                return host;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void release(Host host) {
+        host.leased--;
+        permits.release();
+    }
+
+    /**
+     * Вернуть контекст: он закрывается вместе с окном, cookies и хранилищем
+     */
+    public void release(WebDriver driver) {
+        Lease lease = leases.remove(driver);
+        if (lease == null) {
+            return;
+        }
+        Host host = lease.host;
+        host.lock.lock();
+        try {
+            host.contexts.dispose(lease.contextId);
+        } catch (RuntimeException e) {
+            System.err.println("Не удалось закрыть контекст браузера: " + e.getMessage());
+        } finally {
+            if (lease.handle.equals(host.currentHandle)) {
+                host.currentHandle = null;
+            }
+            host.lock.unlock();
+            release(host);
+        }
+    }
+
+    public synchronized int getProcessCount() {
+        return hosts.size();
+    }
+
+    public int getLeasedCount() {
+        return leases.size();
+    }
+
+    public synchronized void shutdown() {
+        for (Host host : hosts) {
+            try {
+                host.driver.quit();
+            } catch (RuntimeException e) {
+                System.err.println("Не удалось закрыть браузер: " + e.getMessage());
+            } finally {
+                if (host.slot != null) {
+                    host.slot.close();
+                }
+            }
+        }
+        hosts.clear();
+        leases.clear();
+    }
+
+    public synchronized String getStats() {
+        return String.format("Browser processes: %d, contexts per process: %d, contexts created: %d, leased now: %d, peak leased: %d",
+            hosts.size(), perProcess, contextsCreated.get(), leases.size(), peakLeased.get());
+    }
+
+    /**
+     * Процесс браузера с одной сессией WebDriver
+     */
+    private static class Host {
+        private final WebDriver driver;
+        private final Contexts contexts;
+        private final BrowserSlots.Slot slot;
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private String currentHandle;
+        private int leased;
+
+        Host(WebDriver driver, Contexts contexts, BrowserSlots.Slot slot) {
+            this.driver = driver;
+            this.contexts = contexts;
+            this.slot = slot;
+        }
+
+        /**
+         * Переключить сессию на окно, если сейчас активно окно другого теста
+         */
+        void activate(String handle) {
+            if (!handle.equals(currentHandle)) {
+                driver.switchTo().window(handle);
+                currentHandle = handle;
+            }
+        }
+    }
+
+    private static class Lease {
+        private final Host host;
+        private final String contextId;
+        private String handle;
+        private WebDriver driver;
+
+        Lease(Host host, String contextId, String handle) {
+            this.host = host;
+            this.contextId = contextId;
+            this.handle = handle;
+        }
+    }
+
+    /**
+     * Каждый вызов драйвера, его элементов и навигации выполняется под блокировкой процесса в окне теста
+     * quit и close возвращают контекст в пул, не закрывая общий браузер
+     */
+    private class ContextDecorator extends WebDriverDecorator<WebDriver> {
+        private final Lease lease;
+
+        ContextDecorator(Lease lease) {
+            this.lease = lease;
+        }
+
+        @Override
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            Object original = target.getOriginal();
+            if (method.getDeclaringClass() == Object.class) {
+                return super.call(target, method, args);
+            }
+            if (original == lease.host.driver && ("quit".equals(method.getName()) || "close".equals(method.getName()))) {
+                release(lease.driver);
+                return null;
+            }
+            lease.host.lock.lock();
+            try {
+                lease.host.activate(lease.handle);
+                Object result = super.call(target, method, args);
+                if (original instanceof WebDriver.TargetLocator && "window".equals(method.getName())) {
+                    // Тест сам переключился на другое окно своего контекста (например, всплывающее)
+                    lease.handle = String.valueOf(args[0]);
+                    lease.host.currentHandle = lease.handle;
+                }
+                return result;
+            } finally {
+                lease.host.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Контексты через Target.* на уровне браузера: DevTools без сессии страницы отправляет команды браузеру
+     */
+    static class CdpContexts implements Contexts {
+        private final DevTools devTools;
+
+        CdpContexts(WebDriver driver) {
+            if (!(driver instanceof HasDevTools)) {
+                throw new IllegalStateException("Браузерные контексты требуют Chromium с DevTools");
+            }
+            this.devTools = ((HasDevTools) driver).getDevTools();
+        }
+
+        @Override
+        public String create() {
+            return String.valueOf(send("Target.createBrowserContext", Map.of("disposeOnDetach", false)).get("browserContextId"));
+        }
+
+        @Override
+        public String openWindow(String contextId) {
+            String[] size = Config.getWindowSize().split(",");
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("url", "about:blank");
+            params.put("browserContextId", contextId);
+            params.put("width", Integer.parseInt(size[0].trim()));
+            params.put("height", Integer.parseInt(size[1].trim()));
+            return String.valueOf(send("Target.createTarget", params).get("targetId"));
+        }
+
+        @Override
+        public void dispose(String contextId) {
+            send("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        }
+
+        private Map<String, Object> send(String method, Map<String, Object> params) {
+            return devTools.send(new Command<Map<String, Object>>(method, params, input -> input.read(Json.MAP_TYPE)));
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.BiDi;
+import org.openqa.selenium.bidi.HasBiDi;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Буфер событий браузера одного теста: консоль, ошибки JS, сеть и навигация
+ * События приходят push-подпиской WebDriver BiDi (нужна capability webSocketUrl, см. ui.bidi.enabled),
+ * а без BiDi - подпиской на те же события CDP; в простое подписка ничего не стоит
+ * Подключенный буфер доступен по драйверу ({@link #of}), и ожидания {@link WaitEngine} ждут события вместо опроса
+ */
+public class BrowserEvents {
+
+    public enum Type {
+        CONSOLE, JS_ERROR, NETWORK, NETWORK_ERROR, NAVIGATION, LOAD
+    }
+
+    private static final String[] BIDI_EVENTS = {
+        "log.entryAdded",
+        "browsingContext.navigationStarted",
+        "browsingContext.load",
+        "network.responseCompleted",
+        "network.fetchError"
+    };
+
+    private static final String[] CDP_EVENTS = {
+        "Runtime.consoleAPICalled",
+        "Runtime.exceptionThrown",
+        "Page.frameNavigated",
+        "Page.loadEventFired",
+        "Network.responseReceived",
+        "Network.loadingFailed",
+        "Network.requestWillBeSent",
+        "Network.loadingFinished"
+    };
+
+    private static final Map<WebDriver, BrowserEvents> bound = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int capacity;
+    private final Deque<BrowserEvent> events = new ArrayDeque<>();
+    private long dropped;
+    private BiDi bidi;
+    private DevToolsEvents cdp;
+    // URL запросов CDP по requestId: Network.loadingFailed сообщает только requestId
+    private final Map<String, String> requestUrls = new LinkedHashMap<>();
+    private WebDriver driver;
+
+    public BrowserEvents(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Подписаться на события: сначала BiDi, затем CDP
+     * @return протокол подписки ("bidi", "cdp") или null, если браузер не поддерживает ни один
+     */
+    public String attach(WebDriver driver) {
+        Optional<BiDi> maybeBiDi = driver instanceof HasBiDi ? ((HasBiDi) driver).maybeGetBiDi() : Optional.empty();
+        if (maybeBiDi.isPresent()) {
+            bidi = maybeBiDi.get();
+            for (String method : BIDI_EVENTS) {
+                try {
+                    bidi.addListener(new org.openqa.selenium.bidi.Event<Map<String, Object>>(method, params -> params),
+                        params -> onBiDiEvent(method, params));
+                } catch (RuntimeException e) {
+                    // Драйвер может не поддерживать отдельный модуль BiDi, остальные подписки работают
+                    System.err.println("Подписка BiDi " + method + " недоступна: " + e.getMessage());
+                }
+            }
+            bind(driver);
+            return "bidi";
+        }
+        cdp = DevToolsEvents.forDriver(driver);
+        if (cdp == null) {
+            return null;
+        }
+        for (String method : CDP_EVENTS) {
+            cdp.listen(this, method, params -> onCdpEvent(method, params));
+        }
+        cdp.send("Runtime.enable");
+        cdp.send("Page.enable");
+        cdp.send("Network.enable");
+        bind(driver);
+        return "cdp";
+    }
+
+    /**
+     * Сделать буфер доступным ожиданиям этого драйвера; attach вызывает его сам
+     */
+    public void bind(WebDriver driver) {
+        this.driver = driver;
+        bound.put(driver, this);
+    }
+
+    /**
+     * Подключенный буфер событий драйвера или null, если подписки нет
+     */
+    public static BrowserEvents of(WebDriver driver) {
+        return driver == null ? null : bound.get(driver);
+    }
+
+    /**
+     * Отписаться; сессия браузера остается рабочей для пула
+     */
+    public void detach() {
+        try {
+            if (bidi != null) {
+                bidi.clearListeners();
+            }
+            if (cdp != null) {
+                // Снимаются только свои подписки: NetworkRecorder на той же сессии продолжает запись
+                cdp.release(this);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Не удалось отключить события браузера: " + e.getMessage());
+        } finally {
+            if (driver != null) {
+                bound.remove(driver, this);
+                driver = null;
+            }
+            bidi = null;
+            cdp = null;
+        }
+    }
+
+    /**
+     * Событие BiDi: параметры в формате спецификации WebDriver BiDi
+     */
+    public void onBiDiEvent(String method, Map<String, Object> params) {
+        switch (method) {
+            case "log.entryAdded":
+                boolean jsError = "javascript".equals(params.get("type"));
+                add(jsError ? Type.JS_ERROR : Type.CONSOLE, String.valueOf(params.get("level")), String.valueOf(params.get("text")));
+                break;
+            case "browsingContext.navigationStarted":
+                add(Type.NAVIGATION, "info", String.valueOf(params.get("url")));
+                break;
+            case "browsingContext.load":
+                add(Type.LOAD, "info", String.valueOf(params.get("url")));
+                break;
+            case "network.responseCompleted":
+                Map<String, Object> response = map(params.get("response"));
+                add(Type.NETWORK, level(response.get("status")), response.get("status") + " " + url(params));
+                break;
+            case "network.fetchError":
+                add(Type.NETWORK_ERROR, "error", params.get("errorText") + " " + url(params));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Событие CDP с теми же типами, что и BiDi
+     */
+    public void onCdpEvent(String method, Map<String, Object> params) {
+        switch (method) {
+            case "Runtime.consoleAPICalled":
+                List<String> args = new ArrayList<>();
+                for (Object arg : params.get("args") instanceof List ? (List<?>) params.get("args") : List.of()) {
+                    Map<String, Object> value = map(arg);
+                    args.add(String.valueOf(value.containsKey("value") ? value.get("value") : value.get("description")));
+                }
+                add(Type.CONSOLE, String.valueOf(params.get("type")), String.join(" ", args));
+                break;
+            case "Runtime.exceptionThrown":
+                Map<String, Object> details = map(params.get("exceptionDetails"));
+                Object description = map(details.get("exception")).get("description");
+                add(Type.JS_ERROR, "error", String.valueOf(description != null ? description : details.get("text")));
+                break;
+            case "Page.frameNavigated":
+                Map<String, Object> frame = map(params.get("frame"));
+                if (frame.get("parentId") == null) {
+                    add(Type.NAVIGATION, "info", String.valueOf(frame.get("url")));
+                }
+                break;
+            case "Page.loadEventFired":
+                add(Type.LOAD, "info", "load");
+                break;
+            case "Network.responseReceived":
+                Map<String, Object> response = map(params.get("response"));
+                add(Type.NETWORK, level(response.get("status")), response.get("status") + " " + response.get("url"));
+                break;
+            case "Network.requestWillBeSent":
+                rememberUrl(String.valueOf(params.get("requestId")), String.valueOf(map(params.get("request")).get("url")));
+                break;
+            case "Network.loadingFinished":
+                forgetUrl(String.valueOf(params.get("requestId")));
+                break;
+            case "Network.loadingFailed":
+                String requestId = String.valueOf(params.get("requestId"));
+                String failedUrl = forgetUrl(requestId);
+                add(Type.NETWORK_ERROR, "error", params.get("errorText") + " " + (failedUrl != null ? failedUrl : requestId));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private synchronized void rememberUrl(String requestId, String url) {
+        // Незавершенные запросы не должны копиться без предела на долгих страницах
+        if (requestUrls.size() >= capacity && !requestUrls.containsKey(requestId)) {
+            requestUrls.remove(requestUrls.keySet().iterator().next());
+        }
+        requestUrls.put(requestId, url);
+    }
+
+    private synchronized String forgetUrl(String requestId) {
+        return requestUrls.remove(requestId);
+    }
+
+    private synchronized void add(Type type, String level, String message) {
+        if (events.size() >= capacity) {
+            events.removeFirst();
+            dropped++;
+        }
+        events.addLast(new BrowserEvent(Instant.now(), type, level, message));
+        notifyAll();
+    }
+
+    public synchronized List<BrowserEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    public synchronized List<BrowserEvent> getEvents(Type type) {
+        return events.stream().filter(event -> event.getType() == type).collect(Collectors.toList());
+    }
+
+    public List<BrowserEvent> getJsErrors() {
+        return getEvents(Type.JS_ERROR);
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized void clear() {
+        events.clear();
+        requestUrls.clear();
+        dropped = 0;
+    }
+
+    /**
+     * Ждать события без опроса браузера: поток спит, пока подписка не добавит подходящее событие
+     * Уже записанные события тоже учитываются
+     * @return событие или null по таймауту
+     */
+    public synchronized BrowserEvent await(Predicate<BrowserEvent> condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            for (BrowserEvent event : events) {
+                if (condition.test(event)) {
+                    return event;
+                }
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+    }
+
+    /**
+     * Ждать события определенного типа, текст которого содержит fragment
+     */
+    public BrowserEvent await(Type type, String fragment, Duration timeout) throws InterruptedException {
+        return await(event -> event.getType() == type && event.getMessage().contains(fragment), timeout);
+    }
+
+    /**
+     * Текстовая лента событий с итогом по типам
+     */
+    public synchronized String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Type type : Type.values()) {
+            long count = events.stream().filter(event -> event.getType() == type).count();
+            if (count > 0) {
+                sb.append(type).append(": ").append(count).append("\n");
+            }
+        }
+        if (dropped > 0) {
+            sb.append("Dropped (buffer full): ").append(dropped).append("\n");
+        }
+        sb.append("\n");
+        events.forEach(event -> sb.append(event).append("\n"));
+        return sb.toString();
+    }
+
+    private static String level(Object status) {
+        return status instanceof Number && ((Number) status).intValue() >= 400 ? "error" : "info";
+    }
+
+    private static String url(Map<String, Object> params) {
+        return String.valueOf(map(params.get("request")).get("url"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    /**
+     * Одно событие браузера
+     */
+    public static class BrowserEvent {
+        private final Instant timestamp;
+        private final Type type;
+        private final String level;
+        private final String message;
+
+        public BrowserEvent(Instant timestamp, Type type, String level, String message) {
+            this.timestamp = timestamp;
+            this.type = type;
+            this.level = level;
+            this.message = message;
+        }
+
+        public Instant getTimestamp() {
+            return timestamp;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return timestamp + " [" + type + "/" + level + "] " + message;
+        }
+    }
+}
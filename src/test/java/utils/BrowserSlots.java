@@ -0,0 +1,132 @@
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Ограничение числа одновременно работающих браузеров на машине
+ * Каждый слот - файл с блокировкой, поэтому лимит общий для всех потоков и всех форков surefire
+ */
+public class BrowserSlots {
+
+    private static BrowserSlots machine;
+
+    private final Path slotDir;
+    private final int maxSlots;
+    private final long pollIntervalMs;
+
+    public BrowserSlots(Path slotDir, int maxSlots, long pollIntervalMs) {
+        if (maxSlots < 1) {
+            throw new IllegalArgumentException("Число слотов должно быть >= 1: " + maxSlots);
+        }
+        this.slotDir = slotDir;
+        this.maxSlots = maxSlots;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    /**
+     * Слоты машины с настройками из конфигурации
+     */
+    public static synchronized BrowserSlots machine() {
+        if (machine == null) {
+            machine = new BrowserSlots(Paths.get(Config.getBrowserSlotDir()), Config.getMaxBrowsersPerMachine(), 200);
+        }
+        return machine;
+    }
+
+    public int getMaxSlots() {
+        return maxSlots;
+    }
+
+    /**
+     * Занять свободный слот, ожидая не дольше timeoutMs
+     */
+    public Slot acquire(long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        try {
+            while (true) {
+                Slot slot = tryAcquire();
+                if (slot != null) {
+                    return slot;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new IllegalStateException(String.format(
+                        "Все %d слотов браузеров на машине заняты дольше %d мс", maxSlots, timeoutMs));
+                }
+                Thread.sleep(pollIntervalMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание слота браузера прервано", e);
+        }
+    }
+
+    /**
+     * Занять свободный слот без ожидания; null, если все слоты заняты
+     */
+    public Slot tryAcquire() {
+        try {
+            Files.createDirectories(slotDir);
+            for (int i = 0; i < maxSlots; i++) {
+                Slot slot = tryLock(i);
+                if (slot != null) {
+                    return slot;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка доступа к слотам браузеров " + slotDir, e);
+        }
+    }
+
+    private Slot tryLock(int index) throws IOException {
+        FileChannel channel = FileChannel.open(slotDir.resolve("slot-" + index + ".lock"),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return new Slot(index, channel, lock);
+            }
+        } catch (OverlappingFileLockException e) {
+            // Слот занят другим потоком этого же JVM
+        }
+        channel.close();
+        return null;
+    }
+
+    /**
+     * Занятый слот; освобождается при закрытии
+     */
+    public static class Slot implements AutoCloseable {
+        private final int index;
+        private final FileChannel channel;
+        private final FileLock lock;
+
+        private Slot(int index, FileChannel channel, FileLock lock) {
+            this.index = index;
+            this.channel = channel;
+            this.lock = lock;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public void close() {
+            try {
+                lock.release();
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Не удалось освободить слот браузера " + index + ": " + e.getMessage());
+            }
+        }
+    }
+}
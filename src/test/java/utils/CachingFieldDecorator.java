@@ -0,0 +1,146 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Декоратор полей PageFactory с кэшем найденных элементов на экземпляр страницы
+ * Поле @FindBy ищется один раз; устаревание проверяется без отдельных запросов - по StaleElementReferenceException
+ * при обращении к элементу, после чего элемент ищется заново и вызов повторяется один раз
+ * Списки ищутся при каждом обращении: изменение их длины устареванием не обнаруживается
+ */
+public class CachingFieldDecorator extends DefaultFieldDecorator {
+
+    private static final AtomicLong lookups = new AtomicLong();
+    private static final AtomicLong cacheHits = new AtomicLong();
+    private static final AtomicLong staleRetries = new AtomicLong();
+
+    public CachingFieldDecorator(SearchContext searchContext) {
+        super(field -> new CachingElementLocator(searchContext, new Annotations(field).buildBy()));
+    }
+
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        return (WebElement) Proxy.newProxyInstance(loader,
+            new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+            new StaleRetryHandler((CachingElementLocator) locator));
+    }
+
+    /**
+     * Число реальных поисков элементов (включая списки)
+     */
+    public static long getLookups() {
+        return lookups.get();
+    }
+
+    /**
+     * Обращения к полю, обслуженные из кэша без поиска
+     */
+    public static long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public static long getStaleRetries() {
+        return staleRetries.get();
+    }
+
+    public static void resetStats() {
+        lookups.set(0);
+        cacheHits.set(0);
+        staleRetries.set(0);
+    }
+
+    public static String getStats() {
+        return String.format("Element lookups: %d, cache hits: %d, stale retries: %d",
+            lookups.get(), cacheHits.get(), staleRetries.get());
+    }
+
+    /**
+     * Локатор поля: запоминает найденный элемент до его устаревания
+     */
+    static class CachingElementLocator implements ElementLocator {
+        private final SearchContext searchContext;
+        private final By by;
+        private WebElement cached;
+
+        CachingElementLocator(SearchContext searchContext, By by) {
+            this.searchContext = searchContext;
+            this.by = by;
+        }
+
+        @Override
+        public synchronized WebElement findElement() {
+            if (cached != null) {
+                cacheHits.incrementAndGet();
+                return cached;
+            }
+            lookups.incrementAndGet();
+            cached = LocatorProfiler.find(searchContext, by);
+            return cached;
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            lookups.incrementAndGet();
+            return LocatorProfiler.findAll(searchContext, by);
+        }
+
+        synchronized void invalidate() {
+            cached = null;
+        }
+
+        @Override
+        public String toString() {
+            return "Caching locator for " + by;
+        }
+    }
+
+    /**
+     * Вызывает метод на закэшированном элементе; устаревший элемент ищется заново, вызов повторяется один раз
+     */
+    private static class StaleRetryHandler implements InvocationHandler {
+        private final CachingElementLocator locator;
+
+        StaleRetryHandler(CachingElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("getWrappedElement".equals(method.getName())) {
+                return locator.findElement();
+            }
+            if ("toString".equals(method.getName()) && (args == null || args.length == 0)) {
+                return "Proxy element for: " + locator;
+            }
+            try {
+                return method.invoke(locator.findElement(), args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            staleRetries.incrementAndGet();
+            locator.invalidate();
+            try {
+                return method.invoke(locator.findElement(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Предохранитель (circuit breaker) для HTTP хоста
+ * После серии подряд идущих сбоев размыкается и отклоняет запросы без обращения к сети,
+ * через заданное время пропускает один пробный запрос
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMs, LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Предохранитель для хоста с настройками из конфигурации (общий на весь JVM)
+     */
+    public static CircuitBreaker forHost(String host) {
+        return breakers.computeIfAbsent(host, key -> new CircuitBreaker(key,
+            Config.getCircuitFailureThreshold(), Config.getCircuitOpenMs(), System::currentTimeMillis));
+    }
+
+    /**
+     * Сбросить все предохранители
+     */
+    public static void resetAll() {
+        breakers.clear();
+    }
+
+    /**
+     * Можно ли отправить запрос сейчас
+     */
+    public synchronized boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.getAsLong() - openedAt >= openDurationMs) {
+                    state = State.HALF_OPEN;
+                    probeInFlight = true;
+                    return true;
+                }
+                return false;
+            case HALF_OPEN:
+            default:
+                // В полуоткрытом состоянии пропускаем только один пробный запрос
+                if (!probeInFlight) {
+                    probeInFlight = true;
+                    return true;
+                }
+                return false;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Сколько мс осталось до пробного запроса (0, если предохранитель замкнут)
+     */
+    public synchronized long getRemainingOpenMs() {
+        return state == State.OPEN ? Math.max(0, openDurationMs - (clock.getAsLong() - openedAt)) : 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("CircuitBreaker{name='%s', state=%s, consecutiveFailures=%d}", name, state, consecutiveFailures);
+    }
+}
@@ -0,0 +1,168 @@
+package utils;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.config.DecoderConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.brotli.dec.BrotliInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Фильтр RestAssured для согласования сжатия ответов
+ * Отправляет Accept-Encoding, сам потоково распаковывает тело (gzip, deflate, br)
+ * и записывает в {@link PayloadMetrics} байты по проводу и байты после распаковки
+ */
+public class CompressionFilter implements OrderedFilter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String acceptEncoding;
+
+    public CompressionFilter() {
+        this(Config.getAcceptEncoding());
+    }
+
+    public CompressionFilter(String acceptEncoding) {
+        this.acceptEncoding = acceptEncoding;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!requestSpec.getHeaders().hasHeaderWithName("Accept-Encoding")) {
+            requestSpec.header("Accept-Encoding", acceptEncoding);
+        }
+        // Отключаем встроенные декодеры, чтобы увидеть тело в том виде, в котором оно пришло по сети
+        requestSpec.config(requestSpec.getConfig()
+            .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()));
+
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        String contentEncoding = response.getHeader("Content-Encoding");
+        InputStream raw = response.asInputStream();
+        CountingInputStream wire = new CountingInputStream(raw != null ? raw : InputStream.nullInputStream());
+        byte[] decoded;
+        try (InputStream body = decode(wire, contentEncoding)) {
+            decoded = readFully(body);
+            // Дочитываем хвост (например, трейлер gzip), чтобы учесть все байты
+            wire.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось распаковать ответ (" + contentEncoding + ")", e);
+        }
+
+        PayloadMetrics.record(requestSpec.getMethod(), pathOf(requestSpec),
+            contentEncoding, wire.getCount(), decoded.length);
+
+        return new ResponseBuilder().clone(response).setBody(decoded).build();
+    }
+
+    /**
+     * Фильтр должен выполняться последним, чтобы логирование и Allure видели уже распакованное тело
+     */
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    private static String pathOf(FilterableRequestSpecification requestSpec) {
+        try {
+            return URI.create(requestSpec.getURI()).getPath();
+        } catch (IllegalArgumentException e) {
+            return requestSpec.getDerivedPath();
+        }
+    }
+
+    /**
+     * Оборачивает поток в декодеры согласно Content-Encoding (в обратном порядке применения)
+     */
+    static InputStream decode(InputStream raw, String contentEncoding) throws IOException {
+        if (contentEncoding == null || contentEncoding.isBlank()) {
+            return raw;
+        }
+        String[] encodings = contentEncoding.toLowerCase().split(",");
+        InputStream stream = raw;
+        for (int i = encodings.length - 1; i >= 0; i--) {
+            switch (encodings[i].trim()) {
+                case "gzip":
+                case "x-gzip":
+                    stream = new GZIPInputStream(stream, BUFFER_SIZE);
+                    break;
+                case "deflate":
+                    stream = new InflaterInputStream(stream);
+                    break;
+                case "br":
+                    stream = new BrotliInputStream(stream);
+                    break;
+                case "identity":
+                case "":
+                    break;
+                default:
+                    throw new IOException("Неподдерживаемый Content-Encoding: " + encodings[i]);
+            }
+        }
+        return stream;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Поток, считающий прочитанные байты
+     */
+    static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
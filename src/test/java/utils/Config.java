@@ -2,6 +2,8 @@ package utils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -43,6 +45,76 @@ public class Config {
         return getIntProperty("api.retry.count", 3);
     }
     
+    public static long getRetryBackoffBaseMs() {
+        return getIntProperty("api.retry.backoff.base.ms", 200);
+    }
+    
+    public static long getRetryBackoffMaxMs() {
+        return getIntProperty("api.retry.backoff.max.ms", 2000);
+    }
+    
+    public static double getRetryBudgetRatio() {
+        return getDoubleProperty("api.retry.budget.ratio", 0.2);
+    }
+    
+    public static int getRetryBudgetMinTokens() {
+        return getIntProperty("api.retry.budget.min.tokens", 10);
+    }
+    
+    public static int getCircuitFailureThreshold() {
+        return getIntProperty("api.circuit.failure.threshold", 5);
+    }
+    
+    public static long getCircuitOpenMs() {
+        return getIntProperty("api.circuit.open.ms", 30000);
+    }
+    
+    public static boolean isPrewarmEnabled() {
+        return getBooleanProperty("api.prewarm.enabled", true);
+    }
+    
+    public static int getPrewarmConnections() {
+        return getIntProperty("api.prewarm.connections", 4);
+    }
+    
+    public static String getPrewarmPath() {
+        return getProperty("api.prewarm.path", "/posts/1");
+    }
+    
+    public static int getPoolMaxPerRoute() {
+        return getIntProperty("api.pool.max.per.route", 20);
+    }
+    
+    /**
+     * Закрепленные адреса хостов в формате host=ip,host2=ip2
+     */
+    public static Map<String, String> getDnsPins() {
+        Map<String, String> pins = new LinkedHashMap<>();
+        for (String entry : getProperty("api.dns.pins", "").split(",")) {
+            String[] parts = entry.split("=", 2);
+            if (parts.length == 2 && !parts[0].isBlank() && !parts[1].isBlank()) {
+                pins.put(parts[0].trim().toLowerCase(), parts[1].trim());
+            }
+        }
+        return pins;
+    }
+    
+    public static boolean isCompressionEnabled() {
+        return getBooleanProperty("api.compression.enabled", true);
+    }
+    
+    public static String getAcceptEncoding() {
+        return getProperty("api.compression.accept.encoding", "gzip, deflate, br");
+    }
+    
+    public static int getUncompressedPayloadLimit() {
+        return getIntProperty("api.payload.uncompressed.max.bytes", 1024);
+    }
+    
+    public static int getSweepParallelism() {
+        return getIntProperty("api.sweep.parallelism", 16);
+    }
+    
     // ==================== UI НАСТРОЙКИ ====================
     
     public static boolean isHeadless() {
@@ -65,6 +137,236 @@ public class Config {
         return getProperty("ui.window.size", "1920,1080");
     }
     
+    public static String getDriverCacheDir() {
+        return getProperty("ui.driver.cache.dir", System.getProperty("user.home") + "/.cache/selenium-drivers");
+    }
+    
+    public static boolean isDriverOffline() {
+        return getBooleanProperty("ui.driver.offline", false);
+    }
+    
+    public static int getDriverCacheTtlHours() {
+        return getIntProperty("ui.driver.cache.ttl.hours", 24);
+    }
+    
+    /**
+     * Явно заданный путь к драйверу браузера (ui.driver.path.chrome и т.д.)
+     */
+    public static String getDriverPath(String browser) {
+        return getProperty("ui.driver.path." + browser, null);
+    }
+    
+    public static int getMaxBrowsersPerMachine() {
+        return getIntProperty("ui.max.browsers.per.machine", 4);
+    }
+    
+    public static boolean isBrowserContextsEnabled() {
+        return getBooleanProperty("ui.browser.contexts.enabled", false);
+    }
+    
+    public static int getBrowserContextsPerProcess() {
+        return getIntProperty("ui.browser.contexts.per.process", 4);
+    }
+    
+    public static String getBrowserSlotDir() {
+        return getProperty("ui.browser.slot.dir", System.getProperty("java.io.tmpdir") + "/ui-browser-slots");
+    }
+    
+    public static boolean isWebVitalsEnabled() {
+        return getBooleanProperty("ui.web.vitals.enabled", true);
+    }
+    
+    public static String getWebVitalsReport() {
+        return getProperty("ui.web.vitals.report", "target/web-vitals.json");
+    }
+    
+    public static boolean isHarEnabled() {
+        return getBooleanProperty("ui.har.enabled", false);
+    }
+    
+    public static long getHarTimeBudgetMs() {
+        return getIntProperty("ui.har.budget.ms", 15000);
+    }
+    
+    public static String getHarDir() {
+        return getProperty("ui.har.dir", "target/har");
+    }
+    
+    public static int getHarSummaryTop() {
+        return getIntProperty("ui.har.summary.top", 10);
+    }
+    
+    public static boolean isLoginShortcutEnabled() {
+        return getBooleanProperty("ui.login.shortcut.enabled", true);
+    }
+    
+    public static String getLoginShortcutBootstrapPath() {
+        return getProperty("ui.login.shortcut.bootstrap.path", "/robots.txt");
+    }
+    
+    public static ArtifactCapture.Policy getCapturePolicy() {
+        return ArtifactCapture.Policy.parse(getProperty("ui.capture.policy", "on_failure"));
+    }
+    
+    public static long getCaptureSlowMs() {
+        return getIntProperty("ui.capture.slow.ms", 15000);
+    }
+    
+    public static int getCaptureJpegQuality() {
+        return getIntProperty("ui.capture.jpeg.quality", 70);
+    }
+    
+    public static int getCaptureWorkerThreads() {
+        return getIntProperty("ui.capture.worker.threads", 2);
+    }
+    
+    public static int getWaitPollMinMs() {
+        return getIntProperty("ui.wait.poll.min.ms", 10);
+    }
+    
+    public static int getWaitPollMaxMs() {
+        return getIntProperty("ui.wait.poll.max.ms", 250);
+    }
+    
+    public static int getWaitDomQuietMs() {
+        return getIntProperty("ui.wait.dom.quiet.ms", 100);
+    }
+    
+    public static int getWaitNetworkIdleMs() {
+        return getIntProperty("ui.wait.network.idle.ms", 300);
+    }
+    
+    public static boolean isFormFillStrict() {
+        return getBooleanProperty("ui.form.fill.strict", false);
+    }
+    
+    /**
+     * Профиль эмуляции для всех UI тестов без аннотации @Emulate (пусто - без эмуляции)
+     */
+    public static String getEmulationProfile() {
+        return getProperty("ui.emulation.profile", "");
+    }
+    
+    public static boolean isPerformanceBudgetsEnabled() {
+        return getBooleanProperty("ui.performance.budgets.enabled", true);
+    }
+    
+    public static String getPerformanceBudgets() {
+        return getProperty("ui.performance.budgets", "lcpMs@inventory.html=1500,add-to-cart=200,login-to-inventory=2000");
+    }
+    
+    public static boolean isSoakEnabled() {
+        return getBooleanProperty("ui.soak.enabled", false);
+    }
+    
+    public static int getSoakIterations() {
+        return getIntProperty("ui.soak.iterations", 30);
+    }
+    
+    public static int getSoakWarmup() {
+        return getIntProperty("ui.soak.warmup", 3);
+    }
+    
+    public static double getSoakHeapSlopeKb() {
+        return getDoubleProperty("ui.soak.heap.slope.kb", 32);
+    }
+    
+    public static double getSoakNodesSlope() {
+        return getDoubleProperty("ui.soak.nodes.slope", 1);
+    }
+    
+    public static double getSoakListenersSlope() {
+        return getDoubleProperty("ui.soak.listeners.slope", 1);
+    }
+    
+    public static double getSoakMinR2() {
+        return getDoubleProperty("ui.soak.min.r2", 0.6);
+    }
+    
+    public static boolean isUiLoadEnabled() {
+        return getBooleanProperty("ui.load.enabled", false);
+    }
+    
+    public static int getUiLoadUsers() {
+        return getIntProperty("ui.load.users", 50);
+    }
+    
+    public static int getUiLoadIterations() {
+        return getIntProperty("ui.load.iterations", 1);
+    }
+    
+    public static int getUiLoadMaxBrowsers() {
+        return getIntProperty("ui.load.max.browsers", 50);
+    }
+    
+    public static int getUiLoadBrowserMemoryMb() {
+        return getIntProperty("ui.load.browser.memory.mb", 300);
+    }
+    
+    public static long getUiLoadRampUpMs() {
+        return getIntProperty("ui.load.ramp.up.ms", 10000);
+    }
+    
+    public static boolean isUiLoadBlockResources() {
+        return getBooleanProperty("ui.load.block.resources", true);
+    }
+    
+    public static String getUiLoadReport() {
+        return getProperty("ui.load.report", "target/ui-load.json");
+    }
+    
+    public static double getUiLoadMaxErrorRate() {
+        return getDoubleProperty("ui.load.max.error.rate", 0.05);
+    }
+    
+    public static boolean isBiDiEnabled() {
+        return getBooleanProperty("ui.bidi.enabled", false);
+    }
+    
+    public static boolean isBrowserEventsEnabled() {
+        return getBooleanProperty("ui.browser.events.enabled", true);
+    }
+    
+    public static int getBrowserEventsCapacity() {
+        return getIntProperty("ui.browser.events.capacity", 2000);
+    }
+    
+    public static boolean isElementCacheEnabled() {
+        return getBooleanProperty("ui.element.cache.enabled", true);
+    }
+    
+    public static int getLocatorProfileTop() {
+        return getIntProperty("ui.locator.profile.top", 15);
+    }
+    
+    public static String getLocatorProfileReport() {
+        return getProperty("ui.locator.profile.report", "target/locator-profile.txt");
+    }
+    
+    public static boolean isSessionReuseEnabled() {
+        return getBooleanProperty("ui.session.reuse", true);
+    }
+    
+    public static int getSessionPoolSize() {
+        return getIntProperty("ui.session.pool.size", 2);
+    }
+    
+    public static int getSessionMaxUses() {
+        return getIntProperty("ui.session.max.uses", 20);
+    }
+    
+    public static int getSessionPrewarmCount() {
+        return getIntProperty("ui.session.prewarm.count", getSessionPoolSize());
+    }
+    
+    public static int getSessionIdleTimeout() {
+        return getIntProperty("ui.session.idle.timeout", 60);
+    }
+    
+    public static int getSessionLeaseTimeout() {
+        return getIntProperty("ui.session.lease.timeout", 300);
+    }
+    
     public static boolean isScreenshotOnFailure() {
         return getBooleanProperty("ui.screenshot.on.failure", true);
     }
@@ -147,6 +449,16 @@ public class Config {
         }
     }
     
+    private static double getDoubleProperty(String key, double defaultValue) {
+        String value = getProperty(key, String.valueOf(defaultValue));
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Неверное значение для " + key + ": " + value + ", используется значение по умолчанию: " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
     private static boolean getBooleanProperty(String key, boolean defaultValue) {
         String value = getProperty(key, String.valueOf(defaultValue));
         return Boolean.parseBoolean(value);
@@ -0,0 +1,172 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Прогрев соединений перед API тестами
+ * Разрешает DNS через {@link PinnedDnsResolver} и параллельно открывает пул keep-alive соединений,
+ * чтобы DNS, TCP и TLS рукопожатие не попадали во время первого теста класса
+ */
+// RestAssured 5 принимает только API HttpClient 4 (AbstractHttpClient, ClientConnectionManager), помеченное устаревшим
+@SuppressWarnings("deprecation")
+public class ConnectionPrewarmer {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger(ConnectionPrewarmer.class);
+    private static final AtomicBoolean prewarmed = new AtomicBoolean(false);
+    private static PoolingClientConnectionManager sharedManager;
+    private static volatile PrewarmReport lastReport;
+
+    /**
+     * Общий пул соединений для всех HTTP клиентов RestAssured
+     */
+    public static synchronized ClientConnectionManager getConnectionManager() {
+        if (sharedManager == null) {
+            sharedManager = createConnectionManager(PinnedDnsResolver.getInstance(), Config.getPoolMaxPerRoute());
+        }
+        return sharedManager;
+    }
+
+    public static PoolingClientConnectionManager createConnectionManager(PinnedDnsResolver resolver, int maxPerRoute) {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(
+            SchemeRegistryFactory.createDefault(), resolver);
+        manager.setDefaultMaxPerRoute(maxPerRoute);
+        manager.setMaxTotal(maxPerRoute * 4);
+        return manager;
+    }
+
+    /**
+     * Прогреть соединения к базовому URL один раз за JVM
+     */
+    public static PrewarmReport prewarmOnce(String baseUrl) {
+        if (Config.isPrewarmEnabled() && prewarmed.compareAndSet(false, true)) {
+            lastReport = prewarm(baseUrl, Config.getPrewarmPath(), Config.getPrewarmConnections(),
+                (PoolingClientConnectionManager) getConnectionManager(), PinnedDnsResolver.getInstance());
+            Allure.addAttachment("Connection Prewarm", "text/plain", lastReport.toString());
+            LOGGER.info("{}", lastReport);
+        }
+        return lastReport;
+    }
+
+    /**
+     * Разрешить DNS и открыть указанное число соединений параллельно легкими GET запросами
+     * (HEAD не используется: часть серверов закрывает соединение после него)
+     */
+    public static PrewarmReport prewarm(String baseUrl, String path, int connections,
+                                        PoolingClientConnectionManager manager, PinnedDnsResolver resolver) {
+        URI uri = URI.create(baseUrl);
+        String host = uri.getHost();
+        PrewarmReport report = new PrewarmReport(baseUrl, resolver.isPinned(host));
+
+        long dnsStart = System.nanoTime();
+        try {
+            resolver.resolve(host);
+        } catch (UnknownHostException e) {
+            report.error = "DNS: " + e.getMessage();
+            return report;
+        }
+        report.dnsMs = (System.nanoTime() - dnsStart) / 1_000_000;
+
+        DefaultHttpClient client = new DefaultHttpClient(manager);
+        HttpConnectionParams.setConnectionTimeout(client.getParams(), Config.getConnectionTimeout());
+        HttpConnectionParams.setSoTimeout(client.getParams(), Config.getSocketTimeout());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(connections, 1), runnable -> {
+            Thread thread = new Thread(runnable, "connection-prewarm");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Все запросы стартуют одновременно, иначе пул переиспользует первое соединение
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    long start = System.nanoTime();
+                    HttpResponse response = client.execute(new HttpGet(uri.resolve(path)));
+                    EntityUtils.consumeQuietly(response.getEntity());
+                    return (System.nanoTime() - start) / 1_000_000;
+                }));
+            }
+            startSignal.countDown();
+            for (Future<Long> future : futures) {
+                try {
+                    report.connectMs.add(future.get());
+                } catch (Exception e) {
+                    report.error = e.getCause() != null ? e.getCause().toString() : e.toString();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        report.pooledConnections = manager.getTotalStats().getAvailable();
+        return report;
+    }
+
+    public static PrewarmReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Результат прогрева
+     */
+    public static class PrewarmReport {
+        private final String baseUrl;
+        private final boolean pinned;
+        private long dnsMs;
+        private final List<Long> connectMs = new ArrayList<>();
+        private int pooledConnections;
+        private String error;
+
+        private PrewarmReport(String baseUrl, boolean pinned) {
+            this.baseUrl = baseUrl;
+            this.pinned = pinned;
+        }
+
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+        public long getDnsMs() {
+            return dnsMs;
+        }
+
+        public List<Long> getConnectMs() {
+            return connectMs;
+        }
+
+        public int getPooledConnections() {
+            return pooledConnections;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Прогрев соединений %s: DNS %d мс%s, соединения %s мс, в пуле %d%s",
+                baseUrl, dnsMs, pinned ? " (закреплен)" : "", connectMs, pooledConnections,
+                error != null ? ", ошибка: " + error : "");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Общая подписка на события CDP одного браузера для нескольких слушателей (NetworkRecorder, BrowserEvents,
+ * ResourceTypeBlocker)
+ * DevTools Selenium снимает только все слушатели сразу и закрывает сессию для всех, поэтому слушатели
+ * регистрируются здесь под своим владельцем: release одного не задевает остальных,
+ * а CDP сессия закрывается вместе с последним владельцем
+ */
+public class DevToolsEvents {
+
+    // Запись удаляется при закрытии сессии последним владельцем
+    private static final Map<DevTools, DevToolsEvents> shared = new ConcurrentHashMap<>();
+
+    private final DevTools devTools;
+    private final Map<String, List<Handler>> handlers = new ConcurrentHashMap<>();
+    private final Set<Object> owners = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    protected DevToolsEvents(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * Общая подписка для браузера драйвера; null, если браузер не поддерживает DevTools
+     */
+    public static DevToolsEvents forDriver(WebDriver driver) {
+        Optional<DevTools> maybeDevTools = driver instanceof HasDevTools
+            ? ((HasDevTools) driver).maybeGetDevTools()
+            : Optional.empty();
+        return maybeDevTools.map(devTools -> shared.computeIfAbsent(devTools, DevToolsEvents::new)).orElse(null);
+    }
+
+    /**
+     * Подписать обработчик владельца на событие CDP; событие подписывается в DevTools один раз
+     */
+    public synchronized void listen(Object owner, String event, Consumer<Map<String, Object>> handler) {
+        if (owners.isEmpty()) {
+            openSession();
+        }
+        owners.add(owner);
+        handlers.computeIfAbsent(event, key -> {
+            subscribe(key);
+            return new CopyOnWriteArrayList<>();
+        }).add(new Handler(owner, handler));
+    }
+
+    /**
+     * Отправить команду без результата (включение доменов Runtime, Page, Network)
+     */
+    public void send(String method) {
+        send(method, Map.of());
+    }
+
+    public void send(String method, Map<String, Object> params) {
+        devTools.send(new Command<>(method, params));
+    }
+
+    /**
+     * Снять обработчики владельца; с последним владельцем закрывается CDP сессия
+     */
+    public synchronized void release(Object owner) {
+        if (!owners.remove(owner)) {
+            return;
+        }
+        handlers.values().forEach(list -> list.removeIf(handler -> handler.owner == owner));
+        if (owners.isEmpty()) {
+            handlers.clear();
+            closeSession();
+        }
+    }
+
+    /**
+     * Разослать событие обработчикам всех владельцев
+     */
+    public void dispatch(String event, Map<String, Object> params) {
+        for (Handler handler : handlers.getOrDefault(event, List.of())) {
+            try {
+                handler.consumer.accept(params);
+            } catch (RuntimeException e) {
+                // Сбой одного слушателя не должен лишать событий остальных
+                System.err.println("Обработчик события " + event + " завершился ошибкой: " + e.getMessage());
+            }
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return !owners.isEmpty();
+    }
+
+    protected void openSession() {
+        devTools.createSessionIfThereIsNotOne();
+    }
+
+    protected void subscribe(String event) {
+        devTools.addListener(new Event<Map<String, Object>>(event, input -> input.read(Json.MAP_TYPE)),
+            params -> dispatch(event, params));
+    }
+
+    /**
+     * Закрыть сессию; сам браузер остается рабочим для пула
+     */
+    protected void closeSession() {
+        try {
+            devTools.clearListeners();
+            devTools.disconnectSession();
+        } finally {
+            shared.remove(devTools);
+        }
+    }
+
+    private static class Handler {
+        private final Object owner;
+        private final Consumer<Map<String, Object>> consumer;
+
+        Handler(Object owner, Consumer<Map<String, Object>> consumer) {
+            this.owner = owner;
+            this.consumer = consumer;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Снимок списка элементов страницы за один executeScript
+ * Для каждой строки (например, карточки товара) извлекаются описанные поля: текст, атрибут, value, наличие
+ * Вместо запроса WebDriver на каждый элемент страница читается целиком за один round-trip
+ */
+public class DomSnapshot {
+
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(?:[.,]\\d+)?");
+
+    static final String SNAPSHOT_SCRIPT =
+        "var rows = arguments[0], fields = arguments[1];\n" +
+        "function find(ctx, using, value) {\n" +
+        "  return using === 'xpath'\n" +
+        "    ? document.evaluate(value, ctx, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue\n" +
+        "    : ctx.querySelector(value);\n" +
+        "}\n" +
+        "function findAll(using, value) {\n" +
+        "  if (using !== 'xpath') return Array.prototype.slice.call(document.querySelectorAll(value));\n" +
+        "  var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), all = [];\n" +
+        "  for (var i = 0; i < result.snapshotLength; i++) all.push(result.snapshotItem(i));\n" +
+        "  return all;\n" +
+        "}\n" +
+        "return findAll(rows[0], rows[1]).map(function (row) {\n" +
+        "  var out = {};\n" +
+        "  fields.forEach(function (f) {\n" +
+        "    var el = f.using ? find(row, f.using, f.value) : row;\n" +
+        "    if (f.kind === 'present') { out[f.name] = !!el; return; }\n" +
+        "    if (!el) { out[f.name] = null; return; }\n" +
+        "    if (f.kind === 'text') out[f.name] = (el.innerText || el.textContent || '').trim();\n" +
+        "    else if (f.kind === 'attribute') out[f.name] = el.getAttribute(f.attribute);\n" +
+        "    else if (f.kind === 'value') out[f.name] = el.value;\n" +
+        "  });\n" +
+        "  return out;\n" +
+        "});\n";
+
+    private final WebDriver driver;
+    private final By rowLocator;
+    private final String[] rowSelector;
+    private final List<Map<String, Object>> fields = new ArrayList<>();
+
+    private DomSnapshot(WebDriver driver, By rowLocator) {
+        this.driver = driver;
+        this.rowLocator = rowLocator;
+        this.rowSelector = selector(rowLocator);
+    }
+
+    /**
+     * Описать снимок: rowLocator находит строки, поля ищутся внутри каждой строки
+     */
+    public static DomSnapshot of(WebDriver driver, By rowLocator) {
+        return new DomSnapshot(driver, rowLocator);
+    }
+
+    /**
+     * Видимый текст элемента (null locator - текст самой строки)
+     */
+    public DomSnapshot text(String name, By locator) {
+        return field(name, locator, "text", null);
+    }
+
+    public DomSnapshot attribute(String name, By locator, String attribute) {
+        return field(name, locator, "attribute", attribute);
+    }
+
+    public DomSnapshot value(String name, By locator) {
+        return field(name, locator, "value", null);
+    }
+
+    /**
+     * true, если элемент есть в строке
+     */
+    public DomSnapshot present(String name, By locator) {
+        return field(name, locator, "present", null);
+    }
+
+    private DomSnapshot field(String name, By locator, String kind, String attribute) {
+        Map<String, Object> field = new LinkedHashMap<>();
+        field.put("name", name);
+        field.put("kind", kind);
+        if (locator != null) {
+            String[] selector = selector(locator);
+            field.put("using", selector[0]);
+            field.put("value", selector[1]);
+        }
+        if (attribute != null) {
+            field.put("attribute", attribute);
+        }
+        fields.add(field);
+        return this;
+    }
+
+    /**
+     * Прочитать все строки одним вызовом executeScript
+     */
+    public List<Row> read() {
+        Object result = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, List.of(rowSelector), fields);
+        List<Row> rows = new ArrayList<>();
+        if (result instanceof List) {
+            for (Object item : (List<?>) result) {
+                Map<String, Object> values = new LinkedHashMap<>();
+                ((Map<?, ?>) item).forEach((key, value) -> values.put(String.valueOf(key), value));
+                rows.add(new Row(rows.size(), values));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Прочитать строки и преобразовать в модели
+     */
+    public <T> List<T> read(Function<Row, T> mapper) {
+        return read().stream().map(mapper).collect(Collectors.toList());
+    }
+
+    private static String[] selector(By locator) {
+        String[] selector = WaitEngine.toSelector(locator);
+        if (selector == null) {
+            throw new IllegalArgumentException("Локатор не поддерживается снимком DOM: " + locator);
+        }
+        return selector;
+    }
+
+    @Override
+    public String toString() {
+        return rowLocator + " " + fields.stream().map(field -> String.valueOf(field.get("name"))).collect(Collectors.toList());
+    }
+
+    /**
+     * Одна строка снимка с типизированным доступом к полям
+     */
+    public static class Row {
+        private final int index;
+        private final Map<String, Object> values;
+
+        public Row(int index, Map<String, Object> values) {
+            this.index = index;
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Map<String, Object> getValues() {
+            return values;
+        }
+
+        public String getString(String name) {
+            Object value = values.get(name);
+            return value == null ? null : String.valueOf(value);
+        }
+
+        public boolean getBoolean(String name) {
+            return Boolean.TRUE.equals(values.get(name));
+        }
+
+        /**
+         * Первое число в тексте поля: "$29.99" -> 29.99, "Qty: 2" -> 2; null, если числа нет
+         */
+        public BigDecimal getNumber(String name) {
+            String text = getString(name);
+            if (text == null) {
+                return null;
+            }
+            Matcher matcher = NUMBER.matcher(text);
+            return matcher.find() ? new BigDecimal(matcher.group().replace(',', '.')) : null;
+        }
+
+        @Override
+        public String toString() {
+            return index + ": " + values;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Разрешение бинарника драйвера браузера без сетевых запросов на каждый запуск
+ * Путь к драйверу определяется один раз за JVM, а между JVM (форками surefire) переиспользуется
+ * через манифест в локальном кэше, защищенный файловой блокировкой.
+ * В офлайн режиме используется только заранее заполненный кэш
+ */
+public class DriverBinaryResolver {
+
+    private static final Map<String, String> DRIVER_PROPERTIES = Map.of(
+        "chrome", "webdriver.chrome.driver",
+        "firefox", "webdriver.gecko.driver",
+        "edge", "webdriver.edge.driver");
+
+    private static DriverBinaryResolver shared;
+
+    /**
+     * Источник драйвера при промахе кэша; по умолчанию WebDriverManager
+     */
+    @FunctionalInterface
+    public interface Downloader {
+        ResolvedDriver download(String browser, Path cacheDir) throws Exception;
+    }
+
+    private final Path cacheDir;
+    private final boolean offline;
+    private final long ttlMs;
+    private final Downloader downloader;
+    private final Map<String, ResolvedDriver> resolved = new ConcurrentHashMap<>();
+    private final Map<String, Object> browserLocks = new ConcurrentHashMap<>();
+    private final AtomicInteger downloads = new AtomicInteger();
+
+    public DriverBinaryResolver(Path cacheDir, boolean offline, long ttlMs, Downloader downloader) {
+        this.cacheDir = cacheDir;
+        this.offline = offline;
+        this.ttlMs = ttlMs;
+        this.downloader = downloader;
+    }
+
+    /**
+     * Общий резолвер с настройками из конфигурации
+     */
+    public static synchronized DriverBinaryResolver shared() {
+        if (shared == null) {
+            shared = new DriverBinaryResolver(Paths.get(Config.getDriverCacheDir()), Config.isDriverOffline(),
+                Config.getDriverCacheTtlHours() * 3_600_000L, DriverBinaryResolver::downloadWithWebDriverManager);
+        }
+        return shared;
+    }
+
+    /**
+     * Разрешить драйвер и выставить системное свойство, которое читает Selenium
+     */
+    public ResolvedDriver setup(String browser) {
+        String key = browser.toLowerCase();
+        ResolvedDriver driver = resolved.get(key);
+        if (driver == null) {
+            synchronized (browserLocks.computeIfAbsent(key, k -> new Object())) {
+                driver = resolved.computeIfAbsent(key, this::resolveAcrossProcesses);
+            }
+        }
+        String property = DRIVER_PROPERTIES.get(key);
+        if (property != null) {
+            System.setProperty(property, driver.getPath());
+        }
+        return driver;
+    }
+
+    public int getDownloadCount() {
+        return downloads.get();
+    }
+
+    /**
+     * Разрешение под межпроцессной блокировкой: второй форк дождется первого и прочитает манифест
+     */
+    private ResolvedDriver resolveAcrossProcesses(String browser) {
+        String explicitPath = Config.getDriverPath(browser);
+        if (explicitPath != null && Files.isExecutable(Paths.get(explicitPath))) {
+            return new ResolvedDriver(browser, explicitPath, "configured", false);
+        }
+
+        try {
+            Files.createDirectories(cacheDir);
+            Path lockFile = cacheDir.resolve(browser + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                ResolvedDriver cached = readManifest(browser);
+                if (cached != null && (offline || !isExpired(browser))) {
+                    return cached;
+                }
+                if (offline) {
+                    throw new IllegalStateException(String.format(
+                        "Офлайн режим: в кэше %s нет драйвера для %s. Заполните кэш на машине с доступом к сети",
+                        cacheDir, browser));
+                }
+                ResolvedDriver downloaded;
+                try {
+                    downloaded = downloader.download(browser, cacheDir);
+                    downloads.incrementAndGet();
+                } catch (Exception e) {
+                    if (cached != null) {
+                        // Сеть недоступна, но устаревший драйвер лучше, чем падение всего прогона
+                        System.err.println("Не удалось обновить драйвер " + browser + ", используется кэш: " + e.getMessage());
+                        return cached;
+                    }
+                    throw new IllegalStateException("Не удалось получить драйвер для " + browser, e);
+                }
+                writeManifest(downloaded);
+                return downloaded;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка доступа к кэшу драйверов " + cacheDir, e);
+        }
+    }
+
+    private Path manifestPath(String browser) {
+        return cacheDir.resolve(browser + "-driver.properties");
+    }
+
+    private boolean isExpired(String browser) throws IOException {
+        return System.currentTimeMillis() - Files.getLastModifiedTime(manifestPath(browser)).toMillis() > ttlMs;
+    }
+
+    private ResolvedDriver readManifest(String browser) throws IOException {
+        Path manifest = manifestPath(browser);
+        if (!Files.exists(manifest)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(manifest)) {
+            properties.load(input);
+        }
+        String path = properties.getProperty("path");
+        if (path == null || !Files.exists(Paths.get(path))) {
+            return null;
+        }
+        return new ResolvedDriver(browser, path, properties.getProperty("version", "unknown"), true);
+    }
+
+    private void writeManifest(ResolvedDriver driver) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("path", driver.getPath());
+        properties.setProperty("version", driver.getVersion());
+        Path temp = Files.createTempFile(cacheDir, driver.getBrowser(), ".tmp");
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            properties.store(output, "Driver binary resolved for " + driver.getBrowser());
+        }
+        Files.move(temp, manifestPath(driver.getBrowser()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ResolvedDriver downloadWithWebDriverManager(String browser, Path cacheDir) {
+        WebDriverManager manager = WebDriverManager.getInstance(browser).cachePath(cacheDir.toString());
+        manager.setup();
+        return new ResolvedDriver(browser, manager.getDownloadedDriverPath(), manager.getDownloadedDriverVersion(), false);
+    }
+
+    /**
+     * Разрешенный драйвер
+     */
+    public static class ResolvedDriver {
+        private final String browser;
+        private final String path;
+        private final String version;
+        private final boolean fromCache;
+
+        public ResolvedDriver(String browser, String path, String version, boolean fromCache) {
+            this.browser = browser;
+            this.path = path;
+            this.version = version != null ? version : "unknown";
+            this.fromCache = fromCache;
+        }
+
+        public String getBrowser() {
+            return browser;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public boolean isFromCache() {
+            return fromCache;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s driver %s (%s)%s", browser, version, path, fromCache ? " [cache]" : "");
+        }
+    }
+}
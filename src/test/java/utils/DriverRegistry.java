@@ -0,0 +1,111 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Потокобезопасный реестр WebDriver для параллельного запуска UI тестов JUnit
+ * Каждый поток исполнителя JUnit держит свою сессию; каждый запущенный браузер держит слот
+ * {@link BrowserSlots}, чтобы число браузеров на машине не превышало лимит: сессии пула держат слот
+ * с запуска до закрытия (в том числе в простое), отдельные браузеры - на время теста
+ */
+public class DriverRegistry {
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Запустить (или взять из пула) браузер для текущего потока с настройками из конфигурации
+     */
+    public static WebDriver start() {
+        return start(Config.isHeadless());
+    }
+
+    public static WebDriver start(boolean headless) {
+        if (CURRENT.get() != null) {
+            throw new IllegalStateException("У потока " + Thread.currentThread().getName() + " уже есть WebDriver");
+        }
+        // Контексты делят процессы браузера, лимит процессов держит сам пул контекстов
+        if (Config.isBrowserContextsEnabled() && headless == Config.isHeadless()) {
+            WebDriver driver = BrowserContextPool.shared().lease();
+            CURRENT.set(new Session(driver, WebDriverUtils.createWebDriverWait(driver, Config.getTimeout()), null, false, true));
+            return driver;
+        }
+        // Пул хранит сессии с headless из конфигурации и сам занимает слоты при запуске браузера
+        if (Config.isSessionReuseEnabled() && headless == Config.isHeadless()) {
+            WebDriver driver = WebDriverPool.shared().lease();
+            CURRENT.set(new Session(driver, WebDriverUtils.createWebDriverWait(driver, Config.getTimeout()), null, true, false));
+            return driver;
+        }
+        BrowserSlots.Slot slot = BrowserSlots.machine().acquire(Config.getSessionLeaseTimeout() * 1000L);
+        try {
+            WebDriver driver = WebDriverUtils.createWebDriver(headless);
+            CURRENT.set(new Session(driver, WebDriverUtils.createWebDriverWait(driver, Config.getTimeout()), slot, false, false));
+            return driver;
+        } catch (RuntimeException e) {
+            slot.close();
+            throw e;
+        }
+    }
+
+    /**
+     * WebDriver текущего потока
+     */
+    public static WebDriver getDriver() {
+        Session session = CURRENT.get();
+        if (session == null) {
+            throw new IllegalStateException("WebDriver не запущен для потока " + Thread.currentThread().getName());
+        }
+        return session.driver;
+    }
+
+    public static WebDriverWait getWait() {
+        getDriver();
+        return CURRENT.get().wait;
+    }
+
+    public static boolean isStarted() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Вернуть сессию в пул или закрыть браузер и освободить слот
+     */
+    public static void stop() {
+        Session session = CURRENT.get();
+        if (session == null) {
+            return;
+        }
+        CURRENT.remove();
+        if (session.context) {
+            BrowserContextPool.shared().release(session.driver);
+            return;
+        }
+        try {
+            if (session.pooled) {
+                WebDriverPool.shared().release(session.driver);
+            } else {
+                session.driver.quit();
+            }
+        } finally {
+            if (session.slot != null) {
+                session.slot.close();
+            }
+        }
+    }
+
+    private static class Session {
+        private final WebDriver driver;
+        private final WebDriverWait wait;
+        private final BrowserSlots.Slot slot;
+        private final boolean pooled;
+        private final boolean context;
+
+        private Session(WebDriver driver, WebDriverWait wait, BrowserSlots.Slot slot, boolean pooled, boolean context) {
+            this.driver = driver;
+            this.wait = wait;
+            this.slot = slot;
+            this.pooled = pooled;
+            this.context = context;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Запуск UI теста (или всех тестов класса) под профилем эмуляции {@link EmulationProfile}
+ * Аннотация метода важнее аннотации класса; без аннотаций используется ui.emulation.profile
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface Emulate {
+
+    /**
+     * Имя профиля: desktop, fast-3g, slow-3g, slow-4g, cpu-4x, mobile, tablet
+     */
+    String value();
+}
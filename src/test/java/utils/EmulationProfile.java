@@ -0,0 +1,202 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Именованный профиль эмуляции: сеть, замедление CPU и параметры экрана устройства через CDP
+ * Профили повторяют пресеты Chrome DevTools и Lighthouse, чтобы метрики были сравнимы с их отчетами
+ */
+public class EmulationProfile {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger(EmulationProfile.class);
+    private static final Map<String, EmulationProfile> PROFILES = new LinkedHashMap<>();
+
+    static {
+        register(new EmulationProfile("desktop", 0, -1, -1, 1, null));
+        register(new EmulationProfile("fast-3g", 563, 1440, 675, 1, null));
+        register(new EmulationProfile("slow-3g", 2000, 400, 400, 1, null));
+        register(new EmulationProfile("slow-4g", 150, 1600, 750, 1, null));
+        register(new EmulationProfile("cpu-4x", 0, -1, -1, 4, null));
+        register(new EmulationProfile("mobile", 150, 1600, 750, 4, new Device(412, 823, 1.75, true,
+            "Mozilla/5.0 (Linux; Android 11; moto g power (2022)) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/119.0.0.0 Mobile Safari/537.36")));
+        register(new EmulationProfile("tablet", 150, 1600, 750, 2, new Device(768, 1024, 2, true,
+            "Mozilla/5.0 (iPad; CPU OS 16_0 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/16.0 Mobile/15E148 Safari/604.1")));
+    }
+
+    private final String name;
+    private final int latencyMs;
+    private final int downloadKbps;
+    private final int uploadKbps;
+    private final double cpuSlowdown;
+    private final Device device;
+
+    /**
+     * @param downloadKbps пропускная способность в кбит/с; -1 - без ограничения
+     */
+    public EmulationProfile(String name, int latencyMs, int downloadKbps, int uploadKbps, double cpuSlowdown, Device device) {
+        this.name = name;
+        this.latencyMs = latencyMs;
+        this.downloadKbps = downloadKbps;
+        this.uploadKbps = uploadKbps;
+        this.cpuSlowdown = cpuSlowdown;
+        this.device = device;
+    }
+
+    public static synchronized void register(EmulationProfile profile) {
+        PROFILES.put(profile.getName(), profile);
+    }
+
+    /**
+     * Профиль по имени; browserMode из test_configurations.json (headless, visible) соответствует desktop
+     */
+    public static synchronized EmulationProfile of(String name) {
+        String key = name.trim().toLowerCase();
+        if ("headless".equals(key) || "visible".equals(key)) {
+            key = "desktop";
+        }
+        EmulationProfile profile = PROFILES.get(key);
+        if (profile == null) {
+            throw new IllegalArgumentException("Неизвестный профиль эмуляции: " + name + ", доступны: " + PROFILES.keySet());
+        }
+        return profile;
+    }
+
+    /**
+     * Применить профиль к текущей вкладке
+     * @return false, если браузер не поддерживает CDP и профиль не применен
+     */
+    public boolean apply(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            LOGGER.warn("Эмуляция {} пропущена: браузер не поддерживает CDP", name);
+            return false;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        cdp.executeCdpCommand("Network.enable", Map.of());
+        cdp.executeCdpCommand("Network.emulateNetworkConditions", networkConditions());
+        cdp.executeCdpCommand("Emulation.setCPUThrottlingRate", Map.of("rate", cpuSlowdown));
+        if (device != null) {
+            cdp.executeCdpCommand("Emulation.setDeviceMetricsOverride", Map.of(
+                "width", device.width, "height", device.height,
+                "deviceScaleFactor", device.scaleFactor, "mobile", device.mobile));
+            cdp.executeCdpCommand("Emulation.setTouchEmulationEnabled", Map.of("enabled", device.mobile));
+            cdp.executeCdpCommand("Emulation.setUserAgentOverride", Map.of("userAgent", device.userAgent));
+        }
+        return true;
+    }
+
+    /**
+     * Снять эмуляцию (перед возвратом сессии в пул)
+     * @param originalUserAgent user agent браузера до применения профиля; null - не восстанавливать
+     */
+    public static void reset(WebDriver driver, String originalUserAgent) {
+        if (!(driver instanceof HasCdp)) {
+            return;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        cdp.executeCdpCommand("Network.emulateNetworkConditions", Map.of(
+            "offline", false, "latency", 0, "downloadThroughput", -1, "uploadThroughput", -1));
+        cdp.executeCdpCommand("Emulation.setCPUThrottlingRate", Map.of("rate", 1));
+        cdp.executeCdpCommand("Emulation.clearDeviceMetricsOverride", Map.of());
+        cdp.executeCdpCommand("Emulation.setTouchEmulationEnabled", Map.of("enabled", false));
+        if (originalUserAgent != null) {
+            cdp.executeCdpCommand("Emulation.setUserAgentOverride", Map.of("userAgent", originalUserAgent));
+        }
+    }
+
+    /**
+     * Текущий user agent вкладки, чтобы вернуть его после профиля с эмуляцией устройства
+     */
+    public static String currentUserAgent(WebDriver driver) {
+        Object userAgent = ((JavascriptExecutor) driver).executeScript("return navigator.userAgent");
+        return userAgent == null ? null : String.valueOf(userAgent);
+    }
+
+    /**
+     * Параметры Network.emulateNetworkConditions: CDP принимает пропускную способность в байтах в секунду
+     */
+    public Map<String, Object> networkConditions() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("offline", false);
+        params.put("latency", latencyMs);
+        params.put("downloadThroughput", downloadKbps < 0 ? -1 : downloadKbps * 1000 / 8);
+        params.put("uploadThroughput", uploadKbps < 0 ? -1 : uploadKbps * 1000 / 8);
+        return params;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLatencyMs() {
+        return latencyMs;
+    }
+
+    public int getDownloadKbps() {
+        return downloadKbps;
+    }
+
+    public int getUploadKbps() {
+        return uploadKbps;
+    }
+
+    public double getCpuSlowdown() {
+        return cpuSlowdown;
+    }
+
+    public Device getDevice() {
+        return device;
+    }
+
+    public boolean hasDevice() {
+        return device != null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Profile: ").append(name).append("\n");
+        sb.append("Network: ").append(downloadKbps < 0 ? "no throttling"
+            : String.format("latency %d ms, down %d kbps, up %d kbps", latencyMs, downloadKbps, uploadKbps)).append("\n");
+        sb.append("CPU slowdown: ").append(cpuSlowdown).append("x\n");
+        if (device != null) {
+            sb.append(String.format("Device: %dx%d @%.2f, mobile=%s%n", device.width, device.height, device.scaleFactor, device.mobile));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Параметры экрана эмулируемого устройства
+     */
+    public static class Device {
+        private final int width;
+        private final int height;
+        private final double scaleFactor;
+        private final boolean mobile;
+        private final String userAgent;
+
+        public Device(int width, int height, double scaleFactor, boolean mobile, String userAgent) {
+            this.width = width;
+            this.height = height;
+            this.scaleFactor = scaleFactor;
+            this.mobile = mobile;
+            this.userAgent = userAgent;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public boolean isMobile() {
+            return mobile;
+        }
+    }
+}
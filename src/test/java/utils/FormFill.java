@@ -0,0 +1,110 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Заполнение нескольких полей формы за один executeScript
+ * Значение ставится через нативный setter прототипа (его отслеживает React), затем
+ * отправляются события input и change, как при вводе пользователем
+ * В строгом режиме поля заполняются обычным вводом WebDriver: clear + sendKeys по каждому полю
+ */
+public class FormFill {
+
+    static final String FILL_SCRIPT =
+        "var fields = arguments[0], missing = [];\n" +
+        "fields.forEach(function (f) {\n" +
+        "  var el = f.using === 'xpath'\n" +
+        "    ? document.evaluate(f.value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue\n" +
+        "    : document.querySelector(f.value);\n" +
+        "  if (!el) { missing.push(f.name); return; }\n" +
+        "  var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype\n" +
+        "    : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;\n" +
+        "  var setter = Object.getOwnPropertyDescriptor(proto, 'value').set;\n" +
+        "  el.focus();\n" +
+        "  setter.call(el, f.text);\n" +
+        "  el.dispatchEvent(new Event('input', {bubbles: true}));\n" +
+        "  el.dispatchEvent(new Event('change', {bubbles: true}));\n" +
+        "  el.blur();\n" +
+        "});\n" +
+        "return missing;\n";
+
+    private final WebDriver driver;
+    private final Map<By, String> values = new LinkedHashMap<>();
+    private boolean strict;
+
+    private FormFill(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static FormFill of(WebDriver driver) {
+        return new FormFill(driver);
+    }
+
+    /**
+     * Значение поля; null пропускает поле, пустая строка очищает его
+     */
+    public FormFill set(By locator, String value) {
+        if (value != null) {
+            values.put(locator, value);
+        }
+        return this;
+    }
+
+    public FormFill setAll(Map<By, String> fields) {
+        fields.forEach(this::set);
+        return this;
+    }
+
+    /**
+     * Строгий режим: настоящий ввод с клавиатуры, когда важны keydown/keyup и маски полей
+     */
+    public FormFill strict(boolean strict) {
+        this.strict = strict;
+        return this;
+    }
+
+    /**
+     * Заполнить форму; отсутствующее на странице поле приводит к NoSuchElementException
+     */
+    public void apply() {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (strict) {
+            values.forEach(this::type);
+            return;
+        }
+        List<Map<String, Object>> fields = new ArrayList<>();
+        values.forEach((locator, value) -> {
+            String[] selector = WaitEngine.toSelector(locator);
+            if (selector == null) {
+                throw new IllegalArgumentException("Локатор не поддерживается заполнением формы: " + locator);
+            }
+            Map<String, Object> field = new LinkedHashMap<>();
+            field.put("name", locator.toString());
+            field.put("using", selector[0]);
+            field.put("value", selector[1]);
+            field.put("text", value);
+            fields.add(field);
+        });
+        Object missing = ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, fields);
+        if (missing instanceof List && !((List<?>) missing).isEmpty()) {
+            throw new NoSuchElementException("Поля формы не найдены: " + missing);
+        }
+    }
+
+    private void type(By locator, String value) {
+        WebElement element = driver.findElement(locator);
+        element.clear();
+        element.sendKeys(value);
+    }
+}
@@ -0,0 +1,206 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Профиль стоимости локаторов за прогон: время поиска и ожиданий, число вызовов, попаданий и промахов по каждому By
+ * Отчет отсортирован по суммарному времени, медленные стратегии (XPath по тексту) помечаются отдельно
+ */
+public class LocatorProfiler {
+
+    private static final Pattern TEXT_XPATH = Pattern.compile("text\\(\\)|contains\\(|normalize-space");
+
+    /**
+     * Какие поиски в профиль не попадают
+     */
+    static final String COVERAGE_NOTE = "Не учтены: обращения к полям @FindBy, обслуженные из кэша CachingFieldDecorator "
+        + "(профилируется только промах кэша), и все поиски @FindBy при ui.element.cache.enabled=false\n";
+
+    private static final Map<String, LocatorStats> stats = new ConcurrentHashMap<>();
+    private static final AtomicBoolean reportScheduled = new AtomicBoolean();
+
+    /**
+     * Найти элемент и записать время поиска; промах (NoSuchElementException) тоже учитывается
+     */
+    public static WebElement find(SearchContext context, By locator) {
+        return time(locator, () -> context.findElement(locator));
+    }
+
+    public static List<WebElement> findAll(SearchContext context, By locator) {
+        long start = System.nanoTime();
+        List<WebElement> elements = context.findElements(locator);
+        record(locator, System.nanoTime() - start, !elements.isEmpty());
+        return elements;
+    }
+
+    /**
+     * Выполнить поиск или ожидание по локатору и записать время; исключение считается промахом
+     */
+    public static <T> T time(By locator, Supplier<T> action) {
+        long start = System.nanoTime();
+        boolean hit = false;
+        try {
+            T result = action.get();
+            hit = true;
+            return result;
+        } finally {
+            record(locator, System.nanoTime() - start, hit);
+        }
+    }
+
+    public static void record(By locator, long nanos, boolean hit) {
+        stats.computeIfAbsent(locator.toString(), LocatorStats::new).add(nanos, hit);
+    }
+
+    public static LocatorStats get(By locator) {
+        return stats.get(locator.toString());
+    }
+
+    /**
+     * Локаторы по убыванию суммарного времени
+     */
+    public static List<LocatorStats> getAll() {
+        return stats.values().stream()
+            .sorted(Comparator.comparingLong(LocatorStats::getTotalNanos).reversed())
+            .collect(Collectors.toList());
+    }
+
+    public static void reset() {
+        stats.clear();
+    }
+
+    /**
+     * Текстовый отчет по самым дорогим локаторам
+     */
+    public static String report(int top) {
+        List<LocatorStats> all = getAll();
+        StringBuilder sb = new StringBuilder(String.format("=== LOCATOR PROFILE (%d locators) ===%n", all.size()));
+        all.stream().limit(top).forEach(s -> sb.append(s).append("\n"));
+        List<String> slow = new ArrayList<>();
+        for (LocatorStats s : all) {
+            if (s.isTextXPath()) {
+                slow.add(s.getLocator());
+            }
+        }
+        if (!slow.isEmpty()) {
+            sb.append("XPath по тексту, заменить на data-test или id (Locators):\n");
+            slow.forEach(locator -> sb.append("  ").append(locator).append("\n"));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Отчет прогона: самые дорогие локаторы, статистика кэша элементов и что в профиль не попадает
+     */
+    public static String runReport(int top) {
+        return report(top) + CachingFieldDecorator.getStats() + "\n" + COVERAGE_NOTE;
+    }
+
+    /**
+     * Записать отчет прогона в файл
+     */
+    public static void writeReport(Path file, int top) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, runReport(top).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Записать отчет один раз при завершении JVM; повторные вызовы из других классов ничего не делают
+     */
+    public static void writeReportOnExit(Path file, int top) {
+        if (!reportScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (stats.isEmpty()) {
+                return;
+            }
+            try {
+                writeReport(file, top);
+                System.out.println("Профиль локаторов записан: " + file);
+            } catch (IOException e) {
+                System.err.println("Не удалось записать профиль локаторов: " + e.getMessage());
+            }
+        }, "locator-profile-report"));
+    }
+
+    /**
+     * Накопленная статистика одного локатора
+     */
+    public static class LocatorStats {
+        private final String locator;
+        private long calls;
+        private long misses;
+        private long totalNanos;
+        private long maxNanos;
+
+        public LocatorStats(String locator) {
+            this.locator = locator;
+        }
+
+        synchronized void add(long nanos, boolean hit) {
+            calls++;
+            if (!hit) {
+                misses++;
+            }
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        public String getLocator() {
+            return locator;
+        }
+
+        public synchronized long getCalls() {
+            return calls;
+        }
+
+        public synchronized long getHits() {
+            return calls - misses;
+        }
+
+        public synchronized long getMisses() {
+            return misses;
+        }
+
+        public synchronized long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public synchronized double getAvgMs() {
+            return calls == 0 ? 0 : totalNanos / 1_000_000.0 / calls;
+        }
+
+        public synchronized double getMaxMs() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        public boolean isTextXPath() {
+            return locator.startsWith("By.xpath") && TEXT_XPATH.matcher(locator).find();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%s: %d calls (%d hits, %d misses), total %.1f ms, avg %.1f ms, max %.1f ms",
+                locator, calls, calls - misses, misses, totalNanos / 1_000_000.0, getAvgMs(), getMaxMs());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+/**
+ * Быстрые локаторы по стабильным атрибутам: data-test и id
+ * Браузер ищет их через querySelector по атрибуту, без обхода DOM XPath-ом и сравнения текста
+ */
+public class Locators {
+
+    /**
+     * Элемент с точным значением data-test
+     */
+    public static By dataTest(String value) {
+        return By.cssSelector("[data-test=\"" + escape(value) + "\"]");
+    }
+
+    /**
+     * Элементы, чей data-test начинается с префикса: add-to-cart -> add-to-cart-sauce-labs-backpack, ...
+     */
+    public static By dataTestPrefix(String prefix) {
+        return By.cssSelector("[data-test^=\"" + escape(prefix) + "\"]");
+    }
+
+    /**
+     * Элемент с таким id или data-test: подходит для страниц, где атрибуты заданы не везде одинаково
+     */
+    public static By idOrDataTest(String value) {
+        String escaped = escape(value);
+        return By.cssSelector("[id=\"" + escaped + "\"], [data-test=\"" + escaped + "\"]");
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,301 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Soak режим UI: сценарий page object повторяется N раз в одной сессии, после каждой итерации
+ * через CDP снимаются JS heap, число DOM узлов и обработчиков событий (после принудительной сборки мусора)
+ * По итерациям после прогрева строится линейный тренд; устойчивый рост выше порога - подозрение на утечку фронтенда
+ */
+public class MemorySoak {
+
+    public static final String HEAP = "jsHeapUsedBytes";
+    public static final String NODES = "domNodes";
+    public static final String LISTENERS = "jsEventListeners";
+    public static final String MARKER = "[MEMORY LEAK]";
+
+    /**
+     * Без CDP: heap из performance.memory, узлы текущего документа; обработчики недоступны
+     */
+    static final String FALLBACK_SCRIPT =
+        "return {heap: window.performance && performance.memory ? performance.memory.usedJSHeapSize : -1,\n" +
+        "        nodes: document.getElementsByTagName('*').length};";
+
+    private final WebDriver driver;
+    private final int warmup;
+    private final Map<String, Double> slopeThresholds = new LinkedHashMap<>();
+    private final double minR2;
+
+    /**
+     * Пороги из ui.soak.*
+     */
+    public MemorySoak(WebDriver driver) {
+        this(driver, Config.getSoakWarmup(), Config.getSoakHeapSlopeKb() * 1024, Config.getSoakNodesSlope(),
+            Config.getSoakListenersSlope(), Config.getSoakMinR2());
+    }
+
+    /**
+     * @param warmup итерации, не входящие в тренд (кэши, ленивая инициализация, JIT)
+     * @param heapSlopeBytes допустимый рост heap в байтах за итерацию
+     * @param minR2 минимальный коэффициент детерминации: шумный ряд без устойчивого роста утечкой не считается
+     */
+    public MemorySoak(WebDriver driver, int warmup, double heapSlopeBytes, double nodesSlope, double listenersSlope, double minR2) {
+        this.driver = driver;
+        this.warmup = Math.max(0, warmup);
+        this.slopeThresholds.put(HEAP, heapSlopeBytes);
+        this.slopeThresholds.put(NODES, nodesSlope);
+        this.slopeThresholds.put(LISTENERS, listenersSlope);
+        this.minR2 = minR2;
+    }
+
+    /**
+     * Выполнить сценарий iterations раз; замер до первой итерации и после каждой
+     * @param scenario получает номер итерации с 1
+     */
+    public SoakResult run(int iterations, IntConsumer scenario) {
+        List<Sample> samples = new ArrayList<>();
+        samples.add(sample(0));
+        for (int i = 1; i <= iterations; i++) {
+            scenario.accept(i);
+            samples.add(sample(i));
+        }
+        return analyze(samples);
+    }
+
+    /**
+     * Снять память вкладки; значение -1 - метрика недоступна
+     */
+    public Sample sample(int iteration) {
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("HeapProfiler.collectGarbage", Map.of());
+            Map<String, Object> heap = cdp.executeCdpCommand("Runtime.getHeapUsage", Map.of());
+            Map<String, Object> counters = cdp.executeCdpCommand("Memory.getDOMCounters", Map.of());
+            return new Sample(iteration, number(heap.get("usedSize")), number(counters.get("nodes")),
+                number(counters.get("jsEventListeners")));
+        }
+        Object result = ((JavascriptExecutor) driver).executeScript(FALLBACK_SCRIPT);
+        Map<?, ?> values = result instanceof Map ? (Map<?, ?>) result : Map.of();
+        return new Sample(iteration, number(values.get("heap")), number(values.get("nodes")), -1);
+    }
+
+    /**
+     * Построить тренды по замерам после прогрева и отметить метрики с устойчивым ростом
+     */
+    public SoakResult analyze(List<Sample> samples) {
+        List<Sample> measured = samples.size() > warmup + 2 ? samples.subList(warmup, samples.size()) : samples;
+        Map<String, Trend> trends = new LinkedHashMap<>();
+        for (String metric : slopeThresholds.keySet()) {
+            double[] values = new double[measured.size()];
+            boolean available = !measured.isEmpty();
+            for (int i = 0; i < values.length; i++) {
+                values[i] = measured.get(i).get(metric);
+                available &= values[i] >= 0;
+            }
+            if (available && values.length >= 2) {
+                Trend trend = Trend.fit(values);
+                trend.leak = trend.slope > slopeThresholds.get(metric) && trend.r2 >= minR2;
+                trends.put(metric, trend);
+            }
+        }
+        return new SoakResult(samples, warmup, trends, slopeThresholds);
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+
+    /**
+     * Замер памяти после итерации
+     */
+    public static class Sample {
+        private final int iteration;
+        private final double heapBytes;
+        private final double domNodes;
+        private final double listeners;
+
+        public Sample(int iteration, double heapBytes, double domNodes, double listeners) {
+            this.iteration = iteration;
+            this.heapBytes = heapBytes;
+            this.domNodes = domNodes;
+            this.listeners = listeners;
+        }
+
+        public double get(String metric) {
+            switch (metric) {
+                case HEAP:
+                    return heapBytes;
+                case NODES:
+                    return domNodes;
+                case LISTENERS:
+                    return listeners;
+                default:
+                    throw new IllegalArgumentException("Неизвестная метрика памяти: " + metric);
+            }
+        }
+
+        public int getIteration() {
+            return iteration;
+        }
+
+        public double getHeapBytes() {
+            return heapBytes;
+        }
+
+        public double getDomNodes() {
+            return domNodes;
+        }
+
+        public double getListeners() {
+            return listeners;
+        }
+    }
+
+    /**
+     * Линейная регрессия методом наименьших квадратов по номеру итерации
+     */
+    public static class Trend {
+        private final double slope;
+        private final double r2;
+        private final double first;
+        private final double last;
+        private boolean leak;
+
+        Trend(double slope, double r2, double first, double last) {
+            this.slope = slope;
+            this.r2 = r2;
+            this.first = first;
+            this.last = last;
+        }
+
+        static Trend fit(double[] values) {
+            int n = values.length;
+            double meanX = (n - 1) / 2.0;
+            double meanY = 0;
+            for (double v : values) {
+                meanY += v / n;
+            }
+            double sxy = 0;
+            double sxx = 0;
+            double syy = 0;
+            for (int i = 0; i < n; i++) {
+                sxy += (i - meanX) * (values[i] - meanY);
+                sxx += (i - meanX) * (i - meanX);
+                syy += (values[i] - meanY) * (values[i] - meanY);
+            }
+            double slope = sxx == 0 ? 0 : sxy / sxx;
+            // Постоянный ряд объясняется полностью, но наклон у него нулевой
+            double r2 = syy == 0 ? 1 : (sxy * sxy) / (sxx * syy);
+            return new Trend(slope, r2, values[0], values[n - 1]);
+        }
+
+        /**
+         * Рост за итерацию
+         */
+        public double getSlope() {
+            return slope;
+        }
+
+        public double getR2() {
+            return r2;
+        }
+
+        public double getFirst() {
+            return first;
+        }
+
+        public double getLast() {
+            return last;
+        }
+
+        public boolean isLeak() {
+            return leak;
+        }
+    }
+
+    /**
+     * Результат soak прогона: замеры, тренды и подозрения на утечки
+     */
+    public static class SoakResult {
+        private final List<Sample> samples;
+        private final int warmup;
+        private final Map<String, Trend> trends;
+        private final Map<String, Double> thresholds;
+
+        SoakResult(List<Sample> samples, int warmup, Map<String, Trend> trends, Map<String, Double> thresholds) {
+            this.samples = Collections.unmodifiableList(new ArrayList<>(samples));
+            this.warmup = warmup;
+            this.trends = trends;
+            this.thresholds = thresholds;
+        }
+
+        public List<Sample> getSamples() {
+            return samples;
+        }
+
+        /**
+         * Тренд метрики; null, если метрика недоступна в этом браузере
+         */
+        public Trend getTrend(String metric) {
+            return trends.get(metric);
+        }
+
+        public List<String> getSuspectedLeaks() {
+            List<String> leaks = new ArrayList<>();
+            trends.forEach((metric, trend) -> {
+                if (trend.isLeak()) {
+                    leaks.add(metric);
+                }
+            });
+            return leaks;
+        }
+
+        public boolean hasLeaks() {
+            return !getSuspectedLeaks().isEmpty();
+        }
+
+        /**
+         * Упасть с сообщением [MEMORY LEAK] (отдельная категория Allure), если есть подозрения на утечки
+         */
+        public void assertNoLeaks(String scenario) {
+            if (hasLeaks()) {
+                StringBuilder sb = new StringBuilder(MARKER).append(" ").append(scenario).append(":");
+                for (String metric : getSuspectedLeaks()) {
+                    Trend trend = trends.get(metric);
+                    sb.append(String.format(" %s +%.1f/iteration (r2=%.2f, %.0f -> %.0f);",
+                        metric, trend.getSlope(), trend.getR2(), trend.getFirst(), trend.getLast()));
+                }
+                throw new AssertionError(sb.toString());
+            }
+        }
+
+        public String report() {
+            StringBuilder sb = new StringBuilder("=== MEMORY SOAK ===\n");
+            sb.append(String.format("Iterations: %d, warmup: %d%n", samples.size() - 1, warmup));
+            trends.forEach((metric, trend) -> sb.append(String.format("%-4s %s: %+.1f/iteration (limit %.1f), r2=%.2f, %.0f -> %.0f%n",
+                trend.isLeak() ? "LEAK" : "OK", metric, trend.getSlope(), thresholds.get(metric), trend.getR2(),
+                trend.getFirst(), trend.getLast())));
+            return sb.toString();
+        }
+
+        /**
+         * Замеры по итерациям для графика в отчете
+         */
+        public String toCsv() {
+            StringBuilder sb = new StringBuilder("iteration,").append(HEAP).append(",").append(NODES).append(",").append(LISTENERS).append("\n");
+            for (Sample s : samples) {
+                sb.append(String.format("%d,%.0f,%.0f,%.0f%n", s.getIteration(), s.getHeapBytes(), s.getDomNodes(), s.getListeners()));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Запись сетевых запросов браузера через события CDP Network в формате HAR 1.2
+ * События читаются как JSON без версионных классов devtools, поэтому запись не зависит от версии Chrome
+ */
+public class NetworkRecorder {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger(NetworkRecorder.class);
+
+    private final Map<String, Entry> active = new LinkedHashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private DevToolsEvents events;
+
+    /**
+     * Подписаться на сетевые события браузера
+     * @return false, если браузер не поддерживает DevTools и запись не ведется
+     */
+    public boolean attach(WebDriver driver) {
+        events = DevToolsEvents.forDriver(driver);
+        if (events == null) {
+            LOGGER.warn("Запись HAR пропущена: браузер не поддерживает DevTools");
+            return false;
+        }
+        events.listen(this, "Network.requestWillBeSent", this::onRequestWillBeSent);
+        events.listen(this, "Network.responseReceived", this::onResponseReceived);
+        events.listen(this, "Network.requestServedFromCache", this::onServedFromCache);
+        events.listen(this, "Network.loadingFinished", this::onLoadingFinished);
+        events.listen(this, "Network.loadingFailed", this::onLoadingFailed);
+        events.send("Network.enable");
+        return true;
+    }
+
+    /**
+     * Снять свои подписки; подписки других слушателей и сессия браузера остаются рабочими
+     */
+    public void detach() {
+        if (events == null) {
+            return;
+        }
+        try {
+            events.release(this);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Не удалось отключить запись HAR: {}", e.getMessage());
+        } finally {
+            events = null;
+        }
+    }
+
+    public synchronized void onRequestWillBeSent(Map<String, Object> event) {
+        String requestId = string(event.get("requestId"));
+        Entry previous = active.remove(requestId);
+        if (previous != null && event.get("redirectResponse") instanceof Map) {
+            // Редирект приходит тем же requestId: предыдущий запрос завершается ответом-редиректом
+            previous.applyResponse(map(event.get("redirectResponse")), number(event.get("timestamp")));
+            previous.finish(number(event.get("timestamp")), 0, null);
+        }
+        Entry entry = new Entry(map(event.get("request")), string(event.get("type")),
+            number(event.get("timestamp")), number(event.get("wallTime")));
+        active.put(requestId, entry);
+        entries.add(entry);
+    }
+
+    public synchronized void onResponseReceived(Map<String, Object> event) {
+        Entry entry = active.get(string(event.get("requestId")));
+        if (entry != null) {
+            entry.applyResponse(map(event.get("response")), number(event.get("timestamp")));
+        }
+    }
+
+    public synchronized void onServedFromCache(Map<String, Object> event) {
+        Entry entry = active.get(string(event.get("requestId")));
+        if (entry != null) {
+            entry.cacheStatus = "memory";
+        }
+    }
+
+    public synchronized void onLoadingFinished(Map<String, Object> event) {
+        Entry entry = active.remove(string(event.get("requestId")));
+        if (entry != null) {
+            entry.finish(number(event.get("timestamp")), (long) number(event.get("encodedDataLength")), null);
+        }
+    }
+
+    public synchronized void onLoadingFailed(Map<String, Object> event) {
+        Entry entry = active.remove(string(event.get("requestId")));
+        if (entry != null) {
+            entry.finish(number(event.get("timestamp")), 0, string(event.get("errorText")));
+        }
+    }
+
+    /**
+     * Записанные запросы в порядке отправки
+     */
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * HAR 1.2 документ (log.entries)
+     */
+    public synchronized Map<String, Object> toHar() {
+        Map<String, Object> creator = new LinkedHashMap<>();
+        creator.put("name", "NetworkRecorder");
+        creator.put("version", "1.0");
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("version", "1.2");
+        log.put("creator", creator);
+        log.put("entries", entries.stream().map(Entry::toHar).collect(Collectors.toList()));
+        Map<String, Object> har = new LinkedHashMap<>();
+        har.put("log", log);
+        return har;
+    }
+
+    public byte[] toHarBytes() throws IOException {
+        return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(toHar());
+    }
+
+    public void writeHar(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, toHarBytes());
+    }
+
+    /**
+     * Сводка: общие объемы, кэш, ошибки, самые медленные и самые большие запросы
+     */
+    public String summary(int top) {
+        List<Entry> all = getEntries();
+        long bytes = all.stream().mapToLong(Entry::getTransferSize).sum();
+        long cached = all.stream().filter(e -> e.getCacheStatus() != null).count();
+        long failed = all.stream().filter(e -> e.getError() != null || e.getStatus() >= 400).count();
+        StringBuilder sb = new StringBuilder("=== NETWORK SUMMARY ===\n");
+        sb.append(String.format("Requests: %d, transferred: %d B, from cache: %d, failed: %d%n", all.size(), bytes, cached, failed));
+        sb.append("\nSlowest:\n");
+        all.stream().sorted(Comparator.comparingDouble(Entry::getTimeMs).reversed()).limit(top)
+            .forEach(e -> sb.append("  ").append(e).append("\n"));
+        sb.append("\nLargest:\n");
+        all.stream().sorted(Comparator.comparingLong(Entry::getTransferSize).reversed()).limit(top)
+            .forEach(e -> sb.append("  ").append(e).append("\n"));
+        return sb.toString();
+    }
+
+    private static String string(Object value) {
+        return value == null ? null : String.valueOf(value);
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    /**
+     * Один запрос: данные CDP и вычисленные по ним тайминги HAR (мс)
+     */
+    public static class Entry {
+        private final Map<String, Object> request;
+        private final String resourceType;
+        private final double startTimestamp;
+        private final double wallTime;
+        private Map<String, Object> response = Map.of();
+        private double responseTimestamp = -1;
+        private double endTimestamp = -1;
+        private long transferSize;
+        private String cacheStatus;
+        private String error;
+
+        Entry(Map<String, Object> request, String resourceType, double startTimestamp, double wallTime) {
+            this.request = request;
+            this.resourceType = resourceType;
+            this.startTimestamp = startTimestamp;
+            this.wallTime = wallTime;
+        }
+
+        void applyResponse(Map<String, Object> response, double timestamp) {
+            this.response = response;
+            this.responseTimestamp = timestamp;
+            if (Boolean.TRUE.equals(response.get("fromDiskCache"))) {
+                cacheStatus = "disk";
+            } else if (Boolean.TRUE.equals(response.get("fromServiceWorker"))) {
+                cacheStatus = "service-worker";
+            }
+        }
+
+        void finish(double timestamp, long encodedDataLength, String error) {
+            this.endTimestamp = timestamp;
+            this.error = error;
+            this.transferSize = encodedDataLength > 0 ? encodedDataLength : (long) Math.max(0, number(response.get("encodedDataLength")));
+        }
+
+        public String getUrl() {
+            return string(request.get("url"));
+        }
+
+        public String getMethod() {
+            return string(request.get("method"));
+        }
+
+        public int getStatus() {
+            return (int) Math.max(0, number(response.get("status")));
+        }
+
+        public long getTransferSize() {
+            return transferSize;
+        }
+
+        /**
+         * null - из сети, иначе "memory", "disk" или "service-worker"
+         */
+        public String getCacheStatus() {
+            return cacheStatus;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * Полное время запроса от отправки до последнего байта (или ответа, если загрузка не завершилась)
+         */
+        public double getTimeMs() {
+            double end = endTimestamp >= 0 ? endTimestamp : responseTimestamp;
+            return end >= 0 && startTimestamp >= 0 ? Math.max(0, (end - startTimestamp) * 1000) : 0;
+        }
+
+        /**
+         * Фазы HAR по ResourceTiming ответа; -1 - фаза не применима (например, соединение из пула)
+         */
+        public Map<String, Double> getTimings() {
+            Map<String, Object> timing = map(response.get("timing"));
+            Map<String, Double> timings = new LinkedHashMap<>();
+            if (timing.isEmpty()) {
+                // Ответ из кэша: детальных фаз нет, все время считается ожиданием
+                timings.put("blocked", -1.0);
+                timings.put("dns", -1.0);
+                timings.put("connect", -1.0);
+                timings.put("ssl", -1.0);
+                timings.put("send", 0.0);
+                timings.put("wait", getTimeMs());
+                timings.put("receive", 0.0);
+                return timings;
+            }
+            double requestTime = number(timing.get("requestTime"));
+            double dnsStart = number(timing.get("dnsStart"));
+            double connectStart = number(timing.get("connectStart"));
+            double sslStart = number(timing.get("sslStart"));
+            double sendStart = number(timing.get("sendStart"));
+            double sendEnd = number(timing.get("sendEnd"));
+            double headersEnd = number(timing.get("receiveHeadersEnd"));
+            double firstPhase = dnsStart >= 0 ? dnsStart : connectStart >= 0 ? connectStart : sendStart;
+            // Время в очереди до requestTime (после requestWillBeSent) тоже относится к blocked
+            double queued = Math.max(0, (requestTime - startTimestamp) * 1000);
+            timings.put("blocked", queued + Math.max(0, firstPhase));
+            timings.put("dns", phase(dnsStart, number(timing.get("dnsEnd"))));
+            timings.put("connect", phase(connectStart, number(timing.get("connectEnd"))));
+            timings.put("ssl", phase(sslStart, number(timing.get("sslEnd"))));
+            timings.put("send", Math.max(0, sendEnd - sendStart));
+            timings.put("wait", Math.max(0, headersEnd - sendEnd));
+            double end = endTimestamp >= 0 ? endTimestamp : responseTimestamp;
+            timings.put("receive", end >= 0 ? Math.max(0, (end - requestTime) * 1000 - headersEnd) : 0);
+            return timings;
+        }
+
+        private static double phase(double start, double end) {
+            return start >= 0 && end >= start ? end - start : -1;
+        }
+
+        Map<String, Object> toHar() {
+            Map<String, Object> harRequest = new LinkedHashMap<>();
+            harRequest.put("method", getMethod());
+            harRequest.put("url", getUrl());
+            harRequest.put("httpVersion", httpVersion());
+            harRequest.put("headers", headers(map(request.get("headers"))));
+            harRequest.put("queryString", List.of());
+            harRequest.put("cookies", List.of());
+            harRequest.put("headersSize", -1);
+            harRequest.put("bodySize", -1);
+
+            Map<String, Object> content = new LinkedHashMap<>();
+            content.put("size", transferSize);
+            content.put("mimeType", response.getOrDefault("mimeType", ""));
+            Map<String, Object> responseHeaders = map(response.get("headers"));
+            Map<String, Object> harResponse = new LinkedHashMap<>();
+            harResponse.put("status", getStatus());
+            harResponse.put("statusText", response.getOrDefault("statusText", ""));
+            harResponse.put("httpVersion", httpVersion());
+            harResponse.put("headers", headers(responseHeaders));
+            harResponse.put("cookies", List.of());
+            harResponse.put("content", content);
+            harResponse.put("redirectURL", responseHeaders.getOrDefault("location", responseHeaders.getOrDefault("Location", "")));
+            harResponse.put("headersSize", -1);
+            harResponse.put("bodySize", cacheStatus != null ? 0 : transferSize);
+
+            Map<String, Object> har = new LinkedHashMap<>();
+            har.put("startedDateTime", Instant.ofEpochMilli((long) (Math.max(0, wallTime) * 1000)).toString());
+            har.put("time", getTimeMs());
+            har.put("request", harRequest);
+            har.put("response", harResponse);
+            har.put("cache", Map.of());
+            har.put("timings", getTimings());
+            har.put("_resourceType", resourceType);
+            har.put("_cacheStatus", cacheStatus == null ? "network" : cacheStatus);
+            if (error != null) {
+                har.put("_error", error);
+            }
+            return har;
+        }
+
+        private String httpVersion() {
+            Object protocol = response.get("protocol");
+            return protocol == null ? "" : String.valueOf(protocol).toUpperCase();
+        }
+
+        private static List<Map<String, Object>> headers(Map<String, Object> headers) {
+            List<Map<String, Object>> list = new ArrayList<>();
+            headers.forEach((name, value) -> {
+                Map<String, Object> header = new LinkedHashMap<>();
+                header.put("name", name);
+                header.put("value", string(value));
+                list.add(header);
+            });
+            return list;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s -> %s, %.0f ms, %d B%s", getMethod(), getUrl(),
+                error != null ? error : String.valueOf(getStatus()), getTimeMs(), transferSize,
+                cacheStatus != null ? " (" + cacheStatus + " cache)" : "");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package utils;
+
+import org.junit.jupiter.params.provider.Arguments;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Параллельный прогон проверок по строкам тестовых данных
+ * Принимает те же источники, что и @ParameterizedTest (TestDataProvider, CSV и JSON файлы из classpath),
+ * выполняет проверки с ограниченным параллелизмом и возвращает один {@link SweepReport}
+ */
+public class ParameterSweepExecutor {
+
+    private final int parallelism;
+
+    public ParameterSweepExecutor() {
+        this(Config.getSweepParallelism());
+    }
+
+    public ParameterSweepExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Параллелизм должен быть >= 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Проверка одной строки данных; любое исключение считается падением строки
+     */
+    @FunctionalInterface
+    public interface RowCheck {
+        void check(Object[] row) throws Throwable;
+    }
+
+    /**
+     * Прогнать проверку по строкам из провайдера аргументов
+     */
+    public SweepReport run(String name, Stream<Arguments> rows, RowCheck check) {
+        return runRows(name, rows.map(Arguments::get).collect(Collectors.toList()), check);
+    }
+
+    /**
+     * Прогнать проверку по готовому списку строк
+     */
+    public SweepReport runRows(String name, List<Object[]> rows, RowCheck check) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "sweep-" + name + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.currentTimeMillis();
+        try {
+            List<Future<SweepReport.RowResult>> futures = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                int index = i;
+                Object[] row = rows.get(i);
+                futures.add(executor.submit(() -> checkRow(index, row, check)));
+            }
+
+            List<SweepReport.RowResult> results = new ArrayList<>(rows.size());
+            for (Future<SweepReport.RowResult> future : futures) {
+                results.add(future.get());
+            }
+            return new SweepReport(name, parallelism, System.currentTimeMillis() - start, results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Прогон '" + name + "' прерван", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка выполнения прогона '" + name + "'", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static SweepReport.RowResult checkRow(int index, Object[] row, RowCheck check) {
+        long start = System.currentTimeMillis();
+        Throwable error = null;
+        try {
+            check.check(row);
+        } catch (Throwable t) {
+            error = t;
+        }
+        return new SweepReport.RowResult(index, row, System.currentTimeMillis() - start, error);
+    }
+}
@@ -0,0 +1,140 @@
+package utils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Реестр метрик размера ответов API
+ * Накапливает байты "по проводу" и байты после декомпрессии по каждому эндпоинту
+ */
+public class PayloadMetrics {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Записать метрики одного ответа
+     */
+    public static void record(String method, String path, String contentEncoding, long wireBytes, long decodedBytes) {
+        String endpoint = method + " " + normalizePath(path);
+        stats.computeIfAbsent(endpoint, EndpointStats::new)
+            .add(contentEncoding, wireBytes, decodedBytes);
+    }
+
+    /**
+     * Получить метрики эндпоинта (например, "GET /posts/{id}")
+     */
+    public static EndpointStats get(String endpoint) {
+        return stats.get(endpoint);
+    }
+
+    /**
+     * Получить метрики всех эндпоинтов
+     */
+    public static List<EndpointStats> getAll() {
+        return stats.values().stream()
+            .sorted(Comparator.comparing(EndpointStats::getEndpoint))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Очистить накопленные метрики
+     */
+    public static void reset() {
+        stats.clear();
+    }
+
+    /**
+     * Сформировать текстовый отчет по всем эндпоинтам
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder("=== PAYLOAD METRICS ===\n");
+        for (EndpointStats s : getAll()) {
+            sb.append(s).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Заменяет числовые сегменты пути на {id}, чтобы /posts/1 и /posts/2 попадали в один эндпоинт
+     */
+    static String normalizePath(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        String withoutQuery = path.split("\\?", 2)[0];
+        return NUMERIC_SEGMENT.matcher(withoutQuery).replaceAll("/{id}");
+    }
+
+    /**
+     * Накопленные метрики одного эндпоинта
+     */
+    public static class EndpointStats {
+        private final String endpoint;
+        private final AtomicLong responses = new AtomicLong();
+        private final AtomicLong compressedResponses = new AtomicLong();
+        private final AtomicLong wireBytes = new AtomicLong();
+        private final AtomicLong decodedBytes = new AtomicLong();
+        private final Map<String, AtomicLong> encodings = new ConcurrentHashMap<>();
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void add(String contentEncoding, long wire, long decoded) {
+            responses.incrementAndGet();
+            wireBytes.addAndGet(wire);
+            decodedBytes.addAndGet(decoded);
+            String encoding = contentEncoding == null || contentEncoding.isBlank() ? "identity" : contentEncoding.toLowerCase();
+            if (!"identity".equals(encoding)) {
+                compressedResponses.incrementAndGet();
+            }
+            encodings.computeIfAbsent(encoding, key -> new AtomicLong()).incrementAndGet();
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getResponses() {
+            return responses.get();
+        }
+
+        public long getCompressedResponses() {
+            return compressedResponses.get();
+        }
+
+        public long getWireBytes() {
+            return wireBytes.get();
+        }
+
+        public long getDecodedBytes() {
+            return decodedBytes.get();
+        }
+
+        /**
+         * Доля сэкономленного трафика (0.0 - без сжатия)
+         */
+        public double getSavingsRatio() {
+            long decoded = decodedBytes.get();
+            return decoded == 0 ? 0.0 : 1.0 - (double) wireBytes.get() / decoded;
+        }
+
+        public Map<String, Long> getEncodings() {
+            return encodings.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get()));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: responses=%d, compressed=%d, wire=%d B, decoded=%d B, savings=%.1f%%, encodings=%s",
+                endpoint, getResponses(), getCompressedResponses(), getWireBytes(), getDecodedBytes(),
+                getSavingsRatio() * 100, getEncodings());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Бюджет производительности UI теста (или всех тестов класса), переопределяет ui.performance.budgets
+ * Имя - взаимодействие страницы ("add-to-cart", "login-to-inventory") или метрика навигации
+ * в виде метрика@фрагмент_url ("lcpMs@inventory.html"); проверяет {@link PerformanceBudgets}
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Repeatable(PerformanceBudget.List.class)
+public @interface PerformanceBudget {
+
+    String name();
+
+    double maxMs();
+
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @Inherited
+    @interface List {
+        PerformanceBudget[] value();
+    }
+}
@@ -0,0 +1,302 @@
+package utils;
+
+import exceptions.PerformanceBudgetException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Бюджеты производительности UI сценариев: время взаимодействий и метрики навигации по таймингам браузера
+ * Взаимодействие измеряется от первого события ввода (mousedown, keydown) до кадра после появления результата,
+ * поэтому накладные расходы WebDriver в замер не входят; начало хранится в sessionStorage и переживает переход страницы
+ * Нарушение бюджета - {@link PerformanceBudgetException}, отдельная категория в allure-categories.json
+ */
+public class PerformanceBudgets {
+
+    private static final String START_KEY = "__budgetStart";
+    private static final String ARMED_KEY = "__budgetArmed";
+
+    /**
+     * Взвести замер: слушатели в фазе перехвата запоминают время первого события ввода после взвода
+     */
+    static final String ARM_SCRIPT =
+        "sessionStorage.removeItem('" + START_KEY + "');\n" +
+        "sessionStorage.setItem('" + ARMED_KEY + "', '1');\n" +
+        "if (!window.__budgetListener) {\n" +
+        "  window.__budgetListener = function (e) {\n" +
+        "    if (sessionStorage.getItem('" + ARMED_KEY + "') && !sessionStorage.getItem('" + START_KEY + "')) {\n" +
+        "      sessionStorage.setItem('" + START_KEY + "', String(performance.timeOrigin + e.timeStamp));\n" +
+        "    }\n" +
+        "  };\n" +
+        "  ['pointerdown', 'mousedown', 'keydown', 'click', 'submit'].forEach(function (type) {\n" +
+        "    document.addEventListener(type, window.__budgetListener, true);\n" +
+        "  });\n" +
+        "}";
+
+    /**
+     * Асинхронный скрипт: дождаться селектора результата и следующего кадра, вернуть длительность в мс
+     * или null, если результат не появился или событие ввода не зафиксировано
+     */
+    static final String SETTLE_SCRIPT =
+        "var done = arguments[arguments.length - 1], css = arguments[0], limit = arguments[1], t0 = Date.now();\n" +
+        "function finish(value) {\n" +
+        "  sessionStorage.removeItem('" + ARMED_KEY + "');\n" +
+        "  sessionStorage.removeItem('" + START_KEY + "');\n" +
+        "  done(value);\n" +
+        "}\n" +
+        "(function check() {\n" +
+        "  if (document.querySelector(css)) {\n" +
+        "    requestAnimationFrame(function () {\n" +
+        "      setTimeout(function () {\n" +
+        "        var start = Number(sessionStorage.getItem('" + START_KEY + "'));\n" +
+        "        finish(start ? performance.timeOrigin + performance.now() - start : null);\n" +
+        "      }, 0);\n" +
+        "    });\n" +
+        "  } else if (Date.now() - t0 > limit) {\n" +
+        "    finish(null);\n" +
+        "  } else {\n" +
+        "    setTimeout(check, 10);\n" +
+        "  }\n" +
+        "})();";
+
+    private static final ThreadLocal<PerformanceBudgets> current = new ThreadLocal<>();
+
+    /**
+     * Бюджеты вне теста (begin не вызван): ничего не замеряют, не копят и не проверяют
+     */
+    private static final PerformanceBudgets INACTIVE = new PerformanceBudgets(Map.of(), false, false);
+
+    private final Map<String, Double> budgets;
+    private final boolean enabled;
+    private final boolean tracking;
+    private volatile boolean enforcing;
+    private final List<Measurement> measurements = Collections.synchronizedList(new ArrayList<>());
+
+    public PerformanceBudgets(Map<String, Double> budgets, boolean enabled) {
+        this(budgets, enabled, true);
+    }
+
+    private PerformanceBudgets(Map<String, Double> budgets, boolean enabled, boolean tracking) {
+        this.budgets = new LinkedHashMap<>(budgets);
+        this.enabled = enabled;
+        this.tracking = tracking;
+        this.enforcing = tracking;
+    }
+
+    /**
+     * Начать тест: бюджеты по умолчанию, поверх них аннотации класса, затем метода
+     */
+    public static PerformanceBudgets begin(AnnotatedElement... scopes) {
+        Map<String, Double> merged = new LinkedHashMap<>(parse(Config.getPerformanceBudgets()));
+        for (AnnotatedElement scope : scopes) {
+            if (scope != null) {
+                for (PerformanceBudget budget : scope.getAnnotationsByType(PerformanceBudget.class)) {
+                    merged.put(budget.name(), budget.maxMs());
+                }
+            }
+        }
+        PerformanceBudgets budgets = new PerformanceBudgets(merged, Config.isPerformanceBudgetsEnabled());
+        current.set(budgets);
+        return budgets;
+    }
+
+    /**
+     * Бюджеты текущего теста; вне BaseUiTest (e2e тесты, нагрузка) - неактивные бюджеты без проверок,
+     * чтобы page object не падал на бюджете без отчета и замеры не копились на потоке
+     */
+    public static PerformanceBudgets current() {
+        PerformanceBudgets budgets = current.get();
+        return budgets != null ? budgets : INACTIVE;
+    }
+
+    public static void end() {
+        current.remove();
+    }
+
+    /**
+     * Разбор "lcpMs@inventory.html=1500,add-to-cart=200"; некорректные записи пропускаются
+     */
+    public static Map<String, Double> parse(String spec) {
+        Map<String, Double> budgets = new LinkedHashMap<>();
+        if (spec == null) {
+            return budgets;
+        }
+        for (String entry : spec.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq <= 0) {
+                continue;
+            }
+            try {
+                budgets.put(entry.substring(0, eq).trim(), Double.parseDouble(entry.substring(eq + 1).trim()));
+            } catch (NumberFormatException e) {
+                System.err.println("Неверный бюджет производительности: " + entry);
+            }
+        }
+        return budgets;
+    }
+
+    /**
+     * Выполнить действие и проверить его длительность по бюджету name
+     * @param readyCss CSS селектор результата действия (элемент, который появляется по его завершении)
+     * @return длительность в мс или null, если замер не удался
+     */
+    public Double measure(WebDriver driver, String name, String readyCss, Runnable action) {
+        Double durationMs = time(driver, readyCss, action);
+        if (durationMs != null) {
+            check(name, durationMs, driver.getCurrentUrl());
+        }
+        return durationMs;
+    }
+
+    /**
+     * Выполнить действие и замерить его длительность без проверки бюджета
+     */
+    public Double time(WebDriver driver, String readyCss, Runnable action) {
+        if (!enabled || !(driver instanceof JavascriptExecutor)) {
+            action.run();
+            return null;
+        }
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        try {
+            js.executeScript(ARM_SCRIPT);
+        } catch (WebDriverException e) {
+            action.run();
+            return null;
+        }
+        action.run();
+        long limitMs = Config.getTimeout() * 1000L;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                Object result = js.executeAsyncScript(SETTLE_SCRIPT, readyCss, limitMs);
+                return result instanceof Number ? ((Number) result).doubleValue() : null;
+            } catch (WebDriverException e) {
+                // Скрипт мог попасть на выгружаемую страницу, если действие запустило переход
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Проверить метрики навигации: бюджеты вида метрика@фрагмент_url для страниц, чей URL содержит фрагмент
+     */
+    public void checkNavigation(WebVitals.PageMetrics metrics) {
+        for (Map.Entry<String, Double> budget : budgets.entrySet()) {
+            int at = budget.getKey().indexOf('@');
+            if (at <= 0) {
+                continue;
+            }
+            String fragment = budget.getKey().substring(at + 1);
+            Double value = metrics.get(budget.getKey().substring(0, at));
+            if (value != null && metrics.getUrl() != null && metrics.getUrl().contains(fragment)) {
+                check(budget.getKey(), value, metrics.getPage());
+            }
+        }
+    }
+
+    /**
+     * Записать замер и бросить {@link PerformanceBudgetException}, если бюджет задан и превышен
+     * Под профилем эмуляции замер только записывается: бюджеты заданы для desktop
+     */
+    public void check(String name, double actualMs, String context) {
+        if (!tracking) {
+            return;
+        }
+        Double limit = budgets.get(name);
+        boolean passed = limit == null || actualMs <= limit;
+        measurements.add(new Measurement(name, actualMs, limit, context, passed));
+        if (!passed && enforcing) {
+            throw new PerformanceBudgetException(name, actualMs, limit, context);
+        }
+    }
+
+    public Double getBudget(String name) {
+        return budgets.get(name);
+    }
+
+    public Map<String, Double> getBudgets() {
+        return Collections.unmodifiableMap(budgets);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isEnforcing() {
+        return enforcing;
+    }
+
+    public void setEnforcing(boolean enforcing) {
+        // Общий неактивный экземпляр не должен становиться проверяющим
+        this.enforcing = enforcing && tracking;
+    }
+
+    public List<Measurement> getMeasurements() {
+        synchronized (measurements) {
+            return new ArrayList<>(measurements);
+        }
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder("=== PERFORMANCE BUDGETS ===\n");
+        if (!enforcing) {
+            sb.append("Not enforced (emulation profile)\n");
+        }
+        for (Measurement m : getMeasurements()) {
+            sb.append(m).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Один замер с бюджетом, если он задан
+     */
+    public static class Measurement {
+        private final String name;
+        private final double actualMs;
+        private final Double limitMs;
+        private final String context;
+        private final boolean passed;
+
+        Measurement(String name, double actualMs, Double limitMs, String context, boolean passed) {
+            this.name = name;
+            this.actualMs = actualMs;
+            this.limitMs = limitMs;
+            this.context = context;
+            this.passed = passed;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getActualMs() {
+            return actualMs;
+        }
+
+        public Double getLimitMs() {
+            return limitMs;
+        }
+
+        public String getContext() {
+            return context;
+        }
+
+        public boolean isPassed() {
+            return passed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-4s %s: %.0f ms%s%s", passed ? "OK" : "FAIL", name, actualMs,
+                limitMs == null ? "" : String.format(" (budget %.0f ms)", limitMs),
+                context == null ? "" : " - " + context);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package utils;
+
+import org.apache.http.conn.DnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DNS резолвер с кэшем на весь прогон и закреплением адресов из конфигурации
+ * Хост разрешается один раз, последующие соединения не тратят время на DNS
+ */
+public class PinnedDnsResolver implements DnsResolver {
+
+    private static final PinnedDnsResolver INSTANCE = new PinnedDnsResolver(Config.getDnsPins());
+
+    private final Map<String, String> pins;
+    private final Map<String, InetAddress[]> cache = new ConcurrentHashMap<>();
+
+    public PinnedDnsResolver(Map<String, String> pins) {
+        this.pins = pins;
+    }
+
+    public static PinnedDnsResolver getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        String key = host.toLowerCase();
+        InetAddress[] cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        InetAddress[] resolved;
+        String pinned = pins.get(key);
+        if (pinned != null) {
+            // Сохраняем имя хоста, чтобы SNI и проверка сертификата работали с закрепленным IP
+            resolved = new InetAddress[]{InetAddress.getByAddress(host, InetAddress.getByName(pinned).getAddress())};
+        } else {
+            resolved = InetAddress.getAllByName(host);
+        }
+        cache.put(key, resolved);
+        return resolved;
+    }
+
+    public boolean isPinned(String host) {
+        return pins.containsKey(host.toLowerCase());
+    }
+
+    public boolean isCached(String host) {
+        return cache.containsKey(host.toLowerCase());
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,196 @@
+package utils;
+
+import exceptions.ApiConnectionException;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * HTTP клиент RestAssured с повторами на уровне запроса
+ * Повторяет только идемпотентные запросы (сетевые ошибки, 429, 502-504) с экспоненциальной
+ * задержкой и полным джиттером, расходуя глобальный {@link RetryBudget}.
+ * Перед каждым запросом проверяет {@link CircuitBreaker} хоста и при разомкнутом предохранителе
+ * сразу выбрасывает {@link ApiConnectionException}
+ * Встроенный повтор DefaultHttpClient (3 попытки на IOException) выключен: иначе каждый наш повтор
+ * скрывал бы до трех внутренних, минуя бюджет, предохранитель и джиттер
+ */
+// RestAssured 5 принимает только API HttpClient 4 (AbstractHttpClient, ClientConnectionManager), помеченное устаревшим
+@SuppressWarnings("deprecation")
+public class ResilientHttpClient extends DefaultHttpClient {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE");
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 502, 503, 504);
+    private static final Logger LOGGER = LoggerUtils.getLogger(ResilientHttpClient.class);
+
+    private final int maxRetries;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final RetryBudget budget;
+
+    public ResilientHttpClient() {
+        super();
+        this.maxRetries = Config.getRetryCount();
+        this.baseBackoffMs = Config.getRetryBackoffBaseMs();
+        this.maxBackoffMs = Config.getRetryBackoffMaxMs();
+        this.budget = RetryBudget.global();
+        setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+    }
+
+    public ResilientHttpClient(ClientConnectionManager connectionManager) {
+        super(connectionManager);
+        this.maxRetries = Config.getRetryCount();
+        this.baseBackoffMs = Config.getRetryBackoffBaseMs();
+        this.maxBackoffMs = Config.getRetryBackoffMaxMs();
+        this.budget = RetryBudget.global();
+        setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+    }
+
+    public ResilientHttpClient(int maxRetries, long baseBackoffMs, long maxBackoffMs, RetryBudget budget) {
+        super();
+        this.maxRetries = maxRetries;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.budget = budget;
+        setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        CloseableHttpResponse execute() throws IOException;
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpUriRequest request, HttpContext context) throws IOException {
+        String host = request.getURI().getHost() != null ? request.getURI().getHost() : "unknown";
+        return executeWithRetry(host, request, () -> super.execute(request, context));
+    }
+
+    @Override
+    public CloseableHttpResponse execute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+        String host = target != null ? target.getHostName() : "unknown";
+        return executeWithRetry(host, request, () -> super.execute(target, request, context));
+    }
+
+    private CloseableHttpResponse executeWithRetry(String host, HttpRequest request, Attempt attempt) throws IOException {
+        CircuitBreaker breaker = CircuitBreaker.forHost(host);
+        String method = request.getRequestLine().getMethod();
+        String uri = request.getRequestLine().getUri();
+        budget.recordRequest();
+
+        int retries = 0;
+        while (true) {
+            if (!breaker.allowRequest()) {
+                throw new ApiConnectionException(String.format(
+                    "Circuit breaker открыт для %s, запрос не отправлен (повтор через %d мс)",
+                    host, breaker.getRemainingOpenMs()), uri, 0);
+            }
+
+            CloseableHttpResponse response;
+            try {
+                response = attempt.execute();
+            } catch (IOException e) {
+                breaker.recordFailure();
+                if (!canRetry(method, request, retries)) {
+                    throw e;
+                }
+                retries++;
+                logRetry(method, uri, retries, e.getClass().getSimpleName());
+                backoff(retries, -1);
+                continue;
+            }
+
+            int status = response.getStatusLine().getStatusCode();
+            if (status >= 500) {
+                breaker.recordFailure();
+            } else {
+                breaker.recordSuccess();
+            }
+
+            if (!RETRYABLE_STATUSES.contains(status) || !canRetry(method, request, retries)) {
+                return bufferEntity(response);
+            }
+            long retryAfterMs = parseRetryAfterMs(response.getFirstHeader("Retry-After"));
+            EntityUtils.consumeQuietly(response.getEntity());
+            response.close();
+            retries++;
+            logRetry(method, uri, retries, "HTTP " + status);
+            backoff(retries, retryAfterMs);
+        }
+    }
+
+    /**
+     * Дочитать тело сразу: RestAssured не дочитывает поток до EOF и соединение не вернулось бы в общий пул
+     */
+    private static CloseableHttpResponse bufferEntity(CloseableHttpResponse response) throws IOException {
+        HttpEntity entity = response.getEntity();
+        if (entity != null && entity.isStreaming()) {
+            response.setEntity(new BufferedHttpEntity(entity));
+        }
+        return response;
+    }
+
+    private boolean canRetry(String method, HttpRequest request, int retries) {
+        if (retries >= maxRetries || !IDEMPOTENT_METHODS.contains(method.toUpperCase(Locale.ROOT))) {
+            return false;
+        }
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity != null && !entity.isRepeatable()) {
+                return false;
+            }
+        }
+        // Бюджет проверяем последним, чтобы не тратить его на запросы, которые и так не повторяются
+        return budget.tryAcquireRetry();
+    }
+
+    /**
+     * Экспоненциальная задержка с полным джиттером; Retry-After сервера имеет приоритет, но не больше максимума
+     */
+    private void backoff(int retry, long retryAfterMs) throws InterruptedIOException {
+        long delay;
+        if (retryAfterMs >= 0) {
+            delay = Math.min(retryAfterMs, maxBackoffMs);
+        } else {
+            long cap = Math.min(maxBackoffMs, baseBackoffMs * (1L << Math.min(retry - 1, 20)));
+            delay = ThreadLocalRandom.current().nextLong(cap + 1);
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ожидание повтора прервано");
+        }
+    }
+
+    private static long parseRetryAfterMs(Header header) {
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.getValue().trim()) * 1000;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void logRetry(String method, String uri, int retry, String reason) {
+        LOGGER.warn("Request {} {} failed ({}), retry {}", method, uri, reason, retry);
+    }
+}
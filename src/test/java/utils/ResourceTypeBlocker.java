@@ -0,0 +1,62 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Блокировка ресурсов по типу запроса браузера через CDP Fetch: Fetch.enable с RequestPattern.resourceType
+ * перехватывает картинки, шрифты, медиа и стили, а Fetch.failRequest отклоняет их до отправки
+ * В отличие от шаблонов URL ловит адреса с query string и без расширения (CDN, /image?id=)
+ */
+public class ResourceTypeBlocker {
+
+    private final DevToolsEvents events;
+    private final AtomicInteger blocked = new AtomicInteger();
+
+    public ResourceTypeBlocker(DevToolsEvents events) {
+        this.events = events;
+    }
+
+    /**
+     * Начать перехват; пока блокировка действует, блокировщик держит CDP сессию браузера
+     */
+    public void start(Collection<BlockResources.ResourceType> types) {
+        events.listen(this, "Fetch.requestPaused", this::onRequestPaused);
+        events.send("Fetch.enable", Map.of("patterns", patterns(types)));
+    }
+
+    /**
+     * Перехваченный запрос отклоняется так же, как Network.setBlockedURLs
+     */
+    public void onRequestPaused(Map<String, Object> params) {
+        blocked.incrementAndGet();
+        events.send("Fetch.failRequest", Map.of("requestId", String.valueOf(params.get("requestId")),
+            "errorReason", "BlockedByClient"));
+    }
+
+    /**
+     * Снять перехват: без Fetch.disable подходящие запросы ждали бы ответа от закрытой подписки
+     */
+    public void stop() {
+        try {
+            events.send("Fetch.disable", Map.of());
+        } finally {
+            events.release(this);
+        }
+    }
+
+    public int getBlocked() {
+        return blocked.get();
+    }
+
+    static List<Map<String, Object>> patterns(Collection<BlockResources.ResourceType> types) {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (BlockResources.ResourceType type : types) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type.getCdpType(), "requestStage", "Request"));
+        }
+        return patterns;
+    }
+}
@@ -0,0 +1,65 @@
+package utils;
+
+/**
+ * Глобальный бюджет повторных запросов
+ * Каждый запрос пополняет бюджет на долю ratio, каждый повтор расходует единицу.
+ * Так повторы не могут превысить заданную долю от общего трафика, даже если упал весь upstream
+ */
+public class RetryBudget {
+
+    private static final RetryBudget GLOBAL = new RetryBudget(
+        Config.getRetryBudgetRatio(), Config.getRetryBudgetMinTokens());
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+    private long retriesGranted;
+    private long retriesDenied;
+
+    public RetryBudget(double ratio, int minTokens) {
+        this.ratio = ratio;
+        this.maxTokens = Math.max(minTokens, 1);
+        this.tokens = minTokens;
+    }
+
+    public static RetryBudget global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Учесть исходный (не повторный) запрос
+     */
+    public synchronized void recordRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    /**
+     * Попытаться получить разрешение на повтор
+     */
+    public synchronized boolean tryAcquireRetry() {
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            retriesGranted++;
+            return true;
+        }
+        retriesDenied++;
+        return false;
+    }
+
+    public synchronized double getAvailableTokens() {
+        return tokens;
+    }
+
+    public synchronized long getRetriesGranted() {
+        return retriesGranted;
+    }
+
+    public synchronized long getRetriesDenied() {
+        return retriesDenied;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("RetryBudget{tokens=%.2f, granted=%d, denied=%d}", tokens, retriesGranted, retriesDenied);
+    }
+}
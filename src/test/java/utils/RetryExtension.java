@@ -4,47 +4,59 @@ import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.slf4j.Logger;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Расширение для повторного выполнения тестов при падении
+ * Упавший метод вызывается заново в том же экземпляре без @BeforeEach/@AfterEach;
+ * после последней попытки ошибка выбрасывается, тест не проходит молча
+ * Для API тестов не используется: запросы повторяет {@link ResilientHttpClient} с бюджетом и circuit breaker
  */
 public class RetryExtension implements TestExecutionExceptionHandler, BeforeEachCallback, AfterEachCallback {
 
     private static final String RETRY_COUNT_KEY = "retryCount";
+    private static final Logger LOGGER = LoggerUtils.getLogger(RetryExtension.class);
 
     @Override
     public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        Method method = context.getRequiredTestMethod();
+        // Аргументы параметризованного вызова расширению недоступны: такой тест не повторяется
+        if (method.getParameterCount() > 0) {
+            throw throwable;
+        }
         AtomicInteger retryCount = getRetryCount(context);
         int maxAttempts = getMaxAttempts(context);
-        long delayMs = getDelayMs(context);
-
-        if (retryCount.get() < maxAttempts) {
-            retryCount.incrementAndGet();
-            context.getStore(ExtensionContext.Namespace.create(RetryExtension.class))
-                .put(RETRY_COUNT_KEY, retryCount);
-
-            System.out.printf("Test failed, retrying (%d/%d) in %d ms...%n", 
-                retryCount.get(), maxAttempts, delayMs);
+        Throwable lastFailure = throwable;
 
+        // JUnit не перезапускает тест сам: метод вызывается повторно здесь, последняя ошибка выбрасывается
+        while (retryCount.incrementAndGet() < maxAttempts) {
+            long delayMs = getDelayMs(context);
+            LOGGER.warn("Test {} failed, retrying ({}/{}) in {} ms: {}", method.getName(),
+                retryCount.get() + 1, maxAttempts, delayMs, lastFailure.toString());
             try {
                 Thread.sleep(delayMs);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                throw new RuntimeException(e);
+                throw lastFailure;
+            }
+            try {
+                method.setAccessible(true);
+                method.invoke(context.getRequiredTestInstance());
+                return;
+            } catch (InvocationTargetException e) {
+                e.getCause().addSuppressed(lastFailure);
+                lastFailure = e.getCause();
             }
-
-            // Не выбрасываем исключение, позволяем тесту повториться
-            return;
         }
-
-        // Если исчерпаны все попытки, выбрасываем исключение
-        throw throwable;
+        throw lastFailure;
     }
 
     @Override
@@ -0,0 +1,148 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Кэш состояния авторизованной сессии (cookies и localStorage) для входа без UI
+ * Логин через форму выполняется один раз на пользователя, дальше состояние подставляется в новые сессии
+ */
+public class SessionStateCache {
+
+    /**
+     * Запас до истечения cookie, при котором состояние уже считается устаревшим
+     */
+    private static final long EXPIRY_MARGIN_MS = 30_000;
+
+    private static final String READ_STORAGE_SCRIPT =
+        "var state = {};" +
+        "for (var i = 0; i < localStorage.length; i++) { var key = localStorage.key(i); state[key] = localStorage.getItem(key); }" +
+        "return {origin: location.origin, storage: state};";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+        "localStorage.clear();" +
+        "var state = arguments[0];" +
+        "for (var key in state) { localStorage.setItem(key, state[key]); }";
+
+    private static final Map<String, SessionState> cache = new ConcurrentHashMap<>();
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Снять cookies и localStorage текущей страницы
+     */
+    public static SessionState capture(WebDriver driver) {
+        Map<?, ?> page = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        Map<String, String> storage = new LinkedHashMap<>();
+        ((Map<?, ?>) page.get("storage")).forEach((key, value) -> storage.put(String.valueOf(key), String.valueOf(value)));
+        return new SessionState(String.valueOf(page.get("origin")), new ArrayList<>(driver.manage().getCookies()), storage);
+    }
+
+    public static void store(String key, SessionState state) {
+        cache.put(key, state);
+    }
+
+    public static void invalidate(String key) {
+        cache.remove(key);
+    }
+
+    public static void clear() {
+        cache.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Подставить сохраненное состояние в браузер и открыть targetUrl
+     * @return false, если состояния нет или его cookies истекают - нужен обычный логин
+     */
+    public static boolean restore(WebDriver driver, String key, String targetUrl) {
+        SessionState state = cache.get(key);
+        if (state == null || state.isExpired(System.currentTimeMillis() + EXPIRY_MARGIN_MS)) {
+            cache.remove(key);
+            misses.incrementAndGet();
+            return false;
+        }
+        inject(driver, state);
+        driver.get(targetUrl);
+        hits.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Cookies и localStorage можно выставить только на странице того же origin, поэтому сначала
+     * открывается легкая страница сайта вместо полной страницы логина
+     */
+    static void inject(WebDriver driver, SessionState state) {
+        driver.get(state.getOrigin() + Config.getLoginShortcutBootstrapPath());
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : state.getCookies()) {
+            // Домен не передается: cookie привязывается к текущему хосту и не отклоняется браузером
+            driver.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                .path(cookie.getPath())
+                .expiresOn(cookie.getExpiry())
+                .isSecure(cookie.isSecure())
+                .isHttpOnly(cookie.isHttpOnly())
+                .sameSite(cookie.getSameSite())
+                .build());
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, state.getLocalStorage());
+    }
+
+    public static int getHits() {
+        return hits.get();
+    }
+
+    public static int getMisses() {
+        return misses.get();
+    }
+
+    public static Set<String> getKeys() {
+        return cache.keySet();
+    }
+
+    /**
+     * Сохраненное состояние одной авторизованной сессии
+     */
+    public static class SessionState {
+        private final String origin;
+        private final List<Cookie> cookies;
+        private final Map<String, String> localStorage;
+
+        public SessionState(String origin, List<Cookie> cookies, Map<String, String> localStorage) {
+            this.origin = origin;
+            this.cookies = List.copyOf(cookies);
+            this.localStorage = Map.copyOf(localStorage);
+        }
+
+        public String getOrigin() {
+            return origin;
+        }
+
+        public List<Cookie> getCookies() {
+            return cookies;
+        }
+
+        public Map<String, String> getLocalStorage() {
+            return localStorage;
+        }
+
+        /**
+         * Состояние устарело, если хоть одна cookie истекает раньше указанного момента
+         */
+        public boolean isExpired(long atMillis) {
+            Date moment = new Date(atMillis);
+            return cookies.stream().anyMatch(cookie -> cookie.getExpiry() != null && cookie.getExpiry().before(moment));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package utils;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Включает класс только в soak режиме (ui.soak.enabled, системное свойство или config.properties)
+ * Условие проверяется до @BeforeAll базового класса, поэтому вне soak режима браузеры не запускаются
+ */
+public class SoakModeCondition implements ExecutionCondition {
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        return Config.isSoakEnabled()
+            ? ConditionEvaluationResult.enabled("Soak режим включен")
+            : ConditionEvaluationResult.disabled("Soak режим выключен (ui.soak.enabled=false)");
+    }
+}
@@ -0,0 +1,274 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import io.qameta.allure.Allure;
+import io.restassured.response.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Потоковые проверки больших JSON массивов
+ * Разбирает массив верхнего уровня токенами Jackson и держит в памяти только текущий элемент,
+ * поэтому количество, предикаты и ограничения схемы проверяются за один проход без построения JsonPath дерева
+ *
+ * <pre>
+ * StreamingJsonAssert.forArray(response)
+ *     .hasSize(500)
+ *     .requireFields("id", "postId", "email")
+ *     .fieldType("id", JsonNodeType.NUMBER)
+ *     .each("email содержит @", c -> c.path("email").asText().contains("@"))
+ *     .verify();
+ * </pre>
+ */
+public class StreamingJsonAssert {
+
+    private static final JsonFactory JSON_FACTORY = new ObjectMapper().getFactory();
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    private final String source;
+    private final InputStream input;
+
+    private Integer expectedSize;
+    private Integer minSize;
+    private Integer maxSize;
+    private final List<String> requiredFields = new ArrayList<>();
+    private final Map<String, JsonNodeType> fieldTypes = new LinkedHashMap<>();
+    private final Map<String, Predicate<JsonNode>> predicates = new LinkedHashMap<>();
+    private final List<String> increasingFields = new ArrayList<>();
+
+    private StreamingJsonAssert(String source, InputStream input) {
+        this.source = source;
+        this.input = input;
+    }
+
+    /**
+     * Проверки для тела ответа RestAssured
+     * Тело уже целиком в памяти (его буферизуют фильтры Allure и сжатия), поток экономит только дерево JsonPath
+     */
+    public static StreamingJsonAssert forArray(Response response) {
+        return new StreamingJsonAssert("response", response.asInputStream());
+    }
+
+    public static StreamingJsonAssert forArray(InputStream input) {
+        return new StreamingJsonAssert("stream", input);
+    }
+
+    public static StreamingJsonAssert forArray(String json) {
+        return new StreamingJsonAssert("string", new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public StreamingJsonAssert hasSize(int size) {
+        this.expectedSize = size;
+        return this;
+    }
+
+    public StreamingJsonAssert hasSizeAtLeast(int size) {
+        this.minSize = size;
+        return this;
+    }
+
+    public StreamingJsonAssert hasSizeAtMost(int size) {
+        this.maxSize = size;
+        return this;
+    }
+
+    /**
+     * Каждый элемент должен содержать поля (не null)
+     */
+    public StreamingJsonAssert requireFields(String... fields) {
+        requiredFields.addAll(List.of(fields));
+        return this;
+    }
+
+    /**
+     * Поле каждого элемента, если присутствует, должно иметь указанный тип
+     */
+    public StreamingJsonAssert fieldType(String field, JsonNodeType type) {
+        fieldTypes.put(field, type);
+        return this;
+    }
+
+    /**
+     * Каждый элемент должен удовлетворять предикату
+     */
+    public StreamingJsonAssert each(String description, Predicate<JsonNode> predicate) {
+        predicates.put(description, predicate);
+        return this;
+    }
+
+    /**
+     * Числовое поле должно строго возрастать от элемента к элементу
+     */
+    public StreamingJsonAssert strictlyIncreasing(String field) {
+        increasingFields.add(field);
+        return this;
+    }
+
+    /**
+     * Выполнить проход по массиву и вернуть результат без падения
+     */
+    public Result evaluate() {
+        Result result = new Result(source);
+        Map<String, Double> lastValues = new LinkedHashMap<>();
+        long start = System.currentTimeMillis();
+
+        try (JsonParser parser = JSON_FACTORY.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                result.addViolation(-1, "Ожидался JSON массив верхнего уровня, получен " + parser.currentToken());
+                return result;
+            }
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    result.addViolation(index, "Неожиданный конец документа");
+                    break;
+                }
+                // Дерево строится только для текущего элемента
+                JsonNode element = parser.readValueAsTree();
+                checkElement(index, element, lastValues, result);
+                index++;
+            }
+            result.count = index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка потокового разбора JSON (" + source + ")", e);
+        }
+
+        checkSize(result);
+        result.durationMs = System.currentTimeMillis() - start;
+        return result;
+    }
+
+    /**
+     * Выполнить проверки и упасть с перечнем нарушений
+     */
+    public Result verify() {
+        Result result = evaluate();
+        Allure.addAttachment("Streaming JSON Assert", "text/plain", result.toString());
+        if (!result.isSuccessful()) {
+            throw new AssertionError(result.toString());
+        }
+        return result;
+    }
+
+    private void checkElement(int index, JsonNode element, Map<String, Double> lastValues, Result result) {
+        for (String field : requiredFields) {
+            JsonNode value = element.get(field);
+            if (value == null || value.isNull()) {
+                result.addViolation(index, "отсутствует обязательное поле '" + field + "'");
+            }
+        }
+        for (Map.Entry<String, JsonNodeType> entry : fieldTypes.entrySet()) {
+            JsonNode value = element.get(entry.getKey());
+            if (value != null && !value.isNull() && value.getNodeType() != entry.getValue()) {
+                result.addViolation(index, String.format("поле '%s' имеет тип %s, ожидался %s",
+                    entry.getKey(), value.getNodeType(), entry.getValue()));
+            }
+        }
+        for (Map.Entry<String, Predicate<JsonNode>> entry : predicates.entrySet()) {
+            boolean matches;
+            try {
+                matches = entry.getValue().test(element);
+            } catch (RuntimeException e) {
+                matches = false;
+            }
+            if (!matches) {
+                result.addViolation(index, "не выполнено условие '" + entry.getKey() + "'");
+            }
+        }
+        for (String field : increasingFields) {
+            JsonNode value = element.get(field);
+            if (value == null || !value.isNumber()) {
+                result.addViolation(index, "поле '" + field + "' не является числом");
+                continue;
+            }
+            Double previous = lastValues.put(field, value.asDouble());
+            if (previous != null && value.asDouble() <= previous) {
+                result.addViolation(index, String.format("поле '%s' не возрастает: %s после %s",
+                    field, value.asText(), previous));
+            }
+        }
+    }
+
+    private void checkSize(Result result) {
+        if (expectedSize != null && result.count != expectedSize) {
+            result.addViolation(-1, String.format("размер массива %d, ожидался %d", result.count, expectedSize));
+        }
+        if (minSize != null && result.count < minSize) {
+            result.addViolation(-1, String.format("размер массива %d меньше %d", result.count, minSize));
+        }
+        if (maxSize != null && result.count > maxSize) {
+            result.addViolation(-1, String.format("размер массива %d больше %d", result.count, maxSize));
+        }
+    }
+
+    /**
+     * Результат потоковой проверки
+     */
+    public static class Result {
+        private final String source;
+        private int count;
+        private long durationMs;
+        private int violationCount;
+        private final List<String> violations = new ArrayList<>();
+
+        private Result(String source) {
+            this.source = source;
+        }
+
+        private void addViolation(int index, String message) {
+            violationCount++;
+            // Храним только первые нарушения, чтобы память не росла вместе с массивом
+            if (violations.size() < MAX_REPORTED_VIOLATIONS) {
+                violations.add(index >= 0 ? "[" + index + "] " + message : message);
+            }
+        }
+
+        public boolean isSuccessful() {
+            return violationCount == 0;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public int getViolationCount() {
+            return violationCount;
+        }
+
+        public List<String> getViolations() {
+            return violations;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Потоковая проверка JSON (%s): элементов %d, нарушений %d, время %d мс",
+                source, count, violationCount, durationMs));
+            for (String violation : violations) {
+                sb.append("\n  ").append(violation);
+            }
+            if (violationCount > violations.size()) {
+                sb.append("\n  ... и еще ").append(violationCount - violations.size());
+            }
+            return sb.toString();
+        }
+    }
+}
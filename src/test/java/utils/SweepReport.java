@@ -0,0 +1,150 @@
+package utils;
+
+import io.qameta.allure.Allure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Агрегированный отчет параметрического прогона
+ * Хранит результат проверки каждой строки данных
+ */
+public class SweepReport {
+
+    private final String name;
+    private final int parallelism;
+    private final long wallTimeMs;
+    private final List<RowResult> rows;
+
+    public SweepReport(String name, int parallelism, long wallTimeMs, List<RowResult> rows) {
+        this.name = name;
+        this.parallelism = parallelism;
+        this.wallTimeMs = wallTimeMs;
+        this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWallTimeMs() {
+        return wallTimeMs;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public int getTotal() {
+        return rows.size();
+    }
+
+    public List<RowResult> getFailures() {
+        return rows.stream().filter(row -> !row.isPassed()).collect(Collectors.toList());
+    }
+
+    public int getPassedCount() {
+        return getTotal() - getFailures().size();
+    }
+
+    public boolean allPassed() {
+        return rows.stream().allMatch(RowResult::isPassed);
+    }
+
+    /**
+     * Перцентиль длительности проверки строки, мс
+     */
+    public long getPercentileMs(double percentile) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        long[] durations = rows.stream().mapToLong(RowResult::getDurationMs).sorted().toArray();
+        int index = (int) Math.ceil(percentile / 100.0 * durations.length) - 1;
+        return durations[Math.max(0, Math.min(index, durations.length - 1))];
+    }
+
+    /**
+     * Упасть с одним сообщением, перечисляющим все упавшие строки
+     */
+    public void assertAllPassed() {
+        List<RowResult> failures = getFailures();
+        if (failures.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder(String.format("Sweep '%s': %d из %d строк не прошли проверку%n",
+            name, failures.size(), getTotal()));
+        for (RowResult failure : failures) {
+            sb.append("  ").append(failure).append(System.lineSeparator());
+        }
+        AssertionError error = new AssertionError(sb.toString());
+        failures.forEach(failure -> error.addSuppressed(failure.getError()));
+        throw error;
+    }
+
+    /**
+     * Прикрепить отчет к Allure
+     */
+    public SweepReport attachToAllure() {
+        Allure.addAttachment("Sweep Report: " + name, "text/plain", toString());
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Sweep: %s%nRows: %d, Passed: %d, Failed: %d%nParallelism: %d%nWall Time: %d ms%n",
+            name, getTotal(), getPassedCount(), getTotal() - getPassedCount(), parallelism, wallTimeMs));
+        sb.append(String.format("Row Time p50/p95/max: %d/%d/%d ms%n",
+            getPercentileMs(50), getPercentileMs(95), getPercentileMs(100)));
+        for (RowResult row : getFailures()) {
+            sb.append("FAILED ").append(row).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Результат проверки одной строки данных
+     */
+    public static class RowResult {
+        private final int index;
+        private final Object[] arguments;
+        private final long durationMs;
+        private final Throwable error;
+
+        public RowResult(int index, Object[] arguments, long durationMs, Throwable error) {
+            this.index = index;
+            this.arguments = arguments;
+            this.durationMs = durationMs;
+            this.error = error;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Object[] getArguments() {
+            return arguments;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+        public boolean isPassed() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            String status = isPassed() ? "OK" : error.getClass().getSimpleName() + ": " + error.getMessage();
+            return String.format("#%d %s (%d ms) -> %s", index, Arrays.toString(arguments), durationMs, status);
+        }
+    }
+}
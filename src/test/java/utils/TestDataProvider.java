@@ -1,7 +1,19 @@
 package utils;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.params.provider.Arguments;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -37,6 +49,32 @@ public class TestDataProvider {
         );
     }
 
+    /**
+     * Пользователи с ожидаемыми именем и email
+     */
+    public static Stream<Arguments> getUserProfiles() {
+        return Stream.of(
+            Arguments.of(1, "Leanne Graham", "Sincere@april.biz"),
+            Arguments.of(2, "Ervin Howell", "Shanna@melissa.tv"),
+            Arguments.of(3, "Clementine Bauch", "Nathan@yesenia.net"),
+            Arguments.of(4, "Patricia Lebsack", "Julianne.OConner@kory.org"),
+            Arguments.of(5, "Chelsey Dietrich", "Lucio_Hettinger@annie.ca")
+        );
+    }
+
+    /**
+     * Посты с ожидаемыми заголовками
+     */
+    public static Stream<Arguments> getPostTitles() {
+        return Stream.of(
+            Arguments.of(1, "sunt aut facere repellat provident occaecati excepturi optio reprehenderit"),
+            Arguments.of(2, "qui est esse"),
+            Arguments.of(3, "ea molestias quasi exercitationem repellat qui ipsa sit aut"),
+            Arguments.of(4, "eum et est occaecati"),
+            Arguments.of(5, "nesciunt quas odio")
+        );
+    }
+
     /**
      * Данные для негативных API тестов
      */
@@ -49,6 +87,13 @@ public class TestDataProvider {
         );
     }
 
+    /**
+     * Диапазон ID для массовых прогонов (включительно)
+     */
+    public static Stream<Arguments> getIdRange(int fromId, int toId) {
+        return IntStream.rangeClosed(fromId, toId).mapToObj(Arguments::of);
+    }
+
     // ==================== UI ТЕСТОВЫЕ ДАННЫЕ ====================
 
     /**
@@ -190,6 +235,118 @@ public class TestDataProvider {
         );
     }
 
+    // ==================== ФАЙЛОВЫЕ ИСТОЧНИКИ ====================
+
+    /**
+     * Строки CSV файла из classpath (первая строка - заголовок), значения - строки
+     */
+    public static Stream<Arguments> fromCsvResource(String resourcePath) {
+        try (Reader reader = new InputStreamReader(openResource(resourcePath), StandardCharsets.UTF_8)) {
+            List<String[]> records = parseCsv(reader);
+            return records.stream().skip(1).map(record -> Arguments.of((Object[]) record));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать CSV: " + resourcePath, e);
+        }
+    }
+
+    /**
+     * Разбор CSV по RFC 4180: поля в кавычках могут содержать запятые, переводы строк и удвоенные кавычки
+     * Пустые строки пропускаются
+     */
+    public static List<String[]> parseCsv(Reader source) throws IOException {
+        // Один символ просмотра вперед для удвоенных кавычек и CRLF
+        BufferedReader reader = new BufferedReader(source);
+        List<String[]> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch != '"') {
+                    field.append(ch);
+                    continue;
+                }
+                reader.mark(1);
+                int next = reader.read();
+                if (next == '"') {
+                    field.append('"');
+                } else {
+                    quoted = false;
+                    if (next != -1) {
+                        reader.reset();
+                    }
+                }
+            } else if (ch == '"' && field.length() == 0) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                addRecord(records, fields, field, fieldStarted);
+                fieldStarted = false;
+            } else {
+                field.append(ch);
+                fieldStarted = true;
+            }
+        }
+        if (quoted) {
+            throw new IOException("Незакрытая кавычка в CSV");
+        }
+        addRecord(records, fields, field, fieldStarted);
+        return records;
+    }
+
+    private static void addRecord(List<String[]> records, List<String> fields, StringBuilder field, boolean fieldStarted) {
+        if (fieldStarted || !fields.isEmpty()) {
+            fields.add(field.toString());
+            records.add(fields.toArray(new String[0]));
+        }
+        fields.clear();
+        field.setLength(0);
+    }
+
+    /**
+     * Объекты массива JSON файла из classpath, разложенные по указанным полям
+     */
+    public static Stream<Arguments> fromJsonResource(String resourcePath, String arrayField, String... fields) {
+        List<Arguments> rows = new ArrayList<>();
+        try (InputStream input = openResource(resourcePath)) {
+            JsonNode array = new ObjectMapper().readTree(input).path(arrayField);
+            for (JsonNode node : array) {
+                Object[] values = new Object[fields.length];
+                for (int i = 0; i < fields.length; i++) {
+                    JsonNode value = node.path(fields[i]);
+                    values[i] = value.isBoolean() ? value.asBoolean()
+                        : value.isNumber() ? value.numberValue()
+                        : value.isNull() || value.isMissingNode() ? null : value.asText();
+                }
+                rows.add(Arguments.of(values));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать JSON: " + resourcePath, e);
+        }
+        return rows.stream();
+    }
+
+    private static InputStream openResource(String resourcePath) {
+        InputStream input = TestDataProvider.class.getClassLoader().getResourceAsStream(resourcePath);
+        if (input == null) {
+            throw new IllegalArgumentException("Ресурс не найден: " + resourcePath);
+        }
+        return input;
+    }
+
     // ==================== ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ ====================
 
     /**
@@ -0,0 +1,18 @@
+package utils;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Расширение, сообщающее UI тесту результат выполнения до вызова @AfterEach
+ * JUnit вызывает afterTestExecution сразу после тела теста, поэтому в tearDown уже известно, упал ли тест
+ */
+public class TestOutcomeExtension implements AfterTestExecutionCallback {
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        context.getTestInstance()
+            .filter(BaseUiTest.class::isInstance)
+            .ifPresent(instance -> ((BaseUiTest) instance).onTestExecuted(context.getExecutionException().orElse(null)));
+    }
+}
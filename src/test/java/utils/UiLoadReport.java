@@ -0,0 +1,203 @@
+package utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Отчет нагрузочного прогона UI: перцентили длительности по шагам пути и использование браузеров
+ */
+public class UiLoadReport {
+
+    private final String name;
+    private final int users;
+    private final int iterations;
+    private final int concurrency;
+    private final int browsersLaunched;
+    private final int peakActive;
+    private final int completedJourneys;
+    private final long wallTimeMs;
+    private final List<StepStats> steps;
+
+    public UiLoadReport(String name, int users, int iterations, int concurrency, int browsersLaunched, int peakActive,
+                        int completedJourneys, long wallTimeMs, List<StepStats> steps) {
+        this.name = name;
+        this.users = users;
+        this.iterations = iterations;
+        this.concurrency = concurrency;
+        this.browsersLaunched = browsersLaunched;
+        this.peakActive = peakActive;
+        this.completedJourneys = completedJourneys;
+        this.wallTimeMs = wallTimeMs;
+        this.steps = Collections.unmodifiableList(new ArrayList<>(steps));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getBrowsersLaunched() {
+        return browsersLaunched;
+    }
+
+    public int getPeakActive() {
+        return peakActive;
+    }
+
+    public int getCompletedJourneys() {
+        return completedJourneys;
+    }
+
+    public int getPlannedJourneys() {
+        return users * iterations;
+    }
+
+    public long getWallTimeMs() {
+        return wallTimeMs;
+    }
+
+    public List<StepStats> getSteps() {
+        return steps;
+    }
+
+    public StepStats getStep(String stepName) {
+        return steps.stream().filter(s -> s.getName().equals(stepName)).findFirst().orElse(null);
+    }
+
+    /**
+     * Доля путей, не дошедших до конца
+     */
+    public double getErrorRate() {
+        return getPlannedJourneys() == 0 ? 0 : 1.0 - (double) completedJourneys / getPlannedJourneys();
+    }
+
+    /**
+     * Пройденные пути в минуту
+     */
+    public double getThroughputPerMinute() {
+        return wallTimeMs == 0 ? 0 : completedJourneys * 60_000.0 / wallTimeMs;
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder("=== UI LOAD: ").append(name).append(" ===\n");
+        sb.append(String.format("Users: %d x %d iterations, browsers: %d launched, %d concurrent (peak %d)%n",
+            users, iterations, browsersLaunched, concurrency, peakActive));
+        sb.append(String.format("Journeys: %d/%d completed, error rate %.1f%%, throughput %.1f/min, wall time %d ms%n",
+            completedJourneys, getPlannedJourneys(), getErrorRate() * 100, getThroughputPerMinute(), wallTimeMs));
+        sb.append(String.format("%-20s %6s %6s %7s %7s %7s %7s %7s%n", "step", "count", "errors", "p50", "p90", "p95", "p99", "max"));
+        for (StepStats s : steps) {
+            sb.append(String.format("%-20s %6d %6d %7d %7d %7d %7d %7d%n", s.getName(), s.getCount(), s.getErrors(),
+                s.getPercentileMs(50), s.getPercentileMs(90), s.getPercentileMs(95), s.getPercentileMs(99), s.getMaxMs()));
+        }
+        for (StepStats s : steps) {
+            if (s.getFirstError() != null) {
+                sb.append("First error in ").append(s.getName()).append(": ").append(s.getFirstError()).append("\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Записать отчет в JSON: параметры прогона и шаг -> {count, errors, p50, p90, p95, p99, max}
+     */
+    public void writeJson(Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("journey", name);
+        json.put("users", users);
+        json.put("iterations", iterations);
+        json.put("concurrency", concurrency);
+        json.put("browsersLaunched", browsersLaunched);
+        json.put("peakActive", peakActive);
+        json.put("completedJourneys", completedJourneys);
+        json.put("errorRate", getErrorRate());
+        json.put("throughputPerMinute", getThroughputPerMinute());
+        json.put("wallTimeMs", wallTimeMs);
+        Map<String, Object> stepJson = new LinkedHashMap<>();
+        for (StepStats s : steps) {
+            stepJson.put(s.getName(), s.toSummary());
+        }
+        json.put("steps", stepJson);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+
+    /**
+     * Длительности успешных выполнений шага и число ошибок
+     */
+    public static class StepStats {
+        private final String name;
+        private final long[] sortedMs;
+        private final int errors;
+        private final String firstError;
+
+        public StepStats(String name, List<Long> durationsMs, int errors, String firstError) {
+            this.name = name;
+            synchronized (durationsMs) {
+                this.sortedMs = durationsMs.stream().mapToLong(Long::longValue).sorted().toArray();
+            }
+            this.errors = errors;
+            this.firstError = firstError;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return sortedMs.length;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        public String getFirstError() {
+            return firstError;
+        }
+
+        /**
+         * Перцентиль по методу ближайшего ранга, мс
+         */
+        public long getPercentileMs(double percentile) {
+            if (sortedMs.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedMs.length) - 1;
+            return sortedMs[Math.max(0, Math.min(index, sortedMs.length - 1))];
+        }
+
+        public long getMaxMs() {
+            return sortedMs.length == 0 ? 0 : sortedMs[sortedMs.length - 1];
+        }
+
+        public Map<String, Object> toSummary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", getCount());
+            summary.put("errors", errors);
+            summary.put("p50", getPercentileMs(50));
+            summary.put("p90", getPercentileMs(90));
+            summary.put("p95", getPercentileMs(95));
+            summary.put("p99", getPercentileMs(99));
+            summary.put("max", getMaxMs());
+            return summary;
+        }
+    }
+}
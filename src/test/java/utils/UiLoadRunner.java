@@ -0,0 +1,329 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Нагрузочный режим UI: виртуальные пользователи одновременно проходят путь из шагов page object
+ * в настоящих headless браузерах, по каждому шагу копятся длительности для перцентилей
+ * Одновременно работает не больше concurrency браузеров (лимит конфигурации и свободной памяти машины);
+ * каждая сессия обслуживает пользователей по очереди с очисткой cookies и хранилищ между ними
+ */
+public class UiLoadRunner {
+
+    /**
+     * Общая длительность пути пользователя в отчете
+     */
+    public static final String JOURNEY = "journey";
+
+    /**
+     * Запуск и настройка браузера; сбой запуска - ошибка этого шага, пути пользователя не выполняются
+     */
+    public static final String LAUNCH = "launch";
+
+    private final String name;
+    private final List<Step> steps = new ArrayList<>();
+    private int users = 1;
+    private int iterations = 1;
+    private int concurrency = 1;
+    private long rampUpMs;
+    private Supplier<WebDriver> launcher = () -> WebDriverUtils.createWebDriver(true);
+    private Consumer<WebDriver> sessionSetup = driver -> { };
+
+    private UiLoadRunner(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Новый путь пользователя с настройками из ui.load.*
+     */
+    public static UiLoadRunner journey(String name) {
+        UiLoadRunner runner = new UiLoadRunner(name)
+            .users(Config.getUiLoadUsers())
+            .iterations(Config.getUiLoadIterations())
+            .concurrency(fitToMemory(Math.min(Config.getUiLoadUsers(), Config.getUiLoadMaxBrowsers()),
+                freePhysicalMemory(), Config.getUiLoadBrowserMemoryMb()))
+            .rampUpMs(Config.getUiLoadRampUpMs());
+        if (Config.isUiLoadBlockResources()) {
+            // Картинки и шрифты не влияют на шаги пути, но занимают сеть и CPU агента
+            List<BlockResources.ResourceType> types = List.of(BlockResources.ResourceType.IMAGE,
+                BlockResources.ResourceType.FONT, BlockResources.ResourceType.MEDIA);
+            runner.sessionSetup(driver -> WebDriverUtils.blockResources(driver, types, List.of()));
+        }
+        return runner;
+    }
+
+    /**
+     * Шаг пути; исключение в шаге - ошибка шага, оставшиеся шаги этой итерации пропускаются
+     */
+    public UiLoadRunner step(String stepName, Consumer<WebDriver> action) {
+        steps.add(new Step(stepName, action));
+        return this;
+    }
+
+    public UiLoadRunner users(int users) {
+        this.users = Math.max(1, users);
+        return this;
+    }
+
+    /**
+     * Сколько раз каждый пользователь проходит путь
+     */
+    public UiLoadRunner iterations(int iterations) {
+        this.iterations = Math.max(1, iterations);
+        return this;
+    }
+
+    /**
+     * Максимум одновременно запущенных браузеров
+     */
+    public UiLoadRunner concurrency(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+        return this;
+    }
+
+    /**
+     * Пользователи стартуют равномерно в течение rampUpMs, а не одним залпом
+     */
+    public UiLoadRunner rampUpMs(long rampUpMs) {
+        this.rampUpMs = Math.max(0, rampUpMs);
+        return this;
+    }
+
+    public UiLoadRunner launcher(Supplier<WebDriver> launcher) {
+        this.launcher = launcher;
+        return this;
+    }
+
+    /**
+     * Настройка новой сессии (блокировка ресурсов, эмуляция)
+     */
+    public UiLoadRunner sessionSetup(Consumer<WebDriver> sessionSetup) {
+        this.sessionSetup = sessionSetup;
+        return this;
+    }
+
+    public int getConcurrency() {
+        return Math.min(concurrency, users);
+    }
+
+    /**
+     * Сколько браузеров помещается в свободную память, если каждый занимает perBrowserMb
+     */
+    public static int fitToMemory(int requested, long freeBytes, int perBrowserMb) {
+        if (freeBytes <= 0 || perBrowserMb <= 0) {
+            return requested;
+        }
+        long fit = freeBytes / (perBrowserMb * 1024L * 1024L);
+        return (int) Math.max(1, Math.min(requested, fit));
+    }
+
+    /**
+     * Свободная физическая память машины; -1, если JVM ее не сообщает
+     */
+    static long freePhysicalMemory() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getFreeMemorySize();
+        }
+        return -1;
+    }
+
+    /**
+     * Запустить нагрузку и дождаться всех пользователей
+     */
+    public UiLoadReport run() {
+        if (steps.isEmpty()) {
+            throw new IllegalStateException("Путь " + name + " не содержит шагов");
+        }
+        int workers = getConcurrency();
+        Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+        Map<String, String> firstErrors = new ConcurrentHashMap<>();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peakActive = new AtomicInteger();
+        List<WebDriver> sessions = Collections.synchronizedList(new ArrayList<>());
+        ThreadLocal<WebDriver> session = new ThreadLocal<>();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "ui-load-" + name + "-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.currentTimeMillis();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int user = 0; user < users; user++) {
+                long startAt = start + rampUpMs * user / users;
+                futures.add(executor.submit(() -> {
+                    sleepUntil(startAt);
+                    WebDriver driver = session.get();
+                    if (driver == null) {
+                        driver = launch(latencies, errors, firstErrors);
+                        if (driver == null) {
+                            // Остальные пользователи продолжают; следующий на этом потоке попробует запуск снова
+                            return;
+                        }
+                        sessions.add(driver);
+                        session.set(driver);
+                    } else {
+                        resetSession(driver);
+                    }
+                    peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        for (int i = 0; i < iterations; i++) {
+                            if (runJourney(driver, latencies, errors, firstErrors)) {
+                                completed.incrementAndGet();
+                            }
+                        }
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Нагрузочный прогон прерван", e);
+        } catch (java.util.concurrent.ExecutionException e) {
+            throw new IllegalStateException("Сбой виртуального пользователя: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (WebDriver driver : sessions) {
+                try {
+                    driver.quit();
+                } catch (RuntimeException e) {
+                    System.err.println("Не удалось закрыть браузер нагрузки: " + e.getMessage());
+                }
+            }
+        }
+
+        List<UiLoadReport.StepStats> stats = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        names.add(LAUNCH);
+        steps.forEach(step -> names.add(step.name));
+        names.add(JOURNEY);
+        for (String stepName : names) {
+            stats.add(new UiLoadReport.StepStats(stepName, latencies.getOrDefault(stepName, List.of()),
+                errors.containsKey(stepName) ? errors.get(stepName).get() : 0, firstErrors.get(stepName)));
+        }
+        return new UiLoadReport(name, users, iterations, workers, sessions.size(), peakActive.get(),
+            completed.get(), System.currentTimeMillis() - start, stats);
+    }
+
+    /**
+     * Запустить и настроить браузер; при сбое ошибка записывается в шаг launch и возвращается null
+     */
+    private WebDriver launch(Map<String, List<Long>> latencies, Map<String, AtomicInteger> errors,
+                             Map<String, String> firstErrors) {
+        long start = System.nanoTime();
+        WebDriver driver = null;
+        try {
+            driver = launcher.get();
+            // Бюджеты страниц под нагрузкой не проверяются: begin() не вызывается, current() неактивен
+            sessionSetup.accept(driver);
+            record(latencies, LAUNCH, System.nanoTime() - start);
+            return driver;
+        } catch (RuntimeException | AssertionError e) {
+            recordError(errors, firstErrors, LAUNCH, e);
+            if (driver != null) {
+                try {
+                    driver.quit();
+                } catch (RuntimeException quitError) {
+                    System.err.println("Не удалось закрыть браузер нагрузки: " + quitError.getMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Один проход пути; true - все шаги выполнены без ошибок
+     */
+    private boolean runJourney(WebDriver driver, Map<String, List<Long>> latencies,
+                               Map<String, AtomicInteger> errors, Map<String, String> firstErrors) {
+        long journeyStart = System.nanoTime();
+        for (Step step : steps) {
+            long stepStart = System.nanoTime();
+            try {
+                step.action.accept(driver);
+            } catch (RuntimeException | AssertionError e) {
+                recordError(errors, firstErrors, step.name, e);
+                return false;
+            }
+            record(latencies, step.name, System.nanoTime() - stepStart);
+        }
+        record(latencies, JOURNEY, System.nanoTime() - journeyStart);
+        return true;
+    }
+
+    private static void recordError(Map<String, AtomicInteger> errors, Map<String, String> firstErrors,
+                                    String stepName, Throwable e) {
+        errors.computeIfAbsent(stepName, k -> new AtomicInteger()).incrementAndGet();
+        firstErrors.putIfAbsent(stepName, e.getClass().getSimpleName() + ": " + e.getMessage());
+    }
+
+    private static void record(Map<String, List<Long>> latencies, String stepName, long nanos) {
+        latencies.computeIfAbsent(stepName, k -> Collections.synchronizedList(new ArrayList<>()))
+            .add(TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    /**
+     * Следующий пользователь на той же сессии начинает без cookies и хранилищ предыдущего
+     */
+    private static void resetSession(WebDriver driver) {
+        try {
+            driver.manage().deleteAllCookies();
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript("try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Не удалось очистить сессию нагрузки: " + e.getMessage());
+        }
+    }
+
+    private static void sleepUntil(long timeMs) {
+        long delay = timeMs - System.currentTimeMillis();
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class Step {
+        private final String name;
+        private final Consumer<WebDriver> action;
+
+        Step(String name, Consumer<WebDriver> action) {
+            this.name = name;
+            this.action = action;
+        }
+    }
+}
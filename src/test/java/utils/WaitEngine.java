@@ -0,0 +1,358 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Ожидания, завершающиеся сразу после выполнения условия
+ * Внутри страницы работают MutationObserver и счетчик активных fetch/XHR запросов,
+ * а опрос WebDriver используется как запасной вариант с адаптивным интервалом (10 мс -> 250 мс)
+ * Загрузку страницы ждет событие load из {@link BrowserEvents} (BiDi или CDP), если подписка теста включена
+ * Время ожиданий копится по потоку, чтобы BaseUiTest мог показать его для каждого теста
+ */
+public class WaitEngine {
+
+    /**
+     * Счетчик активных запросов страницы; регистрируется до загрузки документа (CDP) или при первом ожидании
+     */
+    static final String NETWORK_TRACKER_SCRIPT =
+        "if (!window.__waitEngine) {\n" +
+        "  var state = window.__waitEngine = {inflight: 0, last: Date.now()};\n" +
+        "  var begin = function () { state.inflight++; state.last = Date.now(); };\n" +
+        "  var end = function () { state.inflight = Math.max(0, state.inflight - 1); state.last = Date.now(); };\n" +
+        "  if (window.fetch) {\n" +
+        "    var originalFetch = window.fetch;\n" +
+        "    window.fetch = function () {\n" +
+        "      begin();\n" +
+        "      return originalFetch.apply(this, arguments).then(function (r) { end(); return r; }, function (e) { end(); throw e; });\n" +
+        "    };\n" +
+        "  }\n" +
+        "  var originalSend = XMLHttpRequest.prototype.send;\n" +
+        "  XMLHttpRequest.prototype.send = function () {\n" +
+        "    begin();\n" +
+        "    this.addEventListener('loadend', end);\n" +
+        "    return originalSend.apply(this, arguments);\n" +
+        "  };\n" +
+        "}\n";
+
+    private static final String ELEMENT_SCRIPT =
+        "var done = arguments[arguments.length - 1];\n" +
+        "var using = arguments[0], value = arguments[1], timeout = arguments[2];\n" +
+        "function find() {\n" +
+        "  var el = using === 'xpath'\n" +
+        "    ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue\n" +
+        "    : document.querySelector(value);\n" +
+        "  if (!el) return false;\n" +
+        "  var rect = el.getBoundingClientRect(), style = getComputedStyle(el);\n" +
+        "  return rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden' && style.display !== 'none';\n" +
+        "}\n" +
+        "if (find()) { done(true); return; }\n" +
+        "var timer;\n" +
+        "var observer = new MutationObserver(function () { if (find()) finish(true); });\n" +
+        "function finish(result) { observer.disconnect(); clearTimeout(timer); done(result); }\n" +
+        "timer = setTimeout(function () { finish(false); }, timeout);\n" +
+        "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true});\n";
+
+    private static final String DOM_QUIET_SCRIPT =
+        "var done = arguments[arguments.length - 1];\n" +
+        "var quiet = arguments[0], timeout = arguments[1], start = Date.now(), last = Date.now();\n" +
+        "var observer = new MutationObserver(function () { last = Date.now(); });\n" +
+        "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});\n" +
+        "(function check() {\n" +
+        "  var now = Date.now();\n" +
+        "  if (now - last >= quiet) { observer.disconnect(); done(true); }\n" +
+        "  else if (now - start >= timeout) { observer.disconnect(); done(false); }\n" +
+        "  else setTimeout(check, Math.max(5, quiet - (now - last)));\n" +
+        "})();\n";
+
+    private static final String NETWORK_IDLE_SCRIPT =
+        "var done = arguments[arguments.length - 1];\n" +
+        "var idle = arguments[0], timeout = arguments[1], start = Date.now();\n" +
+        NETWORK_TRACKER_SCRIPT +
+        "var state = window.__waitEngine;\n" +
+        "function lastResource() {\n" +
+        "  var entries = performance.getEntriesByType('resource'), last = 0;\n" +
+        "  for (var i = 0; i < entries.length; i++) last = Math.max(last, entries[i].responseEnd);\n" +
+        "  return performance.timeOrigin + last;\n" +
+        "}\n" +
+        "(function check() {\n" +
+        "  var now = Date.now(), last = Math.max(state.last, lastResource());\n" +
+        "  if (state.inflight === 0 && now - last >= idle) done(true);\n" +
+        "  else if (now - start >= timeout) done(false);\n" +
+        "  else setTimeout(check, Math.max(5, Math.min(50, idle - (now - last))));\n" +
+        "})();\n";
+
+    private static final Set<WebDriver> installed = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final ThreadLocal<WaitStats> stats = ThreadLocal.withInitial(WaitStats::new);
+
+    /**
+     * WebDriverWait с адаптивным интервалом опроса и учетом времени ожидания
+     */
+    public static WebDriverWait createWait(WebDriver driver, int timeoutSeconds) {
+        return new TimedWait(driver, Duration.ofSeconds(timeoutSeconds),
+            new AdaptiveSleeper(Config.getWaitPollMinMs(), Config.getWaitPollMaxMs()));
+    }
+
+    /**
+     * Зарегистрировать счетчик запросов до загрузки каждого документа (только Chromium)
+     */
+    public static void install(WebDriver driver) {
+        if (driver instanceof HasCdp && installed.add(driver)) {
+            ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", NETWORK_TRACKER_SCRIPT));
+        }
+    }
+
+    /**
+     * Дождаться видимого элемента: MutationObserver в странице, затем подтверждение через WebDriver
+     */
+    public static WebElement waitForElement(WebDriver driver, By locator, Duration timeout) {
+        return timed("element", () -> {
+            long deadline = System.currentTimeMillis() + timeout.toMillis();
+            String[] selector = toSelector(locator);
+            if (selector != null) {
+                try {
+                    // Результат скрипта не проверяется: при false оставшееся время (если есть) уходит на опрос,
+                    // который и выбросит TimeoutException с понятным сообщением
+                    runAsync(driver, ELEMENT_SCRIPT, timeout, selector[0], selector[1]);
+                } catch (WebDriverException e) {
+                    // Страница перезагрузилась во время ожидания: дальше работает опрос
+                }
+            }
+            long remaining = Math.max(1, deadline - System.currentTimeMillis());
+            return pollingWait(driver, Duration.ofMillis(remaining)).until(ExpectedConditions.visibilityOfElementLocated(locator));
+        });
+    }
+
+    /**
+     * Дождаться, пока DOM не меняется quiet мс (анимации, дорисовка списков)
+     */
+    public static boolean waitForDomQuiet(WebDriver driver, Duration quiet, Duration timeout) {
+        return timed("domQuiet", () -> Boolean.TRUE.equals(runAsync(driver, DOM_QUIET_SCRIPT, timeout, quiet.toMillis())));
+    }
+
+    /**
+     * Дождаться, пока нет активных fetch/XHR и новых ресурсов в течение idle мс
+     */
+    public static boolean waitForNetworkIdle(WebDriver driver, Duration idle, Duration timeout) {
+        return timed("networkIdle", () -> Boolean.TRUE.equals(runAsync(driver, NETWORK_IDLE_SCRIPT, timeout, idle.toMillis())));
+    }
+
+    /**
+     * Дождаться document.readyState == complete: событием load из подписки теста, без нее - адаптивным опросом
+     */
+    public static void waitForPageLoad(WebDriver driver, Duration timeout) {
+        timed("pageLoad", () -> {
+            long deadline = System.currentTimeMillis() + timeout.toMillis();
+            BrowserEvents events = BrowserEvents.of(driver);
+            if (events != null) {
+                // Момент фиксируется до проверки readyState: load, пришедший между ними, не потеряется
+                Instant since = Instant.now();
+                if (isDocumentComplete(driver)) {
+                    return true;
+                }
+                try {
+                    if (events.await(event -> event.getType() == BrowserEvents.Type.LOAD
+                            && !event.getTimestamp().isBefore(since), timeout) != null) {
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            // Без события (нет подписки или load не пришел) решает опрос, он и выбросит TimeoutException
+            long remaining = Math.max(1, deadline - System.currentTimeMillis());
+            return pollingWait(driver, Duration.ofMillis(remaining)).until(WaitEngine::isDocumentComplete);
+        });
+    }
+
+    private static boolean isDocumentComplete(WebDriver driver) {
+        return "complete".equals(((JavascriptExecutor) driver).executeScript("return document.readyState"));
+    }
+
+    /**
+     * Статистика ожиданий текущего потока
+     */
+    public static WaitStats getStats() {
+        return stats.get();
+    }
+
+    public static void resetStats() {
+        stats.set(new WaitStats());
+    }
+
+    private static WebDriverWait pollingWait(WebDriver driver, Duration timeout) {
+        return new TimedWait(driver, timeout, new AdaptiveSleeper(Config.getWaitPollMinMs(), Config.getWaitPollMaxMs()));
+    }
+
+    /**
+     * Асинхронный скрипт не должен пережить script timeout драйвера, иначе WebDriver прервет его ошибкой
+     */
+    private static Object runAsync(WebDriver driver, String script, Duration timeout, Object... args) {
+        long limit = timeout.toMillis();
+        try {
+            Duration scriptTimeout = driver.manage().timeouts().getScriptTimeout();
+            if (scriptTimeout != null) {
+                limit = Math.min(limit, Math.max(0, scriptTimeout.toMillis() - 500));
+            }
+        } catch (RuntimeException e) {
+            // Драйвер не отдает таймауты: используем переданный
+        }
+        Object[] scriptArgs = new Object[args.length + 1];
+        System.arraycopy(args, 0, scriptArgs, 0, args.length);
+        scriptArgs[args.length] = limit;
+        return ((JavascriptExecutor) driver).executeAsyncScript(script, scriptArgs);
+    }
+
+    /**
+     * Перевести локатор в CSS/XPath для поиска внутри страницы; null - локатор не поддерживается
+     */
+    static String[] toSelector(By locator) {
+        String text = locator.toString();
+        int colon = text.indexOf(": ");
+        if (colon < 0) {
+            return null;
+        }
+        String using = text.substring(0, colon);
+        String value = text.substring(colon + 2);
+        String quoted = "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        switch (using) {
+            case "By.id":
+                return new String[]{"css", "[id=" + quoted + "]"};
+            case "By.name":
+                return new String[]{"css", "[name=" + quoted + "]"};
+            case "By.className":
+                return new String[]{"css", "[class~=" + quoted + "]"};
+            case "By.cssSelector":
+            case "By.tagName":
+                return new String[]{"css", value};
+            case "By.xpath":
+                return new String[]{"xpath", value};
+            default:
+                return null;
+        }
+    }
+
+    private static <T> T timed(String kind, Supplier<T> action) {
+        WaitStats waitStats = stats.get();
+        long start = System.nanoTime();
+        waitStats.depth++;
+        try {
+            return action.get();
+        } finally {
+            waitStats.depth--;
+            waitStats.record(kind, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Интервал опроса удваивается от min до max: быстрые условия ловятся за миллисекунды,
+     * долгие не нагружают браузер частыми запросами
+     */
+    static class AdaptiveSleeper implements Sleeper {
+        private final long minMs;
+        private final long maxMs;
+        private long nextMs;
+
+        AdaptiveSleeper(long minMs, long maxMs) {
+            this.minMs = minMs;
+            this.maxMs = maxMs;
+            this.nextMs = minMs;
+        }
+
+        void reset() {
+            nextMs = minMs;
+        }
+
+        long getNextMs() {
+            return nextMs;
+        }
+
+        @Override
+        public void sleep(Duration ignored) throws InterruptedException {
+            Thread.sleep(nextMs);
+            nextMs = Math.min(maxMs, nextMs * 2);
+        }
+    }
+
+    /**
+     * WebDriverWait, который сбрасывает интервал опроса перед каждым until и учитывает время ожидания
+     */
+    static class TimedWait extends WebDriverWait {
+        private final AdaptiveSleeper sleeper;
+
+        TimedWait(WebDriver driver, Duration timeout, AdaptiveSleeper sleeper) {
+            super(driver, timeout, Duration.ofMillis(sleeper.minMs), Clock.systemDefaultZone(), sleeper);
+            this.sleeper = sleeper;
+        }
+
+        @Override
+        public <V> V until(Function<? super WebDriver, V> isTrue) {
+            sleeper.reset();
+            return timed("poll", () -> super.until(isTrue));
+        }
+    }
+
+    /**
+     * Время ожиданий по видам; общее время считается только по внешним вызовам, без двойного учета
+     */
+    public static class WaitStats {
+        private final Map<String, long[]> byKind = new LinkedHashMap<>();
+        private long totalNanos;
+        private int waits;
+        private int depth;
+
+        private void record(String kind, long nanos) {
+            long[] kindStats = byKind.computeIfAbsent(kind, key -> new long[2]);
+            kindStats[0]++;
+            kindStats[1] += nanos;
+            if (depth == 0) {
+                waits++;
+                totalNanos += nanos;
+            }
+        }
+
+        public int getWaits() {
+            return waits;
+        }
+
+        public long getTotalMs() {
+            return totalNanos / 1_000_000;
+        }
+
+        public long getKindMs(String kind) {
+            long[] kindStats = byKind.get(kind);
+            return kindStats == null ? 0 : kindStats[1] / 1_000_000;
+        }
+
+        public int getKindCount(String kind) {
+            long[] kindStats = byKind.get(kind);
+            return kindStats == null ? 0 : (int) kindStats[0];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format("Total wait time: %d ms in %d waits%n", getTotalMs(), waits));
+            byKind.forEach((kind, kindStats) ->
+                sb.append(String.format("%s: %d calls, %d ms%n", kind, kindStats[0], kindStats[1] / 1_000_000)));
+            return sb.toString();
+        }
+    }
+}
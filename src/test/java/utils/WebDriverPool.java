@@ -0,0 +1,371 @@
+package utils;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Пул переиспользуемых сессий WebDriver
+ * Сессия выдается тесту в аренду и возвращается после него: состояние сбрасывается через
+ * WebDriverUtils.clearCookies/clearLocalStorage/clearSessionStorage, перед выдачей проверяется здоровье,
+ * после заданного числа использований сессия пересоздается
+ * Каждый запущенный браузер, в том числе свободный и прогретый, держит слот {@link BrowserSlots} до закрытия,
+ * поэтому лимит браузеров на машине общий для всех форков; свободные сессии дольше ui.session.idle.timeout
+ * закрываются, чтобы не держать слоты, нужные другим форкам
+ */
+public class WebDriverPool {
+
+    private static final Logger LOGGER = LoggerUtils.getLogger(WebDriverPool.class);
+
+    private static WebDriverPool shared;
+
+    private final int maxSize;
+    private final int maxUses;
+    private final Supplier<WebDriver> factory;
+    private final BrowserSlots slots;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+    private final AtomicInteger recycled = new AtomicInteger();
+    private final AtomicInteger unhealthy = new AtomicInteger();
+    private final AtomicInteger warming = new AtomicInteger();
+    private final AtomicBoolean prewarmStarted = new AtomicBoolean();
+    private final List<Long> launchTimesMs = new ArrayList<>();
+
+    public WebDriverPool(int maxSize, int maxUses, Supplier<WebDriver> factory) {
+        this(maxSize, maxUses, factory, null);
+    }
+
+    /**
+     * @param slots слоты браузеров на машине; null - без машинного лимита
+     */
+    public WebDriverPool(int maxSize, int maxUses, Supplier<WebDriver> factory, BrowserSlots slots) {
+        if (maxSize < 1 || maxUses < 1) {
+            throw new IllegalArgumentException("Размер пула и число использований должны быть >= 1");
+        }
+        this.maxSize = maxSize;
+        this.maxUses = maxUses;
+        this.factory = factory;
+        this.slots = slots;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Общий пул на весь JVM с настройками из конфигурации
+     */
+    public static synchronized WebDriverPool shared() {
+        if (shared == null) {
+            shared = new WebDriverPool(Config.getSessionPoolSize(), Config.getSessionMaxUses(),
+                () -> WebDriverUtils.createWebDriver(Config.isHeadless()), BrowserSlots.machine());
+            WebDriverPool pool = shared;
+            long idleTimeoutMs = Config.getSessionIdleTimeout() * 1000L;
+            ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "webdriver-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            evictor.scheduleWithFixedDelay(() -> pool.evictIdle(idleTimeoutMs), idleTimeoutMs, idleTimeoutMs, TimeUnit.MILLISECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                LOGGER.info("{}", pool.getLaunchReport());
+                pool.shutdown();
+            }, "webdriver-pool-shutdown"));
+        }
+        return shared;
+    }
+
+    /**
+     * Взять сессию в аренду; ждет, если все сессии заняты
+     */
+    public WebDriver lease() {
+        try {
+            if (!permits.tryAcquire(Config.getSessionLeaseTimeout(), TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Нет свободной сессии WebDriver в пуле (размер " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание сессии WebDriver прервано", e);
+        }
+
+        try {
+            PooledSession session;
+            while ((session = nextIdle()) != null) {
+                if (isHealthy(session.driver)) {
+                    reused.incrementAndGet();
+                    break;
+                }
+                unhealthy.incrementAndGet();
+                quitQuietly(session);
+            }
+            if (session == null) {
+                session = launch(Config.getSessionLeaseTimeout() * 1000L);
+            }
+            session.uses++;
+            leased.put(session.driver, session);
+            return session.driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Свободная сессия; если идет прогрев, ждем первый готовый браузер вместо запуска нового
+     */
+    private PooledSession nextIdle() {
+        PooledSession session = idle.pollFirst();
+        try {
+            while (session == null && warming.get() > 0) {
+                session = idle.pollFirst(100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание прогретой сессии WebDriver прервано", e);
+        }
+        return session;
+    }
+
+    /**
+     * Параллельно запустить браузеры в фоне, чтобы первые тесты не ждали запуска по очереди
+     * Выполняется один раз за жизнь пула; тест получает браузер, как только готов первый
+     * Прогрев не ждет слотов: если машинный лимит занят, браузер не прогревается
+     */
+    public void prewarmAsync(int count) {
+        int toLaunch = Math.min(count, maxSize - idle.size());
+        if (toLaunch < 1 || !prewarmStarted.compareAndSet(false, true)) {
+            return;
+        }
+        warming.addAndGet(toLaunch);
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(toLaunch, runnable -> {
+            Thread thread = new Thread(runnable, "webdriver-prewarm-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < toLaunch; i++) {
+            executor.submit(() -> {
+                try {
+                    PooledSession session = launch(0);
+                    session.idleSince = System.currentTimeMillis();
+                    idle.addLast(session);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Не удалось прогреть браузер: {}", e.getMessage());
+                } finally {
+                    warming.decrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Вернуть сессию в пул; сломанная или отработавшая свой ресурс сессия закрывается
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            quitQuietly(new PooledSession(driver, null));
+            return;
+        }
+        try {
+            if (session.uses >= maxUses) {
+                recycled.incrementAndGet();
+                quitQuietly(session);
+            } else if (resetState(driver)) {
+                session.idleSince = System.currentTimeMillis();
+                idle.addFirst(session);
+            } else {
+                unhealthy.incrementAndGet();
+                quitQuietly(session);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Закрыть все свободные сессии
+     */
+    public void shutdown() {
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            quitQuietly(session);
+        }
+    }
+
+    /**
+     * Закрыть свободные сессии, простаивающие дольше maxIdleMs, и освободить их слоты
+     * @return число закрытых сессий
+     */
+    public int evictIdle(long maxIdleMs) {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (PooledSession session : idle) {
+            if (now - session.idleSince >= maxIdleMs && idle.remove(session)) {
+                quitQuietly(session);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    public int getReusedCount() {
+        return reused.get();
+    }
+
+    public int getRecycledCount() {
+        return recycled.get();
+    }
+
+    public int getUnhealthyCount() {
+        return unhealthy.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public synchronized List<Long> getLaunchTimesMs() {
+        return new ArrayList<>(launchTimesMs);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("maxSize", maxSize);
+        stats.put("maxUses", maxUses);
+        stats.put("created", created.get());
+        stats.put("reused", reused.get());
+        stats.put("recycled", recycled.get());
+        stats.put("unhealthy", unhealthy.get());
+        stats.put("idle", idle.size());
+        stats.put("launchTimesMs", getLaunchTimesMs());
+        return stats;
+    }
+
+    /**
+     * Сводка по времени запуска браузеров для отслеживания регрессий старта драйвера
+     */
+    public String getLaunchReport() {
+        List<Long> times = getLaunchTimesMs();
+        if (times.isEmpty()) {
+            return "Браузеры еще не запускались";
+        }
+        LongSummaryStatistics stats = times.stream().mapToLong(Long::longValue).summaryStatistics();
+        return String.format("Запуск браузеров: %d шт., min %d мс, avg %.0f мс, max %d мс, все: %s",
+            stats.getCount(), stats.getMin(), stats.getAverage(), stats.getMax(), times);
+    }
+
+    /**
+     * Занять слот машины и запустить браузер; слот освобождается вместе с закрытием браузера
+     */
+    private PooledSession launch(long slotTimeoutMs) {
+        BrowserSlots.Slot slot = slots == null ? null : slots.acquire(slotTimeoutMs);
+        try {
+            long start = System.currentTimeMillis();
+            WebDriver driver = factory.get();
+            synchronized (this) {
+                launchTimesMs.add(System.currentTimeMillis() - start);
+            }
+            created.incrementAndGet();
+            return new PooledSession(driver, slot);
+        } catch (RuntimeException e) {
+            if (slot != null) {
+                slot.close();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Сбросить состояние сессии между тестами
+     */
+    private static boolean resetState(WebDriver driver) {
+        try {
+            // Лишние вкладки закрываем, остается первая
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i)).close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            // Storage очищается для текущего origin, поэтому до перехода на about:blank
+            try {
+                WebDriverUtils.clearLocalStorage(driver);
+                WebDriverUtils.clearSessionStorage(driver);
+            } catch (RuntimeException e) {
+                // На about:blank и data: страницах storage недоступен
+            }
+            WebDriverUtils.clearCookies(driver);
+            if (driver instanceof HasCdp) {
+                // deleteAllCookies удаляет cookies только текущего домена
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            }
+            // Блокировка ресурсов задается классом теста и не должна переходить к следующему
+            WebDriverUtils.unblockResources(driver);
+
+            String[] size = Config.getWindowSize().split(",");
+            driver.manage().window().setSize(new Dimension(
+                Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim())));
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void quitQuietly(PooledSession session) {
+        try {
+            session.driver.quit();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Не удалось закрыть сессию WebDriver: {}", e.getMessage());
+        } finally {
+            if (session.slot != null) {
+                session.slot.close();
+            }
+        }
+    }
+
+    private static class PooledSession {
+        private final WebDriver driver;
+        private final BrowserSlots.Slot slot;
+        private int uses;
+        private volatile long idleSince;
+
+        private PooledSession(WebDriver driver, BrowserSlots.Slot slot) {
+            this.driver = driver;
+            this.slot = slot;
+        }
+    }
+}
@@ -1,24 +1,38 @@
 package utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.HasDevTools;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  * Утилиты для работы с WebDriver
  */
 public class WebDriverUtils {
 
+    private static final Logger LOGGER = LoggerUtils.getLogger(WebDriverUtils.class);
+
+    // Перехват Fetch по типам ресурсов действует, пока сессия не вернулась в пул
+    private static final Map<WebDriver, ResourceTypeBlocker> typeBlockers = Collections.synchronizedMap(new WeakHashMap<>());
+
     /**
      * Создать WebDriver с настройками
      */
@@ -48,7 +62,7 @@ public class WebDriverUtils {
      * Создать Chrome WebDriver
      */
     private static WebDriver createChromeDriver(boolean headless) {
-        WebDriverManager.chromedriver().setup();
+        DriverBinaryResolver.shared().setup("chrome");
         
         ChromeOptions options = new ChromeOptions();
         if (headless) {
@@ -97,6 +111,11 @@ public class WebDriverUtils {
         options.addArguments("--password-store=basic");
         options.addArguments("--use-mock-keychain");
         
+        // Канал WebDriver BiDi для push-событий браузера (BrowserEvents)
+        if (Config.isBiDiEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
+        
         // Отключаем логи
         System.setProperty("webdriver.chrome.silentOutput", "true");
         System.setProperty("org.slf4j.simpleLogger.log.org.openqa.selenium", "ERROR");
@@ -108,7 +127,7 @@ public class WebDriverUtils {
      * Создать Firefox WebDriver
      */
     private static WebDriver createFirefoxDriver(boolean headless) {
-        WebDriverManager.firefoxdriver().setup();
+        DriverBinaryResolver.shared().setup("firefox");
         
         FirefoxOptions options = new FirefoxOptions();
         if (headless) {
@@ -142,6 +161,11 @@ public class WebDriverUtils {
         options.addArguments("--no-first-run");
         options.addArguments("--enable-automation");
         
+        // Канал WebDriver BiDi для push-событий браузера (BrowserEvents)
+        if (Config.isBiDiEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
+        
         // Отключаем логи
         System.setProperty("webdriver.firefox.silentOutput", "true");
         System.setProperty("org.slf4j.simpleLogger.log.org.openqa.selenium", "ERROR");
@@ -153,7 +177,7 @@ public class WebDriverUtils {
      * Создать Edge WebDriver
      */
     private static WebDriver createEdgeDriver(boolean headless) {
-        WebDriverManager.edgedriver().setup();
+        DriverBinaryResolver.shared().setup("edge");
         
         EdgeOptions options = new EdgeOptions();
         if (headless) {
@@ -174,10 +198,10 @@ public class WebDriverUtils {
     }
 
     /**
-     * Создать WebDriverWait с кастомным таймаутом
+     * Создать WebDriverWait с кастомным таймаутом (адаптивный опрос {@link WaitEngine})
      */
     public static WebDriverWait createWebDriverWait(WebDriver driver, int timeoutSeconds) {
-        return new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        return WaitEngine.createWait(driver, timeoutSeconds);
     }
 
     /**
@@ -230,6 +254,66 @@ public class WebDriverUtils {
         driver.manage().deleteAllCookies();
     }
 
+    /**
+     * Заблокировать загрузку ресурсов по шаблонам URL через CDP
+     * @return false, если браузер не поддерживает CDP и блокировка не применена
+     */
+    public static boolean blockResources(WebDriver driver, List<String> urlPatterns) {
+        return blockResources(driver, List.of(), urlPatterns);
+    }
+
+    /**
+     * Заблокировать ресурсы по типу (перехват CDP Fetch) и по шаблонам URL (Network.setBlockedURLs)
+     * Без DevTools типы заменяются шаблонами по расширениям файлов
+     * @return false, если браузер не поддерживает CDP и блокировка не применена
+     */
+    public static boolean blockResources(WebDriver driver, Collection<BlockResources.ResourceType> types,
+                                         List<String> urlPatterns) {
+        if (!(driver instanceof HasCdp)) {
+            LOGGER.warn("Блокировка ресурсов пропущена: браузер не поддерживает CDP");
+            return false;
+        }
+        stopTypeBlocker(driver);
+        Set<String> urls = new LinkedHashSet<>();
+        DevToolsEvents events = types.isEmpty() ? null : DevToolsEvents.forDriver(driver);
+        if (events != null) {
+            ResourceTypeBlocker blocker = new ResourceTypeBlocker(events);
+            blocker.start(types);
+            typeBlockers.put(driver, blocker);
+        } else {
+            types.forEach(type -> urls.addAll(type.getPatterns()));
+        }
+        urls.addAll(urlPatterns);
+        HasCdp cdp = (HasCdp) driver;
+        cdp.executeCdpCommand("Network.enable", Map.of());
+        cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", new ArrayList<>(urls)));
+        return true;
+    }
+
+    /**
+     * Снять блокировку ресурсов (например, перед возвратом сессии в пул)
+     */
+    public static void unblockResources(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            stopTypeBlocker(driver);
+            ((HasCdp) driver).executeCdpCommand("Network.setBlockedURLs", Map.of("urls", List.of()));
+        }
+    }
+
+    private static void stopTypeBlocker(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        ResourceTypeBlocker blocker = typeBlockers.remove(driver);
+        if (blocker != null) {
+            try {
+                blocker.stop();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Не удалось снять перехват ресурсов: {}", e.getMessage());
+            }
+        }
+    }
+
     /**
      * Ждать элемент
      */
@@ -264,8 +348,7 @@ public class WebDriverUtils {
      * Ждать загрузки страницы
      */
     public static void waitForPageLoad(WebDriver driver) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(Config.getPageLoadTimeout()));
-        wait.until(webDriver -> executeJavaScript(webDriver, "return document.readyState").equals("complete"));
+        WaitEngine.waitForPageLoad(driver, Duration.ofSeconds(Config.getPageLoadTimeout()));
     }
 
     /**
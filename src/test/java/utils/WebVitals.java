@@ -0,0 +1,387 @@
+package utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Сбор метрик загрузки страницы (Navigation/Paint Timing, LCP, CLS) и метрик CDP Performance
+ * Метрики копятся по страницам за весь прогон, чтобы регрессии фронтенда были видны в функциональных тестах
+ */
+public class WebVitals {
+
+    public static final String TTFB = "ttfbMs";
+    public static final String DOM_CONTENT_LOADED = "domContentLoadedMs";
+    public static final String LOAD = "loadMs";
+    public static final String FCP = "fcpMs";
+    public static final String LCP = "lcpMs";
+    public static final String CLS = "cls";
+
+    /**
+     * Счетчики CDP Performance.getMetrics и их имена в отчете
+     * Счетчики накапливаются по вкладке с Performance.enable и не сбрасываются при навигации,
+     * поэтому в метрики страницы идет разница с замером перед навигацией ({@link #beforeNavigation})
+     */
+    private static final Map<String, String> CDP_COUNTERS = new LinkedHashMap<>();
+
+    static {
+        CDP_COUNTERS.put("LayoutCount", "layoutCount");
+        CDP_COUNTERS.put("ScriptDuration", "scriptDurationMs");
+        CDP_COUNTERS.put("TaskDuration", "taskDurationMs");
+    }
+
+    /**
+     * Текущее значение на момент замера; куча JS описывает всю вкладку и в метрики страницы не входит
+     */
+    private static final String CDP_NODES = "Nodes";
+
+    private static final Logger LOGGER = LoggerUtils.getLogger(WebVitals.class);
+
+    // Замер счетчиков перед навигацией по драйверу; снимается при сборе метрик
+    private static final Map<WebDriver, Map<String, Double>> baselines = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Асинхронный скрипт: буферизованные PerformanceObserver отдают LCP и layout-shift записи,
+     * произошедшие до вызова, поэтому достаточно короткой паузы перед ответом
+     */
+    static final String VITALS_SCRIPT =
+        "var done = arguments[arguments.length - 1];\n" +
+        "var result = {};\n" +
+        "var nav = performance.getEntriesByType('navigation')[0];\n" +
+        "if (nav) {\n" +
+        "  if (nav.responseStart > 0) result.ttfbMs = nav.responseStart;\n" +
+        "  if (nav.domContentLoadedEventEnd > 0) result.domContentLoadedMs = nav.domContentLoadedEventEnd;\n" +
+        "  if (nav.loadEventEnd > 0) result.loadMs = nav.loadEventEnd;\n" +
+        "}\n" +
+        "var fcp = performance.getEntriesByName('first-contentful-paint')[0];\n" +
+        "if (fcp) result.fcpMs = fcp.startTime;\n" +
+        "var types = (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes) || [];\n" +
+        "var cls = 0;\n" +
+        "if (types.indexOf('largest-contentful-paint') >= 0) {\n" +
+        "  new PerformanceObserver(function (list) {\n" +
+        "    var entries = list.getEntries();\n" +
+        "    if (entries.length) result.lcpMs = entries[entries.length - 1].startTime;\n" +
+        "  }).observe({type: 'largest-contentful-paint', buffered: true});\n" +
+        "}\n" +
+        "if (types.indexOf('layout-shift') >= 0) {\n" +
+        "  new PerformanceObserver(function (list) {\n" +
+        "    list.getEntries().forEach(function (e) { if (!e.hadRecentInput) cls += e.value; });\n" +
+        "  }).observe({type: 'layout-shift', buffered: true});\n" +
+        "}\n" +
+        "setTimeout(function () {\n" +
+        "  if (types.indexOf('layout-shift') >= 0) result.cls = cls;\n" +
+        "  done(result);\n" +
+        "}, 50);";
+
+    private static final Map<String, PageStats> pages = new ConcurrentHashMap<>();
+
+    /**
+     * Снять метрики текущей страницы и добавить их в агрегат прогона
+     */
+    public static PageMetrics capture(WebDriver driver) {
+        return capture(driver, null);
+    }
+
+    /**
+     * Снять метрики под профилем эмуляции: агрегат ведется отдельно по каждому профилю
+     */
+    public static PageMetrics capture(WebDriver driver, String profile) {
+        PageMetrics metrics = collect(driver, profile);
+        record(metrics);
+        return metrics;
+    }
+
+    /**
+     * Снять метрики текущей страницы без записи в агрегат
+     */
+    public static PageMetrics collect(WebDriver driver) {
+        return collect(driver, null);
+    }
+
+    public static PageMetrics collect(WebDriver driver, String profile) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        if (driver instanceof JavascriptExecutor) {
+            Object timing = ((JavascriptExecutor) driver).executeAsyncScript(VITALS_SCRIPT);
+            if (timing instanceof Map) {
+                ((Map<?, ?>) timing).forEach((name, value) -> {
+                    if (value instanceof Number) {
+                        values.put(String.valueOf(name), ((Number) value).doubleValue());
+                    }
+                });
+            }
+        }
+        if (driver instanceof HasCdp) {
+            values.putAll(collectCdpMetrics(driver));
+        }
+        return new PageMetrics(driver.getCurrentUrl(), profile, values);
+    }
+
+    /**
+     * Замер счетчиков CDP перед driver.get: метрики следующего collect считаются от него
+     * Домен Performance остается включенным до collect, который его выключает
+     */
+    public static void beforeNavigation(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            return;
+        }
+        try {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Performance.enable", Map.of());
+            baselines.put(driver, readCdpMetrics(cdp));
+        } catch (RuntimeException e) {
+            LOGGER.debug("Метрики CDP Performance недоступны: {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, Double> collectCdpMetrics(WebDriver driver) {
+        HasCdp cdp = (HasCdp) driver;
+        Map<String, Double> baseline = baselines.remove(driver);
+        Map<String, Double> values = new LinkedHashMap<>();
+        try {
+            if (baseline == null) {
+                cdp.executeCdpCommand("Performance.enable", Map.of());
+            }
+            Map<String, Double> current = readCdpMetrics(cdp);
+            if (current.containsKey(CDP_NODES)) {
+                values.put("domNodes", current.get(CDP_NODES));
+            }
+            if (baseline != null) {
+                CDP_COUNTERS.forEach((metric, name) -> {
+                    Double before = baseline.get(metric);
+                    Double after = current.get(metric);
+                    if (before != null && after != null) {
+                        double delta = Math.max(0, after - before);
+                        // Длительности CDP отдает в секундах
+                        values.put(name, name.endsWith("Ms") ? delta * 1000 : delta);
+                    }
+                });
+            }
+            cdp.executeCdpCommand("Performance.disable", Map.of());
+        } catch (RuntimeException e) {
+            LOGGER.debug("Метрики CDP Performance недоступны: {}", e.getMessage());
+        }
+        return values;
+    }
+
+    private static Map<String, Double> readCdpMetrics(HasCdp cdp) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        Object metrics = cdp.executeCdpCommand("Performance.getMetrics", Map.of()).get("metrics");
+        if (metrics instanceof List) {
+            for (Object item : (List<?>) metrics) {
+                Map<?, ?> metric = (Map<?, ?>) item;
+                if (metric.get("value") instanceof Number) {
+                    values.put(String.valueOf(metric.get("name")), ((Number) metric.get("value")).doubleValue());
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Добавить метрики страницы в агрегат прогона
+     */
+    public static void record(PageMetrics metrics) {
+        pages.computeIfAbsent(metrics.getPage(), PageStats::new).add(metrics);
+    }
+
+    /**
+     * Получить агрегат страницы (например, "www.saucedemo.com/inventory.html")
+     */
+    public static PageStats get(String page) {
+        return pages.get(page);
+    }
+
+    public static List<PageStats> getAll() {
+        return pages.values().stream()
+            .sorted(Comparator.comparing(PageStats::getPage))
+            .collect(Collectors.toList());
+    }
+
+    public static void reset() {
+        pages.clear();
+    }
+
+    /**
+     * Сформировать текстовый отчет по всем страницам
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder("=== WEB VITALS ===\n");
+        for (PageStats s : getAll()) {
+            sb.append(s).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Записать агрегат прогона в JSON: страница -> метрика -> {count, avg, p50, p95, max}
+     */
+    public static void writeJson(Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (PageStats s : getAll()) {
+            json.put(s.getPage(), s.toSummary());
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+
+    /**
+     * Хост и путь без query, чтобы /inventory-item.html?id=4 и ?id=5 попадали в одну страницу
+     */
+    static String normalizePage(String url) {
+        try {
+            URI uri = URI.create(url);
+            String path = uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath();
+            return uri.getHost() == null ? path : uri.getHost() + path;
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return String.valueOf(url);
+        }
+    }
+
+    /**
+     * Метрики одной навигации
+     */
+    public static class PageMetrics {
+        private final String url;
+        private final String profile;
+        private final String page;
+        private final Map<String, Double> values;
+
+        public PageMetrics(String url, Map<String, Double> values) {
+            this(url, null, values);
+        }
+
+        /**
+         * @param profile профиль эмуляции; страница в агрегате получает префикс [profile]
+         */
+        public PageMetrics(String url, String profile, Map<String, Double> values) {
+            this.url = url;
+            this.profile = profile;
+            this.page = profile == null ? normalizePage(url) : "[" + profile + "] " + normalizePage(url);
+            this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public String getProfile() {
+            return profile;
+        }
+
+        public Map<String, Double> getValues() {
+            return values;
+        }
+
+        public Double get(String metric) {
+            return values.get(metric);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("URL: ").append(url).append("\n");
+            if (profile != null) {
+                sb.append("Profile: ").append(profile).append("\n");
+            }
+            values.forEach((name, value) -> sb.append(String.format("%s: %.3f%n", name, value)));
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Накопленные метрики одной страницы за прогон
+     */
+    public static class PageStats {
+        private final String page;
+        private final Map<String, List<Double>> samples = new LinkedHashMap<>();
+        private int navigations;
+
+        PageStats(String page) {
+            this.page = page;
+        }
+
+        synchronized void add(PageMetrics metrics) {
+            navigations++;
+            metrics.getValues().forEach((name, value) -> samples.computeIfAbsent(name, key -> new ArrayList<>()).add(value));
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public synchronized int getNavigations() {
+            return navigations;
+        }
+
+        public synchronized int getCount(String metric) {
+            return samples.getOrDefault(metric, List.of()).size();
+        }
+
+        public synchronized double getAverage(String metric) {
+            return samples.getOrDefault(metric, List.of()).stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
+        }
+
+        public synchronized double getMax(String metric) {
+            return samples.getOrDefault(metric, List.of()).stream().mapToDouble(Double::doubleValue).max().orElse(Double.NaN);
+        }
+
+        /**
+         * Перцентиль по методу ближайшего ранга (percentile от 0 до 100)
+         */
+        public synchronized double getPercentile(String metric, double percentile) {
+            List<Double> sorted = new ArrayList<>(samples.getOrDefault(metric, List.of()));
+            if (sorted.isEmpty()) {
+                return Double.NaN;
+            }
+            Collections.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+            return sorted.get(Math.max(0, Math.min(sorted.size() - 1, rank - 1)));
+        }
+
+        synchronized Map<String, Object> toSummary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("navigations", navigations);
+            for (String metric : samples.keySet()) {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("count", getCount(metric));
+                stats.put("avg", getAverage(metric));
+                stats.put("p50", getPercentile(metric, 50));
+                stats.put("p95", getPercentile(metric, 95));
+                stats.put("max", getMax(metric));
+                summary.put(metric, stats);
+            }
+            return summary;
+        }
+
+        @Override
+        public synchronized String toString() {
+            StringBuilder sb = new StringBuilder(page).append(": navigations=").append(navigations);
+            for (String metric : samples.keySet()) {
+                sb.append(String.format(", %s avg=%.1f p95=%.1f", metric, getAverage(metric), getPercentile(metric, 95)));
+            }
+            return sb.toString();
+        }
+    }
+}